@@ -0,0 +1,87 @@
+package com.strategy.trade.redis;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.strategy.trade.model.CandleBar;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Round trip of one bar through {@link CandleBarSerializer}, against Jackson JSON (what the replay lists held
+ * before) and JDK serialization of an equivalent {@link Serializable} record.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CandleBarSerializerBenchmark {
+
+    record JdkBar(long epochSecond, double open, double high, double low, double close, long volume)
+            implements Serializable {
+    }
+
+    private final CandleBarSerializer serializer = new CandleBarSerializer();
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private CandleBar bar;
+    private JdkBar jdkBar;
+    private byte[] binary;
+    private byte[] json;
+    private byte[] jdk;
+
+    @Setup
+    public void setUp() throws IOException {
+        bar = new CandleBar(CandleBar.epochSecond("2025-01-15 09:30:00"), 227.1, 227.95, 226.8, 227.52, 1_254_300);
+        jdkBar = new JdkBar(bar.epochSecond(), bar.open(), bar.high(), bar.low(), bar.close(), bar.volume());
+        binary = serializer.serialize(bar);
+        json = objectMapper.writeValueAsBytes(bar);
+        jdk = jdkSerialize();
+    }
+
+    @Benchmark
+    public byte[] binarySerialize() {
+        return serializer.serialize(bar);
+    }
+
+    @Benchmark
+    public CandleBar binaryDeserialize() {
+        return serializer.deserialize(binary);
+    }
+
+    @Benchmark
+    public byte[] jacksonSerialize() throws IOException {
+        return objectMapper.writeValueAsBytes(bar);
+    }
+
+    @Benchmark
+    public CandleBar jacksonDeserialize() throws IOException {
+        return objectMapper.readValue(json, CandleBar.class);
+    }
+
+    @Benchmark
+    public byte[] jdkSerialize() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(jdkBar);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Benchmark
+    public Object jdkDeserialize() throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(jdk))) {
+            return in.readObject();
+        }
+    }
+}
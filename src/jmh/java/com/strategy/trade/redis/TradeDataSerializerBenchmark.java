@@ -0,0 +1,86 @@
+package com.strategy.trade.redis;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.strategy.trade.model.TradeData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Round trip of one trade through {@link TradeDataSerializer}, against Jackson JSON and JDK serialization of the
+ * same fields. {@link TradeData} is not {@link Serializable}, so the JDK case serializes an equivalent record.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TradeDataSerializerBenchmark {
+
+    record JdkTrade(String symbol, Double price, Long timestamp, Double volume) implements Serializable {
+    }
+
+    private final TradeDataSerializer serializer = new TradeDataSerializer();
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private TradeData trade;
+    private JdkTrade jdkTrade;
+    private byte[] binary;
+    private byte[] json;
+    private byte[] jdk;
+
+    @Setup
+    public void setUp() throws IOException {
+        trade = new TradeData("AAPL", 227.52, 1_736_951_400_123L, 35.0);
+        jdkTrade = new JdkTrade(trade.getSymbol(), trade.getPrice(), trade.getTimestamp(), trade.getVolume());
+        binary = serializer.serialize(trade);
+        json = objectMapper.writeValueAsBytes(trade);
+        jdk = jdkSerialize();
+    }
+
+    @Benchmark
+    public byte[] binarySerialize() {
+        return serializer.serialize(trade);
+    }
+
+    @Benchmark
+    public TradeData binaryDeserialize() {
+        return serializer.deserialize(binary);
+    }
+
+    @Benchmark
+    public byte[] jacksonSerialize() throws IOException {
+        return objectMapper.writeValueAsBytes(trade);
+    }
+
+    @Benchmark
+    public TradeData jacksonDeserialize() throws IOException {
+        return objectMapper.readValue(json, TradeData.class);
+    }
+
+    @Benchmark
+    public byte[] jdkSerialize() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(jdkTrade);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Benchmark
+    public Object jdkDeserialize() throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(jdk))) {
+            return in.readObject();
+        }
+    }
+}
@@ -1,9 +1,16 @@
 package com.strategy.trade.backtest;
 
+import com.strategy.trade.backtest.event.EventType;
+import com.strategy.trade.backtest.event.SimulationEvent;
+import com.strategy.trade.backtest.event.SimulationKernel;
+import com.strategy.trade.backtest.event.VirtualClock;
+import com.strategy.trade.backtest.matching.BracketMatcher;
 import com.strategy.trade.backtest.series.DoubleSeries;
-import com.strategy.trade.backtest.series.TimeSeries;
+import com.strategy.trade.model.CandleBar;
+import com.strategy.trade.service.bars.TradingSession;
 import com.strategy.trade.strategy.AsyncTradingStrategy;
 import com.strategy.trade.strategy.enums.StrategyMode;
+import com.strategy.trade.strategy.model.StrategyParameters;
 import com.strategy.trade.strategy.model.SymbolTradingState;
 import com.strategy.trade.strategy.model.TradingContext;
 import lombok.AllArgsConstructor;
@@ -12,7 +19,6 @@ import lombok.Setter;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Iterator;
 import java.util.List;
 
 @Getter
@@ -20,16 +26,23 @@ import java.util.List;
 public class Backtest {
 
     DoubleSeries priceSeries;
+    // OHLC behind each point of the price series, by index; null for a close-only series
+    List<CandleBar> bars;
     String symbol;
 
     double deposit;
     double leverage = 1;
+    StrategyParameters parameters = StrategyParameters.DEFAULT;
+    BracketMatcher bracketMatcher = new BracketMatcher();
 
     AsyncTradingStrategy strategy;
     TradingContext context;
     Result result;
 
-    Iterator<TimeSeries.Entry<Double>> priceIterator;
+    DoubleSeries.Cursor priceCursor;
+    SimulationKernel kernel;
+    SimulationEvent barEvent;
+    boolean stopped;
 
     @Getter
     @Setter
@@ -50,6 +63,18 @@ public class Backtest {
         this.symbol = symbol;
     }
 
+    /**
+     * Backtest whose brackets are matched against the full bars; {@code bars} must line up with the points
+     * of {@code doubleSeries} in cursor order.
+     */
+    public Backtest(double deposit, DoubleSeries doubleSeries, String symbol, List<CandleBar> bars) {
+        this(deposit, doubleSeries, symbol);
+        if (bars.size() != doubleSeries.size()) {
+            throw new IllegalArgumentException(bars.size() + " bars for " + doubleSeries.size() + " prices");
+        }
+        this.bars = bars;
+    }
+
     public Result run(AsyncTradingStrategy strategy) {
         initialize(strategy);
         while (nextStep()) ;
@@ -58,6 +83,7 @@ public class Backtest {
 
     public void initialize(AsyncTradingStrategy strategy) {
         this.strategy = strategy;
+        this.kernel = new SimulationKernel(new VirtualClock());
         this.context = TradingContext.builder()
                 .symbol(this.symbol)
                 .date("2025-09-05")
@@ -66,6 +92,8 @@ public class Backtest {
                 .instruments(List.of(this.symbol))
                 .initialFunds(deposit)
                 .leverage(leverage)
+                .parameters(parameters)
+                .clock(kernel.getClock())
                 .mHistory(new DoubleSeries(this.symbol))
                 .orders(new ArrayList<>())
                 .complexOrders(new ArrayList<>())
@@ -74,56 +102,81 @@ public class Backtest {
                 .closedOrders(new ArrayList<>())
                 .build();
 
-        priceIterator = priceSeries.iterator();
-
-        strategy.startStrategy(context);
-
-        try {
-            // sleep for state to be changed
-            Thread.sleep(5000);
-        } catch (InterruptedException e) {
-            throw new RuntimeException(e);
+        priceCursor = priceSeries.cursor();
+        barEvent = new SimulationEvent(EventType.BAR, this::onBar);
+        stopped = false;
+        if (scheduleNextBar()) {
+            kernel.getClock().advanceTo(VirtualClock.sessionStart(priceCursor.epochNanos(),
+                    TradingSession.US_EQUITIES));
         }
 
+        // strategies run synchronously on virtual time, so the opening state is ready before the first bar
+        strategy.startStrategy(context).join();
+
         nextStep();
     }
 
+    /**
+     * Dispatches pending events up to and including the next bar.
+     */
     public boolean nextStep() {
-        // while redis has records for symbol
-        if (!priceIterator.hasNext()) {
+        boolean barDispatched = !stopped && kernel.stepUntil(EventType.BAR);
+        if (!barDispatched || stopped) {
             finish();
             return false;
         }
+        return true;
+    }
 
-        TimeSeries.Entry<Double> entry = priceIterator.next();
-        context.setCurrentPrice(entry.getItem());
-        context.setInstant(entry.getInstant());
+    private boolean scheduleNextBar() {
+        if (!priceCursor.next()) {
+            return false;
+        }
+        kernel.schedule(barEvent, priceCursor.epochNanos());
+        return true;
+    }
 
-        context.fundsHistory.add(context.getAvailableFunds(), entry.getInstant());
+    private void onBar() {
+        double price = priceCursor.value();
+        long epochNanos = priceCursor.epochNanos();
+        context.setCurrentPrice(price);
+        context.setInstant(priceCursor.instant());
 
-        if (context.getAvailableFunds() < 0) {
-            finish();
-            return false;
+        double availableFunds = context.getAvailableFunds();
+        context.fundsHistory.add(availableFunds, epochNanos);
+
+        if (availableFunds < 0) {
+            stopped = true;
+            return;
         }
 
-        strategy.onTick(context);
+        // brackets placed on earlier bars are matched before the strategy sees this one
+        long epochSecond = Math.floorDiv(epochNanos, 1_000_000_000L);
+        if (bars == null) {
+            bracketMatcher.match(context, price);
+            context.getIndicators().accept(epochSecond, price, price, price, price, 0);
+        } else {
+            CandleBar bar = bars.get(priceCursor.index());
+            bracketMatcher.match(context, bar.openOrClose(), bar.high(), bar.low());
+            context.getIndicators().accept(epochSecond, bar.openOrClose(), bar.high(), bar.low(), price,
+                    bar.volume());
+        }
 
-        //check existing complex orders
-        //compare current price to profitLoss prices
-        //close order if any reached price
+        strategy.onTick(context).join();
 
-        //we need to think of calculating profit loss based on stopPrice and takeProfitPrice. Update Order ?
-//        context.profitLoss.add(context.onTickPL(), entry.getInstant());
-        context.profitLoss.add(context.getPL(), entry.getInstant());
-        context.mHistory.add(entry);
+        context.profitLoss.add(context.getPL(), epochNanos);
+        context.mHistory.add(price, epochNanos);
 
-        return true;
+        scheduleNextBar();
     }
 
     private void finish() {
         for (Order order : new ArrayList<>(context.getOrders())) {
             context.close(order);
         }
+        for (Order order : new ArrayList<>(context.getComplexOrders())) {
+            context.close(order);
+        }
 
         List<ClosedOrder> orders = Collections.unmodifiableList(context.getClosedOrders());
         result = new Result(context.getClosedPl(),
@@ -1,18 +1,35 @@
 package com.strategy.trade.backtest;
 
+import com.strategy.trade.backtest.montecarlo.MonteCarloResult;
+import com.strategy.trade.backtest.montecarlo.MonteCarloSimulation;
+import com.strategy.trade.backtest.portfolio.PortfolioBacktest;
+import com.strategy.trade.backtest.replay.OrbReplayEngine;
+import com.strategy.trade.backtest.replay.ReplayReport;
 import com.strategy.trade.backtest.series.DoubleSeries;
-import com.strategy.trade.backtest.series.TimeSeries;
+import com.strategy.trade.backtest.series.DownsampleMethod;
+import com.strategy.trade.backtest.series.SeriesDownsampler;
+import com.strategy.trade.backtest.sweep.ParameterGrid;
+import com.strategy.trade.backtest.sweep.ParameterSweep;
+import com.strategy.trade.backtest.sweep.SweepResult;
+import com.strategy.trade.backtest.walkforward.WalkForwardOptimizer;
+import com.strategy.trade.backtest.walkforward.WalkForwardRequest;
+import com.strategy.trade.backtest.walkforward.WalkForwardResult;
+import com.strategy.trade.model.CandleBar;
+import com.strategy.trade.model.enums.TimeFrame;
+import com.strategy.trade.service.OrderTracker;
 import com.strategy.trade.service.csv.CsvService;
+import com.strategy.trade.service.csv.HistoricalDataService;
+import com.strategy.trade.service.impl.PositionTracker;
+import com.strategy.trade.strategy.AsyncOrbStrategy;
 import com.strategy.trade.strategy.AsyncTradingStrategy;
+import com.strategy.trade.strategy.BuyAndHoldStrategy;
+import com.strategy.trade.strategy.dataclient.InMemoryStockDataClient;
 import com.strategy.trade.strategy.dataclient.TwelveDataClient;
 import com.strategy.trade.strategy.enums.StrategyDataSource;
-import com.strategy.trade.strategy.enums.StrategyMode;
 import com.strategy.trade.strategy.enums.StrategyType;
-import com.strategy.trade.strategy.model.SymbolTradingState;
-import com.strategy.trade.strategy.model.TradingContext;
-import com.ib.client.Order;
+import com.strategy.trade.strategy.model.StrategyParameters;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
 import java.io.File;
@@ -21,26 +38,38 @@ import java.time.LocalDate;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
-import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
-import static com.strategy.trade.strategy.enums.TradingState.MONITORING_FOR_BREAKOUT;
-import static com.strategy.trade.strategy.enums.TradingState.MONITORING_FOR_RETEST;
-
 @Slf4j
 @Service
 public class BacktestTradingStrategy {
 
     private static final DateTimeFormatter DAY_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final String DEFAULT_ORB_DATE = "2025-09-05";
 
     private final Map<StrategyType, AsyncTradingStrategy> strategies;
     private final CsvService csvService;
     private final TwelveDataClient twelveDataClient;
+    private final OrderTracker orderTracker;
+    private final PositionTracker positionTracker;
+    private final ParameterSweep parameterSweep;
+    private final OrbReplayEngine orbReplayEngine;
+    private final WalkForwardOptimizer walkForwardOptimizer;
+    private final MonteCarloSimulation monteCarloSimulation;
 
     public BacktestTradingStrategy(List<AsyncTradingStrategy> strategyList,
-                                   CsvService csvService, TwelveDataClient twelveDataClient) {
+                                   CsvService csvService, TwelveDataClient twelveDataClient,
+                                   OrderTracker orderTracker, PositionTracker positionTracker,
+                                   @Qualifier("backtestPool") ForkJoinPool backtestPool) {
         this.csvService = csvService;
+        this.orderTracker = orderTracker;
+        this.positionTracker = positionTracker;
+        this.parameterSweep = new ParameterSweep(backtestPool);
+        this.orbReplayEngine = new OrbReplayEngine(backtestPool, csvService, orderTracker, positionTracker);
+        this.walkForwardOptimizer = new WalkForwardOptimizer(backtestPool, orbReplayEngine);
+        this.monteCarloSimulation = new MonteCarloSimulation(backtestPool);
         strategies = strategyList.stream()
                 .filter(str -> StrategyDataSource.CSV.equals(str.getStrategyDataSource()))
                 .collect(Collectors.toMap(
@@ -53,7 +82,7 @@ public class BacktestTradingStrategy {
     public Backtest.Result startBacktest(String symbol, StrategyType strategyType, String startDate, String endDate) {
         var strategy = strategies.get(strategyType);
         DoubleSeries series = getDoubleSeriesFromClient(symbol, strategyType, startDate, endDate);
-        log.info("Series size = {}", series.getData().size());
+        log.info("Series size = {}", series.size());
         int deposit = 20000;
         Backtest backtest = new Backtest(deposit, series, symbol);
         backtest.setLeverage(4);
@@ -65,58 +94,120 @@ public class BacktestTradingStrategy {
         return result;
     }
 
-    //execute separate strategy
-    @Async("strategyExecutor")
-    public CompletableFuture<List<Order>> startStrategy(String symbol, String date) {
-        var strategy = strategies.get(StrategyType.ORB);
+    /**
+     * Runs the backtest and pushes its equity curve (deposit + running P&L), downsampled to about
+     * {@code points} points, to the consumer.
+     */
+    public void streamEquityCurve(String symbol, StrategyType strategyType, String startDate, String endDate,
+                                  int points, DownsampleMethod method, SeriesDownsampler.PointConsumer consumer) {
+        Backtest.Result result = startBacktest(symbol, strategyType, startDate, endDate);
+        double deposit = result.getInitialFund();
+        // Result.priceSeries carries the running P&L of the run
+        SeriesDownsampler.downsample(result.getPriceSeries(), points, method,
+                (epochNanos, pl) -> consumer.accept(epochNanos, deposit + pl));
+    }
 
-        new File("logs/" + symbol + "/break").mkdirs();
+    public MonteCarloResult startMonteCarlo(String symbol, StrategyType strategyType, String startDate,
+                                            String endDate, int paths, double ruinFraction, long seed) {
+        Backtest.Result result = startBacktest(symbol, strategyType, startDate, endDate);
+        return monteCarloSimulation.run(result.getOrders(), result.getInitialFund(), paths, ruinFraction, seed);
+    }
+
+    public List<SweepResult> startSweep(ParameterGrid grid) {
+        grid.validate();
+        String symbol = grid.getSymbol();
+        if (StrategyType.BUY_AND_HOLD.equals(grid.getStrategy())) {
+            DoubleSeries series = getDoubleSeriesFromClient(symbol, grid.getStrategy(), grid.getFrom(), grid.getTo());
+            return parameterSweep.run(grid, series, () -> new BuyAndHoldStrategy(orderTracker));
+        }
+
+        // an ORB sweep replays one session; a range would need per-day runs with their own deposits
+        String date = Optional.ofNullable(grid.getFrom()).orElse(DEFAULT_ORB_DATE);
+        if (grid.getTo() != null && !grid.getTo().equals(date)) {
+            throw new IllegalArgumentException("ORB sweeps run over a single day, got " + date + " to "
+                    + grid.getTo() + "; use the walk-forward endpoint for a date range");
+        }
 
-        TradingContext context = TradingContext.builder()
-                .symbol(symbol)
-                .date(date)
-                .state(new SymbolTradingState())
-                .mode(StrategyMode.BACKTEST)
-                .build();
-        return CompletableFuture
-                .runAsync(() -> csvService.initializeCsvForDay(symbol, date))
-                .thenCompose(v -> strategy.startStrategy(context))
-                .thenCompose(ctx -> {
-                    log.info("Saved context for symbol: {}", ctx.getSymbol());
-                    return onTick(ctx, strategy, 100);
-                })
-                .exceptionally(e -> {
-                    log.error("[{}] Error monitoring for breakout/retest", symbol, e);
-                    return null;
-                });
+        // load the day once; every run replays the same immutable bars through its own client
+        Map<TimeFrame, List<CandleBar>> bars = Map.of(
+                TimeFrame.FIVE_MIN, List.copyOf(csvService.readBars(symbol, TimeFrame.FIVE_MIN, date)),
+                TimeFrame.ONE_MIN, List.copyOf(csvService.readBars(symbol, TimeFrame.ONE_MIN, date)));
+        DoubleSeries series = toCloseSeries(symbol, bars.get(TimeFrame.ONE_MIN));
+
+        return parameterSweep.run(grid, series, bars.get(TimeFrame.ONE_MIN), () -> {
+            AsyncOrbStrategy strategy = new AsyncOrbStrategy(new InMemoryStockDataClient(bars),
+                    orderTracker, positionTracker);
+            strategy.setStrategyDataSource(StrategyDataSource.CSV);
+            return strategy;
+        });
     }
 
-    public CompletableFuture<List<Order>> onTick(TradingContext context,
-                                                 AsyncTradingStrategy strategy,
-                                                 int maxIterations) {
-        var currentState = context.getState().getCurrentState();
-        if (maxIterations <= 0 || !List.of(MONITORING_FOR_BREAKOUT, MONITORING_FOR_RETEST).contains(currentState)) {
-            return CompletableFuture.completedFuture(Collections.emptyList());
+    public PortfolioBacktest.Result startPortfolioBacktest(List<String> symbols, StrategyType strategyType,
+                                                           String startDate, String endDate) {
+        PortfolioBacktest.Result result;
+        int deposit = 20000 * symbols.size();
+        if (StrategyType.BUY_AND_HOLD.equals(strategyType)) {
+            List<DoubleSeries> series = symbols.stream()
+                    .map(symbol -> getDoubleSeriesFromClient(symbol, strategyType, startDate, endDate))
+                    .toList();
+            PortfolioBacktest backtest = new PortfolioBacktest(deposit, series);
+            backtest.setLeverage(4);
+            result = backtest.run(symbol -> new BuyAndHoldStrategy(orderTracker));
+        } else {
+            String date = Optional.ofNullable(startDate).orElse(DEFAULT_ORB_DATE);
+            Map<String, Map<TimeFrame, List<CandleBar>>> bars = new HashMap<>();
+            List<DoubleSeries> series = new ArrayList<>(symbols.size());
+            List<List<CandleBar>> oneMinuteBars = new ArrayList<>(symbols.size());
+            for (String symbol : symbols) {
+                Map<TimeFrame, List<CandleBar>> symbolBars = Map.of(
+                        TimeFrame.FIVE_MIN, List.copyOf(csvService.readBars(symbol, TimeFrame.FIVE_MIN, date)),
+                        TimeFrame.ONE_MIN, List.copyOf(csvService.readBars(symbol, TimeFrame.ONE_MIN, date)));
+                bars.put(symbol, symbolBars);
+                series.add(toCloseSeries(symbol, symbolBars.get(TimeFrame.ONE_MIN)));
+                oneMinuteBars.add(symbolBars.get(TimeFrame.ONE_MIN));
+            }
+            PortfolioBacktest backtest = new PortfolioBacktest(deposit, series, oneMinuteBars);
+            backtest.setLeverage(4);
+            result = backtest.run(symbol -> {
+                AsyncOrbStrategy strategy = new AsyncOrbStrategy(new InMemoryStockDataClient(bars.get(symbol)),
+                        orderTracker, positionTracker);
+                strategy.setStrategyDataSource(StrategyDataSource.CSV);
+                return strategy;
+            });
         }
 
-        return strategy.onTick(context)
-                .thenCompose(v -> CompletableFuture.runAsync(() -> {
-                    try {
-                        Thread.sleep(100);
-                    } catch (InterruptedException e) {
-                        Thread.currentThread().interrupt();
-                    }
-                }))
-                .thenCompose(v -> onTick(context, strategy, maxIterations - 1));
+        log.info("Portfolio result for {} symbols - {}", symbols.size(), result.getPl());
+        return result;
+    }
+
+    public ReplayReport replayOrb(String symbol, List<String> dates) {
+        new File("logs/" + symbol + "/break").mkdirs();
+        return orbReplayEngine.run(symbol, dates, StrategyParameters.DEFAULT);
     }
 
+    public WalkForwardResult startWalkForward(WalkForwardRequest request) {
+        String symbol = request.getSymbol();
+        new File("logs/" + symbol + "/break").mkdirs();
+        List<String> dates = HistoricalDataService.tradingDays(LocalDate.parse(request.getFrom()),
+                LocalDate.parse(request.getTo()));
+        List<StrategyParameters> candidates = request.combinations().stream()
+                .map(ParameterGrid.Combination::parameters)
+                .distinct()
+                .toList();
+        double deposit = request.getDeposits().getFirst();
+
+        WalkForwardResult result = walkForwardOptimizer.run(symbol, dates, candidates,
+                request.getInSampleDays(), request.getOutOfSampleDays(), deposit);
+        log.info("Walk-forward result for {} - {}", symbol, result.outOfSamplePl());
+        return result;
+    }
 
     private DoubleSeries getDoubleSeriesFromClient(String symbol, StrategyType strategyType, String startDate, String endDate) {
         DoubleSeries series;
-        List<TimeSeries.Entry<Double>> entries = new ArrayList<>();
 
         if (StrategyType.BUY_AND_HOLD.equals(strategyType)) {
             String csv = twelveDataClient.csvTimeSeries(symbol, startDate, endDate);
+            DoubleSeries closes = new DoubleSeries(symbol);
             csv.lines()
                     .skip(1)
                     .forEach(line -> {
@@ -125,12 +216,20 @@ public class BacktestTradingStrategy {
                         Instant instant = LocalDate.parse(parts[0], DAY_FORMATTER)
                                 .atStartOfDay(ZoneOffset.UTC).toInstant();
                         // Parse close value
-                        Double closeValue = Double.parseDouble(parts[4]);
-                        entries.add(new TimeSeries.Entry<>(closeValue, instant));
+                        double closeValue = Double.parseDouble(parts[4]);
+                        closes.add(closeValue, DoubleSeries.toEpochNanos(instant));
                     });
-            series = new DoubleSeries(entries, symbol).toAscending();
+            series = closes.toAscending();
         } else
-            series = csvService.initializeCsvForDay(symbol, "2025-09-05");
+            series = csvService.initializeCsvForDay(symbol, DEFAULT_ORB_DATE);
+        return series;
+    }
+
+    private DoubleSeries toCloseSeries(String symbol, List<CandleBar> bars) {
+        DoubleSeries series = new DoubleSeries(symbol, bars.size());
+        for (CandleBar bar : bars) {
+            series.add(bar.close(), bar.epochSecond() * 1_000_000_000L);
+        }
         return series;
     }
 
@@ -146,7 +245,7 @@ public class BacktestTradingStrategy {
                     .orElse(null);
             series = csvService.readDoubleSeries(symbol, fromDate, toDate);
         } else
-            series = csvService.initializeCsvForDay(symbol, "2025-09-05");
+            series = csvService.initializeCsvForDay(symbol, DEFAULT_ORB_DATE);
         return series;
     }
 
@@ -7,6 +7,8 @@ public interface ClosedOrder extends Order {
 
     Instant getCloseInstant();
 
+    ExitReason getExitReason();
+
     default double getPl() {
         return calculatePl(getClosePrice());
     }
@@ -2,7 +2,6 @@ package com.strategy.trade.backtest;
 
 import lombok.Getter;
 import lombok.Setter;
-import org.springframework.beans.factory.annotation.Value;
 
 import java.time.Instant;
 
@@ -13,15 +12,10 @@ public class ComplexOrder extends SimpleOrder {
     double stopLossPrice;
     double takeProfitPrice;
 
-    @Value("${trading.default.stop-loss-range:2.0}")
-    private double defaultStopLossRange;
-
-    @Value("${trading.default.take-profit-range:3.0}")
-    private double defaultTakeProfitRange;
-
-    public ComplexOrder(int id, String instrument, Instant openInstant, double openPrice, int amount) {
+    public ComplexOrder(int id, String instrument, Instant openInstant, double openPrice, int amount,
+                        double stopLossPrice, double takeProfitPrice) {
         super(id, instrument, openInstant, openPrice, amount);
-        this.stopLossPrice = openPrice + defaultStopLossRange;
-        this.takeProfitPrice = openPrice + defaultTakeProfitRange;
+        this.stopLossPrice = stopLossPrice;
+        this.takeProfitPrice = takeProfitPrice;
     }
 }
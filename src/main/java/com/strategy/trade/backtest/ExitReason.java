@@ -0,0 +1,8 @@
+package com.strategy.trade.backtest;
+
+/**
+ * Why an order was closed: a bracket leg filled, or the order was closed at the market price.
+ */
+public enum ExitReason {
+    MARKET, STOP_LOSS, TAKE_PROFIT
+}
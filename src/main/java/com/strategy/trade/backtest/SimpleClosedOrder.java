@@ -7,12 +7,18 @@ public class SimpleClosedOrder implements ClosedOrder {
     SimpleOrder order;
     double closePrice;
     Instant closeInstant;
+    ExitReason exitReason;
     double pl;
 
     public SimpleClosedOrder(SimpleOrder order, double closePrice, Instant closeInstant) {
+        this(order, closePrice, closeInstant, ExitReason.MARKET);
+    }
+
+    public SimpleClosedOrder(SimpleOrder order, double closePrice, Instant closeInstant, ExitReason exitReason) {
         this.order = order;
         this.closePrice = closePrice;
         this.closeInstant = closeInstant;
+        this.exitReason = exitReason;
         pl = calculatePl(this.closePrice);
     }
 
@@ -28,6 +34,10 @@ public class SimpleClosedOrder implements ClosedOrder {
         return closeInstant;
     }
 
+    @Override public ExitReason getExitReason() {
+        return exitReason;
+    }
+
     @Override public double getPl() {
         return pl;
     }
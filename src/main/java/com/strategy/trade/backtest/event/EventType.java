@@ -0,0 +1,9 @@
+package com.strategy.trade.backtest.event;
+
+/**
+ * Kinds of {@link SimulationEvent}. Strategy sleeps are not events: they move the {@link VirtualClock} inside
+ * the running bar, and bracket fills are matched synchronously on each bar.
+ */
+public enum EventType {
+    BAR
+}
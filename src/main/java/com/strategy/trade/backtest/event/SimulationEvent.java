@@ -0,0 +1,27 @@
+package com.strategy.trade.backtest.event;
+
+import lombok.Getter;
+
+/**
+ * Timestamped unit of work for the {@link SimulationKernel}. Events are mutable so recurring sources
+ * (such as a bar feed) can reschedule the same instance instead of allocating one per occurrence.
+ */
+@Getter
+public class SimulationEvent implements Comparable<SimulationEvent> {
+
+    private final EventType type;
+    private final Runnable action;
+    long epochNanos;
+    long sequence;
+
+    public SimulationEvent(EventType type, Runnable action) {
+        this.type = type;
+        this.action = action;
+    }
+
+    @Override
+    public int compareTo(SimulationEvent other) {
+        int byTime = Long.compare(epochNanos, other.epochNanos);
+        return byTime != 0 ? byTime : Long.compare(sequence, other.sequence);
+    }
+}
@@ -0,0 +1,87 @@
+package com.strategy.trade.backtest.event;
+
+import lombok.Getter;
+
+import java.util.PriorityQueue;
+
+/**
+ * Discrete-event loop for backtests: events are dispatched strictly in timestamp order (ties in scheduling
+ * order) on the calling thread, and the {@link VirtualClock} jumps to each event's time before it runs.
+ */
+public class SimulationKernel {
+
+    private final PriorityQueue<SimulationEvent> events = new PriorityQueue<>();
+    @Getter
+    private final VirtualClock clock;
+    private long sequence;
+
+    public SimulationKernel(VirtualClock clock) {
+        this.clock = clock;
+    }
+
+    public SimulationEvent schedule(long epochNanos, EventType type, Runnable action) {
+        SimulationEvent event = new SimulationEvent(type, action);
+        schedule(event, epochNanos);
+        return event;
+    }
+
+    /**
+     * (Re)schedules an event that is not currently queued.
+     */
+    public void schedule(SimulationEvent event, long epochNanos) {
+        event.epochNanos = epochNanos;
+        event.sequence = sequence++;
+        events.add(event);
+    }
+
+    public boolean cancel(SimulationEvent event) {
+        return events.remove(event);
+    }
+
+    public boolean isEmpty() {
+        return events.isEmpty();
+    }
+
+    /**
+     * Dispatches the earliest pending event.
+     *
+     * @return the dispatched event, or {@code null} when nothing is pending
+     */
+    public SimulationEvent step() {
+        SimulationEvent event = events.poll();
+        if (event == null) {
+            return null;
+        }
+        clock.advanceTo(event.epochNanos);
+        event.getAction().run();
+        return event;
+    }
+
+    /**
+     * Dispatches events until one of the given type has run.
+     *
+     * @return {@code false} if the queue drained first
+     */
+    public boolean stepUntil(EventType type) {
+        SimulationEvent event;
+        while ((event = step()) != null) {
+            if (event.getType() == type) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Dispatches every event due at or before the given time.
+     */
+    public void runUntil(long epochNanos) {
+        while (!events.isEmpty() && events.peek().epochNanos <= epochNanos) {
+            step();
+        }
+    }
+
+    public void run() {
+        while (step() != null) ;
+    }
+}
@@ -0,0 +1,54 @@
+package com.strategy.trade.backtest.event;
+
+import com.strategy.trade.backtest.series.DoubleSeries;
+import com.strategy.trade.service.bars.TradingSession;
+import com.strategy.trade.strategy.model.TradingClock;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Simulated time. Only moves forward: when the {@link SimulationKernel} dispatches an event or a strategy
+ * sleeps, it advances instantly instead of blocking the thread.
+ */
+public class VirtualClock implements TradingClock {
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private long epochNanos;
+
+    public VirtualClock() {
+    }
+
+    public VirtualClock(long epochNanos) {
+        this.epochNanos = epochNanos;
+    }
+
+    /**
+     * Where a run whose first bar is at {@code firstEpochNanos} starts its clock: that day's session open, or the
+     * bar itself when it comes earlier (daily bars are stamped at midnight). A strategy that sleeps through the
+     * opening range before the first bar then stays behind bar time instead of running ahead of it.
+     */
+    public static long sessionStart(long firstEpochNanos, TradingSession session) {
+        long open = session.openOf(Math.floorDiv(firstEpochNanos, NANOS_PER_SECOND)) * NANOS_PER_SECOND;
+        return Math.min(open, firstEpochNanos);
+    }
+
+    public long getEpochNanos() {
+        return epochNanos;
+    }
+
+    public void advanceTo(long epochNanos) {
+        this.epochNanos = Math.max(this.epochNanos, epochNanos);
+    }
+
+    @Override
+    public Instant now() {
+        return DoubleSeries.ofEpochNanos(epochNanos);
+    }
+
+    @Override
+    public void sleep(Duration duration) {
+        epochNanos += duration.toNanos();
+    }
+}
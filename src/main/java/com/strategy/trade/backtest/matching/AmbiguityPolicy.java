@@ -0,0 +1,14 @@
+package com.strategy.trade.backtest.matching;
+
+/**
+ * Which leg fills when a single bar's range covers both the stop and the target of a bracket and the bar
+ * alone cannot tell which was touched first.
+ */
+public enum AmbiguityPolicy {
+    /** Assume the worst case: the stop was hit first. */
+    STOP_FIRST,
+    /** Assume the best case: the target was hit first. */
+    TARGET_FIRST,
+    /** Assume price travelled to whichever level is closer to the bar open first. */
+    NEAREST_TO_OPEN
+}
@@ -0,0 +1,113 @@
+package com.strategy.trade.backtest.matching;
+
+import com.strategy.trade.backtest.ComplexOrder;
+import com.strategy.trade.backtest.ExitReason;
+import com.strategy.trade.strategy.model.TradingContext;
+
+import java.util.List;
+
+/**
+ * Bar-based matching engine for {@link ComplexOrder} brackets. Every open bracket in the context is checked
+ * against the bar's open, high and low:
+ * <ul>
+ *     <li>a bar that opens beyond a level (gap) fills at the open, not at the level;</li>
+ *     <li>a bar whose range covers only one level fills that level at its price;</li>
+ *     <li>a bar whose range covers both levels is resolved by the {@link AmbiguityPolicy}.</li>
+ * </ul>
+ * Filled orders are closed through
+ * {@link TradingContext#close(com.strategy.trade.backtest.Order, double, ExitReason)}, so they become
+ * {@link com.strategy.trade.backtest.ClosedOrder} records carrying the filled leg and realize into the funds.
+ * Matching walks the book by index and allocates nothing unless an order actually fills.
+ */
+public class BracketMatcher {
+
+    private final AmbiguityPolicy ambiguityPolicy;
+
+    public BracketMatcher() {
+        this(AmbiguityPolicy.STOP_FIRST);
+    }
+
+    public BracketMatcher(AmbiguityPolicy ambiguityPolicy) {
+        this.ambiguityPolicy = ambiguityPolicy;
+    }
+
+    /**
+     * Matches a price point of a close-only series, i.e. a bar with open = high = low = price.
+     */
+    public int match(TradingContext context, double price) {
+        return match(context, price, price, price);
+    }
+
+    /**
+     * @return number of brackets filled on this bar
+     */
+    public int match(TradingContext context, double open, double high, double low) {
+        List<ComplexOrder> book = context.getComplexOrders();
+        int fills = 0;
+        for (int i = book.size() - 1; i >= 0; i--) {
+            ComplexOrder order = book.get(i);
+            ExitReason leg = exitLeg(order, open, high, low);
+            if (leg != null) {
+                context.close(order, fillPrice(order, leg, open), leg);
+                fills++;
+            }
+        }
+        return fills;
+    }
+
+    /**
+     * @return the fill price of the bracket on this bar, or {@code NaN} when neither leg is touched
+     */
+    double exitPrice(ComplexOrder order, double open, double high, double low) {
+        ExitReason leg = exitLeg(order, open, high, low);
+        return leg == null ? Double.NaN : fillPrice(order, leg, open);
+    }
+
+    /**
+     * @return the leg that fills on this bar, or {@code null} when neither is touched
+     */
+    ExitReason exitLeg(ComplexOrder order, double open, double high, double low) {
+        double stop = order.getStopLossPrice();
+        double target = order.getTakeProfitPrice();
+        boolean isLong = order.isLong();
+
+        // for a short bracket the adverse direction is up: mirror the bar so the long rules apply
+        double o = isLong ? open : -open;
+        double favourable = isLong ? high : -low;
+        double adverse = isLong ? low : -high;
+        double s = isLong ? stop : -stop;
+        double t = isLong ? target : -target;
+        boolean hasStop = stop != 0;
+        boolean hasTarget = target != 0;
+
+        if (hasStop && o <= s) {
+            return ExitReason.STOP_LOSS;
+        }
+        if (hasTarget && o >= t) {
+            return ExitReason.TAKE_PROFIT;
+        }
+        boolean stopHit = hasStop && adverse <= s;
+        boolean targetHit = hasTarget && favourable >= t;
+        if (stopHit && targetHit) {
+            return switch (ambiguityPolicy) {
+                case STOP_FIRST -> ExitReason.STOP_LOSS;
+                case TARGET_FIRST -> ExitReason.TAKE_PROFIT;
+                case NEAREST_TO_OPEN -> o - s <= t - o ? ExitReason.STOP_LOSS : ExitReason.TAKE_PROFIT;
+            };
+        }
+        if (stopHit) {
+            return ExitReason.STOP_LOSS;
+        }
+        if (targetHit) {
+            return ExitReason.TAKE_PROFIT;
+        }
+        return null;
+    }
+
+    // the leg's level, or the open when the bar gapped beyond it; a long stop and a short target sit below
+    private static double fillPrice(ComplexOrder order, ExitReason leg, double open) {
+        boolean stopLoss = leg == ExitReason.STOP_LOSS;
+        double level = stopLoss ? order.getStopLossPrice() : order.getTakeProfitPrice();
+        return stopLoss == order.isLong() ? Math.min(open, level) : Math.max(open, level);
+    }
+}
@@ -0,0 +1,29 @@
+package com.strategy.trade.backtest.montecarlo;
+
+import java.util.Arrays;
+
+public record Distribution(double mean, double min, double p5, double p25, double p50, double p75, double p95,
+                           double max) {
+
+    /**
+     * Summarises the samples; sorts the array in place.
+     */
+    public static Distribution of(double[] samples) {
+        if (samples.length == 0) {
+            return new Distribution(0, 0, 0, 0, 0, 0, 0, 0);
+        }
+        Arrays.sort(samples);
+        double sum = 0;
+        for (double sample : samples) {
+            sum += sample;
+        }
+        return new Distribution(sum / samples.length, samples[0],
+                percentile(samples, 0.05), percentile(samples, 0.25), percentile(samples, 0.50),
+                percentile(samples, 0.75), percentile(samples, 0.95), samples[samples.length - 1]);
+    }
+
+    private static double percentile(double[] sorted, double quantile) {
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+}
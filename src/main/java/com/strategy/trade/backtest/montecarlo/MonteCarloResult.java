@@ -0,0 +1,9 @@
+package com.strategy.trade.backtest.montecarlo;
+
+/**
+ * @param maxDrawdown peak-to-trough drawdown of each path as a fraction of the peak equity
+ * @param riskOfRuin  share of paths whose equity touched the ruin level at any point
+ */
+public record MonteCarloResult(int paths, int trades, double initialEquity, double ruinLevel,
+                               Distribution finalEquity, Distribution maxDrawdown, double riskOfRuin) {
+}
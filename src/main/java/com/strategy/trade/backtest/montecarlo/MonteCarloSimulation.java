@@ -0,0 +1,117 @@
+package com.strategy.trade.backtest.montecarlo;
+
+import com.strategy.trade.backtest.ClosedOrder;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Bootstraps the closed-trade sequence of a backtest: every path draws {@code trades} P&L values with
+ * replacement and replays them from the initial equity. Paths are split into fixed-size chunks on the
+ * fork-join pool, each chunk with its own {@link SplittableRandom} split off a seeded root, so results for a
+ * given seed depend neither on scheduling nor on the pool size. The inner loop works on primitive arrays only.
+ * <p>
+ * The cost is one random draw plus a gather per simulated trade, about 5 ns on one core, so 10k trades by
+ * 50k paths (5e8 draws) takes 2-3 s per worker; finishing that in under a second needs four or more workers.
+ */
+@Slf4j
+public class MonteCarloSimulation {
+
+    // fixed so the random stream of every path does not depend on the host's core count
+    private static final int PATHS_PER_CHUNK = 256;
+
+    private final ForkJoinPool pool;
+
+    public MonteCarloSimulation(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    public MonteCarloResult run(List<ClosedOrder> orders, double initialEquity, int paths,
+                                double ruinFraction, long seed) {
+        double[] pls = new double[orders.size()];
+        for (int i = 0; i < pls.length; i++) {
+            pls[i] = orders.get(i).getPl();
+        }
+        return run(pls, initialEquity, paths, ruinFraction, seed);
+    }
+
+    /**
+     * @param paths        number of simulated paths, at least 1
+     * @param ruinFraction share of the initial equity whose loss counts as ruin, in {@code (0, 1]}, e.g. {@code 0.5}
+     */
+    public MonteCarloResult run(double[] pls, double initialEquity, int paths, double ruinFraction, long seed) {
+        if (paths < 1) {
+            throw new IllegalArgumentException("Need at least one path, got " + paths);
+        }
+        if (!(ruinFraction > 0 && ruinFraction <= 1)) {
+            throw new IllegalArgumentException("Ruin fraction must be in (0, 1], got " + ruinFraction);
+        }
+        double ruinLevel = initialEquity * (1 - ruinFraction);
+        double[] finalEquity = new double[paths];
+        double[] maxDrawdown = new double[paths];
+        boolean[] ruined = new boolean[paths];
+        if (pls.length == 0) {
+            Arrays.fill(finalEquity, initialEquity);
+            return summarise(pls.length, initialEquity, ruinLevel, finalEquity, maxDrawdown, ruined);
+        }
+
+        int chunks = (paths + PATHS_PER_CHUNK - 1) / PATHS_PER_CHUNK;
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] randoms = new SplittableRandom[chunks];
+        for (int i = 0; i < chunks; i++) {
+            randoms[i] = root.split();
+        }
+
+        long start = System.nanoTime();
+        pool.submit(() -> IntStream.range(0, chunks).parallel().forEach(chunk -> {
+            int from = chunk * PATHS_PER_CHUNK;
+            int to = Math.min(paths, from + PATHS_PER_CHUNK);
+            simulate(pls, initialEquity, ruinLevel, randoms[chunk], from, to, finalEquity, maxDrawdown, ruined);
+        })).join();
+        log.info("Monte Carlo: {} paths x {} trades in {} ms", paths, pls.length,
+                (System.nanoTime() - start) / 1_000_000);
+
+        return summarise(pls.length, initialEquity, ruinLevel, finalEquity, maxDrawdown, ruined);
+    }
+
+    private static void simulate(double[] pls, double initialEquity, double ruinLevel, SplittableRandom random,
+                                 int from, int to, double[] finalEquity, double[] maxDrawdown, boolean[] ruined) {
+        int trades = pls.length;
+        for (int path = from; path < to; path++) {
+            double equity = initialEquity;
+            double peak = initialEquity;
+            double drawdown = 0;
+            boolean ruin = false;
+            for (int i = 0; i < trades; i++) {
+                // multiply-shift instead of nextInt(bound): no division, bias below trades / 2^32
+                equity += pls[(int) (((random.nextInt() & 0xFFFFFFFFL) * trades) >>> 32)];
+                if (equity > peak) {
+                    peak = equity;
+                } else if (peak - equity > drawdown * peak && peak > 0) {
+                    // divide only when the drawdown actually deepens
+                    drawdown = (peak - equity) / peak;
+                }
+                ruin |= equity <= ruinLevel;
+            }
+            finalEquity[path] = equity;
+            maxDrawdown[path] = drawdown;
+            ruined[path] = ruin;
+        }
+    }
+
+    private static MonteCarloResult summarise(int trades, double initialEquity, double ruinLevel,
+                                              double[] finalEquity, double[] maxDrawdown, boolean[] ruined) {
+        int ruinedPaths = 0;
+        for (boolean ruin : ruined) {
+            if (ruin) ruinedPaths++;
+        }
+        int paths = finalEquity.length;
+        return new MonteCarloResult(paths, trades, initialEquity, ruinLevel,
+                Distribution.of(finalEquity), Distribution.of(maxDrawdown),
+                paths == 0 ? 0 : (double) ruinedPaths / paths);
+    }
+}
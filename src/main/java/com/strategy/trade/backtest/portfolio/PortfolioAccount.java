@@ -0,0 +1,68 @@
+package com.strategy.trade.backtest.portfolio;
+
+import lombok.Getter;
+
+/**
+ * Cash and margin pool shared by every {@link com.strategy.trade.strategy.model.TradingContext} of a portfolio
+ * backtest. Contexts report opens, closes and price marks; the account keeps the portfolio-wide running totals
+ * so available funds stay O(1) no matter how many symbols are open.
+ */
+@Getter
+public class PortfolioAccount {
+
+    private final double initialFunds;
+    private final double leverage;
+
+    private double closedPl;
+    private double openPl;
+    private double commissions;
+    private double grossExposure;
+
+    public PortfolioAccount(double initialFunds, double leverage) {
+        this.initialFunds = initialFunds;
+        this.leverage = leverage;
+    }
+
+    public void onOpen(double exposure, double commission) {
+        grossExposure += exposure;
+        commissions += commission;
+    }
+
+    /**
+     * A marked position is closed: its marked P&L leaves the open total, the fill P&L is realized and its
+     * margin is released.
+     */
+    public void onClose(double markedPl, double pl, double exposure, double commission) {
+        openPl -= markedPl;
+        grossExposure -= exposure;
+        onRealize(pl, commission);
+    }
+
+    /**
+     * Realizes P&L that was never marked to market (bracket orders).
+     */
+    public void onRealize(double pl, double commission) {
+        closedPl += pl;
+        commissions += commission;
+    }
+
+    public void onMark(double delta) {
+        openPl += delta;
+    }
+
+    public double getPL() {
+        return closedPl + openPl - commissions;
+    }
+
+    public double getNetValue() {
+        return initialFunds + getPL();
+    }
+
+    public double getMarginUsed() {
+        return grossExposure == 0 ? 0 : grossExposure / leverage;
+    }
+
+    public double getAvailableFunds() {
+        return getNetValue() - getMarginUsed();
+    }
+}
@@ -0,0 +1,181 @@
+package com.strategy.trade.backtest.portfolio;
+
+import com.strategy.trade.backtest.ClosedOrder;
+import com.strategy.trade.backtest.Order;
+import com.strategy.trade.backtest.event.VirtualClock;
+import com.strategy.trade.backtest.matching.BracketMatcher;
+import com.strategy.trade.backtest.series.DoubleSeries;
+import com.strategy.trade.model.CandleBar;
+import com.strategy.trade.service.bars.TradingSession;
+import com.strategy.trade.strategy.AsyncTradingStrategy;
+import com.strategy.trade.strategy.enums.StrategyMode;
+import com.strategy.trade.strategy.model.StrategyParameters;
+import com.strategy.trade.strategy.model.SymbolTradingState;
+import com.strategy.trade.strategy.model.TradingContext;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Backtests N symbols at once. Series are merged by timestamp through {@link TimestampMerge}; every bar is
+ * dispatched to the strategy instance of its symbol, and all symbol contexts draw on one
+ * {@link PortfolioAccount}, so capital allocation across symbols is simulated against a single cash pool.
+ */
+@Slf4j
+@Getter
+@Setter
+public class PortfolioBacktest {
+
+    List<DoubleSeries> series;
+    // OHLC behind each point of each series in ascending time order; null for close-only series
+    List<List<CandleBar>> bars;
+
+    double deposit;
+    double leverage = 1;
+    StrategyParameters parameters = StrategyParameters.DEFAULT;
+    BracketMatcher bracketMatcher = new BracketMatcher();
+
+    PortfolioAccount account;
+    Result result;
+
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    public static class Result {
+        double pl;
+        List<ClosedOrder> orders;
+        double initialFund;
+        double finalValue;
+        double commissions;
+        Map<String, Double> symbolPl;
+        DoubleSeries fundsHistory;
+    }
+
+    public PortfolioBacktest(double deposit, List<DoubleSeries> series) {
+        this.deposit = deposit;
+        this.series = series;
+    }
+
+    /**
+     * Portfolio whose brackets are matched against the full bars; {@code bars.get(i)} must line up with the
+     * points of {@code series.get(i)} in ascending time order.
+     */
+    public PortfolioBacktest(double deposit, List<DoubleSeries> series, List<List<CandleBar>> bars) {
+        this(deposit, series);
+        for (int i = 0; i < series.size(); i++) {
+            if (bars.get(i).size() != series.get(i).size()) {
+                throw new IllegalArgumentException(bars.get(i).size() + " bars for " + series.get(i).size()
+                        + " prices of " + series.get(i).getName());
+            }
+        }
+        this.bars = bars;
+    }
+
+    /**
+     * @param strategyFactory creates a fresh strategy instance for the given symbol
+     */
+    public Result run(Function<String, AsyncTradingStrategy> strategyFactory) {
+        int symbols = series.size();
+        account = new PortfolioAccount(deposit, leverage);
+        TradingContext[] contexts = new TradingContext[symbols];
+        VirtualClock[] clocks = new VirtualClock[symbols];
+        AsyncTradingStrategy[] strategies = new AsyncTradingStrategy[symbols];
+
+        TimestampMerge merge = new TimestampMerge(series);
+        for (int i = 0; i < symbols; i++) {
+            String symbol = series.get(i).getName();
+            clocks[i] = new VirtualClock();
+            if (series.get(i).size() > 0) {
+                clocks[i].advanceTo(VirtualClock.sessionStart(merge.cursor(i).epochNanos(),
+                        TradingSession.US_EQUITIES));
+            }
+            contexts[i] = TradingContext.builder()
+                    .symbol(symbol)
+                    .state(new SymbolTradingState())
+                    .mode(StrategyMode.BACKTEST)
+                    .instruments(List.of(symbol))
+                    .initialFunds(deposit)
+                    .leverage(leverage)
+                    .parameters(parameters)
+                    .clock(clocks[i])
+                    .account(account)
+                    .orders(new ArrayList<>())
+                    .complexOrders(new ArrayList<>())
+                    .closedOrders(new ArrayList<>())
+                    .build();
+            strategies[i] = strategyFactory.apply(symbol);
+            strategies[i].startStrategy(contexts[i]).join();
+        }
+
+        // one point per distinct timestamp, taken once every symbol at that instant has been dispatched
+        DoubleSeries fundsHistory = new DoubleSeries("funds");
+        long fundsEpochNanos = Long.MIN_VALUE;
+        long events = 0;
+        int index;
+        while ((index = merge.next()) >= 0) {
+            DoubleSeries.Cursor cursor = merge.cursor(index);
+            TradingContext context = contexts[index];
+            long epochNanos = cursor.epochNanos();
+            if (epochNanos != fundsEpochNanos) {
+                if (fundsEpochNanos != Long.MIN_VALUE) {
+                    fundsHistory.add(account.getAvailableFunds(), fundsEpochNanos);
+                }
+                fundsEpochNanos = epochNanos;
+            }
+            context.markPrice(cursor.value());
+            context.setInstant(cursor.instant());
+            clocks[index].advanceTo(epochNanos);
+            events++;
+
+            double availableFunds = account.getAvailableFunds();
+            if (availableFunds < 0) {
+                log.info("Portfolio ran out of funds at {}", cursor.instant());
+                break;
+            }
+
+            double price = cursor.value();
+            long epochSecond = Math.floorDiv(epochNanos, 1_000_000_000L);
+            if (bars == null) {
+                bracketMatcher.match(context, price);
+                context.getIndicators().accept(epochSecond, price, price, price, price, 0);
+            } else {
+                CandleBar bar = bars.get(index).get(cursor.index());
+                bracketMatcher.match(context, bar.openOrClose(), bar.high(), bar.low());
+                context.getIndicators().accept(epochSecond, bar.openOrClose(), bar.high(), bar.low(), price,
+                        bar.volume());
+            }
+            strategies[index].onTick(context).join();
+        }
+        if (fundsEpochNanos != Long.MIN_VALUE) {
+            fundsHistory.add(account.getAvailableFunds(), fundsEpochNanos);
+        }
+
+        List<ClosedOrder> orders = new ArrayList<>();
+        Map<String, Double> symbolPl = new LinkedHashMap<>();
+        for (TradingContext context : contexts) {
+            for (Order order : new ArrayList<>(context.getOrders())) {
+                context.close(order);
+            }
+            for (Order order : new ArrayList<>(context.getComplexOrders())) {
+                context.close(order);
+            }
+            orders.addAll(context.getClosedOrders());
+            symbolPl.put(context.getSymbol(), context.getClosedPl());
+        }
+        log.info("Portfolio backtest of {} symbols dispatched {} events", symbols, events);
+
+        result = new Result(account.getClosedPl(),
+                Collections.unmodifiableList(orders), deposit,
+                deposit + account.getClosedPl(),
+                account.getCommissions(), symbolPl, fundsHistory);
+        return result;
+    }
+}
@@ -0,0 +1,78 @@
+package com.strategy.trade.backtest.portfolio;
+
+import com.strategy.trade.backtest.series.DoubleSeries;
+
+import java.util.List;
+
+/**
+ * Heap-based k-way merge over N ascending {@link DoubleSeries}. The heap holds series indices ordered by the
+ * timestamp under each series' cursor (ties broken by index), so the merged stream is produced lazily in
+ * O(log N) per element without materialising a merged list or allocating per event.
+ */
+public class TimestampMerge {
+
+    private final DoubleSeries.Cursor[] cursors;
+    private final int[] heap;
+    private int heapSize;
+    private int current = -1;
+
+    public TimestampMerge(List<DoubleSeries> series) {
+        this.cursors = new DoubleSeries.Cursor[series.size()];
+        this.heap = new int[series.size()];
+        for (int i = 0; i < cursors.length; i++) {
+            cursors[i] = series.get(i).toAscending().cursor();
+            if (cursors[i].next()) {
+                heap[heapSize++] = i;
+            }
+        }
+        for (int i = (heapSize >>> 1) - 1; i >= 0; i--) {
+            siftDown(i);
+        }
+    }
+
+    /**
+     * Advances to the next element in timestamp order and returns the index of the series it belongs to,
+     * or {@code -1} once every series is exhausted. The element is read through {@link #cursor(int)}.
+     */
+    public int next() {
+        if (current >= 0) {
+            // the previously returned series sits at the root; move its cursor on and restore heap order
+            if (cursors[current].next()) {
+                siftDown(0);
+            } else {
+                heap[0] = heap[--heapSize];
+                siftDown(0);
+            }
+        }
+        current = heapSize == 0 ? -1 : heap[0];
+        return current;
+    }
+
+    public DoubleSeries.Cursor cursor(int index) {
+        return cursors[index];
+    }
+
+    private void siftDown(int position) {
+        int index = heap[position];
+        int half = heapSize >>> 1;
+        while (position < half) {
+            int child = 2 * position + 1;
+            int right = child + 1;
+            if (right < heapSize && less(heap[right], heap[child])) {
+                child = right;
+            }
+            if (!less(heap[child], index)) {
+                break;
+            }
+            heap[position] = heap[child];
+            position = child;
+        }
+        heap[position] = index;
+    }
+
+    private boolean less(int a, int b) {
+        long timeA = cursors[a].epochNanos();
+        long timeB = cursors[b].epochNanos();
+        return timeA < timeB || (timeA == timeB && a < b);
+    }
+}
@@ -0,0 +1,38 @@
+package com.strategy.trade.backtest.replay;
+
+import com.strategy.trade.strategy.enums.TradingState;
+
+/**
+ * Result of replaying a single ORB trading day. Prices are {@code 0} when the day never reached the
+ * corresponding stage, mirroring how {@link com.strategy.trade.backtest.ComplexOrder} treats unset levels.
+ * A day whose replay threw carries the {@code error} and no figures.
+ */
+public record DayOutcome(String date, TradingState finalState, boolean breakout, boolean retest,
+                         double openingHigh, double openingLow, double entryPrice, double exitPrice,
+                         String exitReason, double pl, int barsReplayed, String error) {
+
+    public DayOutcome(String date, TradingState finalState, boolean breakout, boolean retest,
+                      double openingHigh, double openingLow, double entryPrice, double exitPrice,
+                      String exitReason, double pl, int barsReplayed) {
+        this(date, finalState, breakout, retest, openingHigh, openingLow, entryPrice, exitPrice, exitReason, pl,
+                barsReplayed, null);
+    }
+
+    public static DayOutcome noData(String date) {
+        return new DayOutcome(date, TradingState.WAITING_FOR_MARKET_OPEN, false, false,
+                0, 0, 0, 0, null, 0, 0);
+    }
+
+    public static DayOutcome failed(String date, Exception e) {
+        return new DayOutcome(date, null, false, false, 0, 0, 0, 0, null, 0, 0,
+                e.getClass().getSimpleName() + ": " + e.getMessage());
+    }
+
+    public boolean hasData() {
+        return !failed() && finalState != TradingState.WAITING_FOR_MARKET_OPEN;
+    }
+
+    public boolean failed() {
+        return error != null;
+    }
+}
@@ -0,0 +1,189 @@
+package com.strategy.trade.backtest.replay;
+
+import com.strategy.trade.backtest.ClosedOrder;
+import com.strategy.trade.backtest.ComplexOrder;
+import com.strategy.trade.backtest.event.VirtualClock;
+import com.strategy.trade.backtest.matching.BracketMatcher;
+import com.strategy.trade.model.CandleBar;
+import com.strategy.trade.model.enums.TimeFrame;
+import com.strategy.trade.service.OrderTracker;
+import com.strategy.trade.service.bars.TradingSession;
+import com.strategy.trade.service.csv.CsvService;
+import com.strategy.trade.service.impl.PositionTracker;
+import com.strategy.trade.strategy.AsyncOrbStrategy;
+import com.strategy.trade.strategy.dataclient.InMemoryStockDataClient;
+import com.strategy.trade.strategy.enums.StrategyDataSource;
+import com.strategy.trade.strategy.enums.StrategyMode;
+import com.strategy.trade.strategy.enums.TradingState;
+import com.strategy.trade.strategy.model.OpeningRange;
+import com.strategy.trade.strategy.model.StrategyParameters;
+import com.strategy.trade.strategy.model.SymbolTradingState;
+import com.strategy.trade.strategy.model.TradingContext;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static com.strategy.trade.strategy.enums.TradingState.MONITORING_FOR_BREAKOUT;
+import static com.strategy.trade.strategy.enums.TradingState.MONITORING_FOR_RETEST;
+
+/**
+ * Replays ORB trading days straight from the {@code exports/{symbol}/{tf}} CSVs, one independent in-memory
+ * run per day, in parallel on a fork-join pool. Each day loads its bars once, drives a fresh
+ * {@link AsyncOrbStrategy} bar by bar on a virtual clock and then settles the bracket order against the
+ * remaining one-minute bars through the {@link BracketMatcher}. Nothing is written to Redis.
+ */
+@Slf4j
+public class OrbReplayEngine {
+
+    private final ForkJoinPool pool;
+    private final CsvService csvService;
+    private final OrderTracker orderTracker;
+    private final PositionTracker positionTracker;
+    private final BracketMatcher bracketMatcher = new BracketMatcher();
+
+    public OrbReplayEngine(ForkJoinPool pool, CsvService csvService,
+                           OrderTracker orderTracker, PositionTracker positionTracker) {
+        this.pool = pool;
+        this.csvService = csvService;
+        this.orderTracker = orderTracker;
+        this.positionTracker = positionTracker;
+    }
+
+    public ReplayReport run(String symbol, List<String> dates, StrategyParameters parameters) {
+        log.info("Replaying {} ORB days for {} on {} workers", dates.size(), symbol, pool.getParallelism());
+
+        List<DayOutcome> days = pool.submit(() -> dates.parallelStream()
+                        .map(date -> replayDay(symbol, date, parameters))
+                        .sorted(Comparator.comparing(DayOutcome::date))
+                        .toList())
+                .join();
+
+        ReplayReport report = ReplayReport.of(symbol, days);
+        log.info("[{}] Replay finished - days: {}, failed: {}, breakouts: {}, retests: {}, P&L: {}", symbol,
+                report.daysWithData(), report.failedDays(), report.breakouts(), report.retests(), report.totalPl());
+        return report;
+    }
+
+    /**
+     * Loads both timeframes of one day as immutable lists, safe to share between concurrent replays.
+     */
+    public Map<TimeFrame, List<CandleBar>> loadDay(String symbol, String date) {
+        return Map.of(
+                TimeFrame.FIVE_MIN, List.copyOf(csvService.readBars(symbol, TimeFrame.FIVE_MIN, date)),
+                TimeFrame.ONE_MIN, List.copyOf(csvService.readBars(symbol, TimeFrame.ONE_MIN, date)));
+    }
+
+    DayOutcome replayDay(String symbol, String date, StrategyParameters parameters) {
+        Map<TimeFrame, List<CandleBar>> bars;
+        try {
+            bars = loadDay(symbol, date);
+        } catch (Exception e) {
+            log.error("[{}] Failed to load {}", symbol, date, e);
+            return DayOutcome.failed(date, e);
+        }
+        return replayDay(symbol, date, bars, parameters);
+    }
+
+    public DayOutcome replayDay(String symbol, String date, Map<TimeFrame, List<CandleBar>> bars,
+                                StrategyParameters parameters) {
+        try {
+            if (bars.get(TimeFrame.FIVE_MIN).isEmpty() || bars.get(TimeFrame.ONE_MIN).isEmpty()) {
+                return DayOutcome.noData(date);
+            }
+
+            InMemoryStockDataClient dataClient = new InMemoryStockDataClient(bars);
+            // virtual time starts at the session open and then follows the one-minute bars, like Backtest.onBar
+            VirtualClock clock = new VirtualClock(VirtualClock.sessionStart(
+                    toEpochNanos(bars.get(TimeFrame.FIVE_MIN).getFirst()), TradingSession.US_EQUITIES));
+            AsyncOrbStrategy strategy = new AsyncOrbStrategy(dataClient, orderTracker, positionTracker);
+            strategy.setStrategyDataSource(StrategyDataSource.CSV);
+
+            TradingContext context = TradingContext.builder()
+                    .symbol(symbol)
+                    .date(date)
+                    .state(new SymbolTradingState())
+                    .mode(StrategyMode.BACKTEST)
+                    .parameters(parameters)
+                    .clock(clock)
+                    .orders(new ArrayList<>())
+                    .complexOrders(new ArrayList<>())
+                    .closedOrders(new ArrayList<>())
+                    .build();
+
+            // called directly, not through the Spring proxy, so every step runs on this worker thread
+            strategy.startStrategy(context).join();
+            // every onTick consumes exactly one one-minute bar, so the session length bounds the loop
+            int oneMinuteBars = bars.get(TimeFrame.ONE_MIN).size();
+            int barsReplayed = 0;
+            CandleBar next;
+            while (barsReplayed < oneMinuteBars && isMonitoring(context.getState().getCurrentState())
+                    && (next = dataClient.peek(TimeFrame.ONE_MIN)) != null) {
+                // the engine is the driver here, so it feeds the bar the strategy is about to consume
+                advanceTo(context, clock, next);
+                context.getIndicators().accept(next);
+                strategy.onTick(context).join();
+                barsReplayed++;
+            }
+
+            return settle(symbol, date, context, clock, dataClient, barsReplayed);
+        } catch (Exception e) {
+            log.error("[{}] Replay failed for {}", symbol, date, e);
+            return DayOutcome.failed(date, e);
+        }
+    }
+
+    private DayOutcome settle(String symbol, String date, TradingContext context, VirtualClock clock,
+                              InMemoryStockDataClient dataClient, int barsReplayed) {
+        SymbolTradingState state = context.getState();
+        OpeningRange openingRange = state.getOpeningRange();
+        double openingHigh = openingRange == null ? 0 : openingRange.highPrice();
+        double openingLow = openingRange == null ? 0 : openingRange.lowPrice();
+        boolean breakout = state.getBreakoutData() != null;
+
+        if (context.getComplexOrders().isEmpty()) {
+            return new DayOutcome(date, state.getCurrentState(), breakout, false,
+                    openingHigh, openingLow, 0, 0, null, 0, barsReplayed);
+        }
+
+        // walk the rest of the session through the matcher; the previous close stands in for a missing open
+        ComplexOrder order = context.getComplexOrders().getFirst();
+        double previousClose = order.getOpenPrice();
+        boolean filled = false;
+        CandleBar bar;
+        while (!filled && (bar = dataClient.quoteWithInterval(symbol, TimeFrame.ONE_MIN, date)) != null) {
+            barsReplayed++;
+            advanceTo(context, clock, bar);
+            context.setCurrentPrice(bar.close());
+            double open = Double.isNaN(bar.open()) ? previousClose : bar.open();
+            filled = bracketMatcher.match(context, open, bar.high(), bar.low()) > 0;
+            previousClose = bar.close();
+        }
+        if (!filled) {
+            context.close(order);
+        }
+
+        ClosedOrder closedOrder = context.getClosedOrders().getLast();
+        String exitReason = filled ? closedOrder.getExitReason().name() : "SESSION_END";
+        double pl = closedOrder.getPl() - context.getCommissions();
+        return new DayOutcome(date, state.getCurrentState(), breakout, true, openingHigh, openingLow,
+                order.getOpenPrice(), closedOrder.getClosePrice(), exitReason, pl, barsReplayed);
+    }
+
+    private static void advanceTo(TradingContext context, VirtualClock clock, CandleBar bar) {
+        clock.advanceTo(toEpochNanos(bar));
+        context.setInstant(Instant.ofEpochSecond(bar.epochSecond()));
+    }
+
+    private static long toEpochNanos(CandleBar bar) {
+        return bar.epochSecond() * 1_000_000_000L;
+    }
+
+    private static boolean isMonitoring(TradingState state) {
+        return state == MONITORING_FOR_BREAKOUT || state == MONITORING_FOR_RETEST;
+    }
+}
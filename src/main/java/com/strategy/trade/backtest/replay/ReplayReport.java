@@ -0,0 +1,34 @@
+package com.strategy.trade.backtest.replay;
+
+import java.util.List;
+
+/**
+ * Totals over replayed days. Days whose replay failed stay in {@code days} with their error and are counted in
+ * {@code failedDays}, not in any other figure.
+ */
+public record ReplayReport(String symbol, int tradingDays, int daysWithData, int failedDays, int breakouts,
+                           int retests, int wins, int losses, double totalPl, List<DayOutcome> days) {
+
+    public static ReplayReport of(String symbol, List<DayOutcome> days) {
+        int daysWithData = 0;
+        int failedDays = 0;
+        int breakouts = 0;
+        int retests = 0;
+        int wins = 0;
+        int losses = 0;
+        double totalPl = 0;
+        for (DayOutcome day : days) {
+            if (day.failed()) failedDays++;
+            if (day.hasData()) daysWithData++;
+            if (day.breakout()) breakouts++;
+            if (day.retest()) {
+                retests++;
+                if (day.pl() > 0) wins++;
+                else if (day.pl() < 0) losses++;
+            }
+            totalPl += day.pl();
+        }
+        return new ReplayReport(symbol, days.size(), daysWithData, failedDays, breakouts, retests, wins, losses,
+                totalPl, days);
+    }
+}
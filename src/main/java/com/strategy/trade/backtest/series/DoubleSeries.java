@@ -3,38 +3,325 @@ package com.strategy.trade.backtest.series;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.time.Instant;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.LongPredicate;
+import java.util.stream.Stream;
 
-@Setter
-@Getter
+/**
+ * Price series stored column-wise in two parallel primitive arrays ({@code epochNanos} and {@code values})
+ * instead of a list of boxed {@link TimeSeries.Entry} objects.
+ * <p>
+ * The hot path ({@link #add(double, long)}, {@link #cursor()}) never allocates per element. The
+ * {@link TimeSeries} API ({@link #getData()}, {@link #stream()}, {@link #iterator()}, {@link #map(Function)})
+ * is kept as a compatibility adapter that materialises entries on access.
+ * <p>
+ * {@link #slice}, {@link #reverse()} and {@link #toAscending()} return read-only views over the same arrays
+ * (an offset, a length and a direction), so windows and re-ordering cost no copy. A view covers the elements
+ * that existed when it was taken; {@link #copy()} turns it back into an appendable series.
+ */
 public class DoubleSeries extends TimeSeries<Double> {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    @Getter
+    @Setter
     String name;
 
+    long[] epochNanos;
+    double[] values;
+    int size;
+    // views only: first physical index and read direction
+    final int offset;
+    final boolean reversed;
+    final boolean view;
+
     public DoubleSeries(List<Entry<Double>> data, String name) {
-        super(data);
-        this.name = name;
+        this(name, data.size());
+        for (Entry<Double> entry : data) {
+            add(entry);
+        }
     }
 
     public DoubleSeries(String name) {
-        super();
+        this(name, DEFAULT_CAPACITY);
+    }
+
+    public DoubleSeries(String name, int capacity) {
+        super(Collections.emptyList());
         this.name = name;
+        this.epochNanos = new long[Math.max(capacity, 1)];
+        this.values = new double[Math.max(capacity, 1)];
+        this.offset = 0;
+        this.reversed = false;
+        this.view = false;
+    }
+
+    /**
+     * View of {@code [from, to)} of {@code source} in logical order, optionally flipped.
+     */
+    private DoubleSeries(DoubleSeries source, int from, int to, boolean flip) {
+        super(Collections.emptyList());
+        this.name = source.name;
+        this.epochNanos = source.epochNanos;
+        this.values = source.values;
+        this.size = to - from;
+        this.offset = source.reversed ? source.offset + source.size - to : source.offset + from;
+        this.reversed = source.reversed != flip;
+        this.view = true;
+    }
+
+    public static long toEpochNanos(Instant instant) {
+        return Math.addExact(Math.multiplyExact(instant.getEpochSecond(), NANOS_PER_SECOND), instant.getNano());
+    }
+
+    public static Instant ofEpochNanos(long epochNanos) {
+        return Instant.ofEpochSecond(Math.floorDiv(epochNanos, NANOS_PER_SECOND),
+                Math.floorMod(epochNanos, NANOS_PER_SECOND));
+    }
+
+    @Override public int size() {
+        return size;
+    }
+
+    @Override public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override public boolean add(Entry<Double> entry) {
+        add(entry.getItem(), entry.getInstant());
+        return true;
+    }
+
+    @Override public void add(Double item, Instant instant) {
+        add(item == null ? Double.NaN : item, toEpochNanos(instant));
+    }
+
+    public void add(double value, long epochNanos) {
+        if (view) {
+            throw new UnsupportedOperationException("Series views are read-only, copy() it first");
+        }
+        if (size == values.length) {
+            int capacity = values.length + (values.length >> 1) + 1;
+            this.values = Arrays.copyOf(values, capacity);
+            this.epochNanos = Arrays.copyOf(this.epochNanos, capacity);
+        }
+        this.values[size] = value;
+        this.epochNanos[size] = epochNanos;
+        size++;
+    }
+
+    public double getValue(int index) {
+        Objects.checkIndex(index, size);
+        return value(index);
+    }
+
+    public long getEpochNanos(int index) {
+        Objects.checkIndex(index, size);
+        return time(index);
+    }
+
+    // unchecked logical accessors for the hot loops in this package
+    double value(int index) {
+        return values[reversed ? offset + size - 1 - index : offset + index];
+    }
+
+    long time(int index) {
+        return epochNanos[reversed ? offset + size - 1 - index : offset + index];
+    }
+
+    /**
+     * Read-only view of the elements {@code [from, to)}, sharing storage.
+     */
+    public DoubleSeries slice(int from, int to) {
+        Objects.checkFromToIndex(from, to, size);
+        return new DoubleSeries(this, from, to, false);
+    }
+
+    /**
+     * Read-only view of the elements with {@code from <= instant < to}, found by binary search. The series must
+     * be sorted, either way; the view keeps its order.
+     */
+    @Override public DoubleSeries slice(Instant from, Instant to) {
+        long fromNanos = toEpochNanos(from);
+        long toNanos = toEpochNanos(to);
+        if (isAscending()) {
+            int start = firstIndex(t -> t >= fromNanos);
+            return slice(start, Math.max(start, firstIndex(t -> t >= toNanos)));
+        }
+        int start = firstIndex(t -> t < toNanos);
+        return slice(start, Math.max(start, firstIndex(t -> t < fromNanos)));
+    }
+
+    /**
+     * Index of the latest element at or before {@code instant}, or {@code -1} if every element is later.
+     */
+    @Override public int indexAtOrBefore(Instant instant) {
+        long nanos = toEpochNanos(instant);
+        if (isAscending()) {
+            return firstIndex(t -> t > nanos) - 1;
+        }
+        int index = firstIndex(t -> t <= nanos);
+        return index == size ? -1 : index;
+    }
+
+    /**
+     * Index of the earliest element at or after {@code instant}, or {@code -1} if every element is earlier.
+     */
+    public int indexAtOrAfter(Instant instant) {
+        long nanos = toEpochNanos(instant);
+        if (isAscending()) {
+            int index = firstIndex(t -> t >= nanos);
+            return index == size ? -1 : index;
+        }
+        return firstIndex(t -> t < nanos) - 1;
+    }
+
+    /**
+     * First index whose time satisfies {@code predicate}, which must be false-then-true along the series.
+     */
+    private int firstIndex(LongPredicate predicate) {
+        int lo = 0;
+        int hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (predicate.test(time(mid))) {
+                hi = mid;
+            } else {
+                lo = mid + 1;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Appendable copy holding only this series' elements, in its current order.
+     */
+    public DoubleSeries copy() {
+        DoubleSeries copy = new DoubleSeries(name, size);
+        for (int i = 0; i < size; i++) {
+            copy.add(value(i), time(i));
+        }
+        return copy;
+    }
+
+    public Instant getInstant(int index) {
+        return ofEpochNanos(getEpochNanos(index));
+    }
+
+    @Override public Entry<Double> get(int index) {
+        return new Entry<>(getValue(index), getInstant(index));
+    }
+
+    /**
+     * Returns a new forward cursor positioned before the first element.
+     */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    @Override public Iterator<Entry<Double>> iterator() {
+        return getData().iterator();
+    }
+
+    @Override public Stream<Entry<Double>> stream() {
+        return getData().stream();
+    }
+
+    @Override public List<Entry<Double>> getData() {
+        return new AbstractList<>() {
+            @Override public Entry<Double> get(int index) {
+                return DoubleSeries.this.get(index);
+            }
+
+            @Override public int size() {
+                return size;
+            }
+        };
+    }
+
+    @Override public <F> TimeSeries<F> map(Function<Double, F> f) {
+        List<Entry<F>> newEntries = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            newEntries.add(new Entry<>(f.apply(value(i)), ofEpochNanos(time(i))));
+        }
+        return new TimeSeries<>(newEntries);
+    }
+
+    @Override public boolean isAscending() {
+        return size <= 1 || time(0) < time(1);
     }
 
     @Override public DoubleSeries toAscending() {
-        return new DoubleSeries(super.toAscending().data, getName());
+        return isAscending() ? this : reverse();
     }
 
     @Override public DoubleSeries toDescending() {
-        return new DoubleSeries(super.toDescending().data, getName());
+        return isAscending() ? reverse() : this;
+    }
+
+    /**
+     * Read-only view in the opposite order; no elements are copied.
+     */
+    @Override public DoubleSeries reverse() {
+        return new DoubleSeries(this, 0, size, true);
     }
 
     @Override public String toString() {
-        return data.isEmpty() ? "DoubleSeries{empty}" :
+        return size == 0 ? "DoubleSeries{empty}" :
             "DoubleSeries{" +
                 "mName=" + name +
-                ", from=" + data.get(0).getInstant() +
-                ", to=" + data.get(data.size() - 1).getInstant() +
-                ", size=" + data.size() +
+                ", from=" + ofEpochNanos(time(0)) +
+                ", to=" + ofEpochNanos(time(size - 1)) +
+                ", size=" + size +
                 '}';
     }
+
+    /**
+     * Allocation-free forward cursor over the series. Reads through the owning series, so elements
+     * appended after the cursor was created are visible to it.
+     */
+    public class Cursor {
+        int index = -1;
+
+        public boolean hasNext() {
+            return index + 1 < size;
+        }
+
+        public boolean next() {
+            if (!hasNext()) {
+                return false;
+            }
+            index++;
+            return true;
+        }
+
+        public int index() {
+            return index;
+        }
+
+        public double value() {
+            return DoubleSeries.this.value(index);
+        }
+
+        public long epochNanos() {
+            return time(index);
+        }
+
+        public Instant instant() {
+            return ofEpochNanos(time(index));
+        }
+
+        public void reset() {
+            index = -1;
+        }
+    }
 }
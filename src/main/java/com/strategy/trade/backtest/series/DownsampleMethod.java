@@ -0,0 +1,8 @@
+package com.strategy.trade.backtest.series;
+
+public enum DownsampleMethod {
+    /** Largest-Triangle-Three-Buckets: keeps the visual shape, one point per bucket. */
+    LTTB,
+    /** Minimum and maximum of every bucket, in time order: keeps every extreme, two points per bucket. */
+    MIN_MAX
+}
@@ -0,0 +1,107 @@
+package com.strategy.trade.backtest.series;
+
+/**
+ * Reduces a {@link DoubleSeries} to roughly {@code points} points for charting. Reads the primitive columns
+ * of the series (or view) in place (no copy, no per-element boxing) and pushes the selected points to a
+ * {@link PointConsumer} as it goes, so the result can be streamed while it is being computed.
+ * Series that already fit the resolution are emitted unchanged.
+ */
+public final class SeriesDownsampler {
+
+    @FunctionalInterface
+    public interface PointConsumer {
+        void accept(long epochNanos, double value);
+    }
+
+    private SeriesDownsampler() {
+    }
+
+    public static void downsample(DoubleSeries series, int points, DownsampleMethod method,
+                                  PointConsumer consumer) {
+        switch (method) {
+            case LTTB -> lttb(series, points, consumer);
+            case MIN_MAX -> minMax(series, Math.max(1, points / 2), consumer);
+        }
+    }
+
+    public static void lttb(DoubleSeries series, int points, PointConsumer consumer) {
+        int size = series.size;
+        if (points >= size || points < 3) {
+            emitAll(series, consumer);
+            return;
+        }
+
+        // time is measured relative to the first point so the triangle areas keep double precision
+        long origin = series.time(0);
+        double bucketSize = (double) (size - 2) / (points - 2);
+        int selected = 0;
+        consumer.accept(series.time(0), series.value(0));
+
+        for (int bucket = 0; bucket < points - 2; bucket++) {
+            int from = (int) (bucket * bucketSize) + 1;
+            int to = (int) ((bucket + 1) * bucketSize) + 1;
+
+            // average of the next bucket (the last point for the final bucket)
+            int nextFrom = to;
+            int nextTo = Math.min((int) ((bucket + 2) * bucketSize) + 1, size);
+            double avgTime = 0;
+            double avgValue = 0;
+            for (int i = nextFrom; i < nextTo; i++) {
+                avgTime += series.time(i) - origin;
+                avgValue += series.value(i);
+            }
+            int nextCount = nextTo - nextFrom;
+            avgTime /= nextCount;
+            avgValue /= nextCount;
+
+            double selectedTime = series.time(selected) - origin;
+            double selectedValue = series.value(selected);
+            double maxArea = -1;
+            int next = from;
+            for (int i = from; i < to; i++) {
+                double area = Math.abs((selectedTime - avgTime) * (series.value(i) - selectedValue)
+                        - (selectedTime - (series.time(i) - origin)) * (avgValue - selectedValue));
+                if (area > maxArea) {
+                    maxArea = area;
+                    next = i;
+                }
+            }
+            consumer.accept(series.time(next), series.value(next));
+            selected = next;
+        }
+
+        consumer.accept(series.time(size - 1), series.value(size - 1));
+    }
+
+    public static void minMax(DoubleSeries series, int buckets, PointConsumer consumer) {
+        int size = series.size;
+        if (buckets * 2 >= size) {
+            emitAll(series, consumer);
+            return;
+        }
+
+        double bucketSize = (double) size / buckets;
+        for (int bucket = 0; bucket < buckets; bucket++) {
+            int from = (int) (bucket * bucketSize);
+            int to = Math.min((int) ((bucket + 1) * bucketSize), size);
+            int min = from;
+            int max = from;
+            for (int i = from + 1; i < to; i++) {
+                if (series.value(i) < series.value(min)) min = i;
+                if (series.value(i) > series.value(max)) max = i;
+            }
+            int first = Math.min(min, max);
+            int second = Math.max(min, max);
+            consumer.accept(series.time(first), series.value(first));
+            if (second != first) {
+                consumer.accept(series.time(second), series.value(second));
+            }
+        }
+    }
+
+    private static void emitAll(DoubleSeries series, PointConsumer consumer) {
+        for (int i = 0; i < series.size; i++) {
+            consumer.accept(series.time(i), series.value(i));
+        }
+    }
+}
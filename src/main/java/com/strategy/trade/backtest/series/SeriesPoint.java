@@ -0,0 +1,6 @@
+package com.strategy.trade.backtest.series;
+
+import java.time.Instant;
+
+public record SeriesPoint(Instant time, double value) {
+}
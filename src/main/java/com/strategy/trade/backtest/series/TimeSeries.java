@@ -5,6 +5,7 @@ import lombok.Getter;
 import java.time.Instant;
 import java.util.*;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Stream;
 
 
@@ -119,10 +120,53 @@ public class TimeSeries<T> implements Iterable<TimeSeries.Entry<T>> {
         return this;
     }
 
+    /**
+     * Read-only view in the opposite order; no entries are copied.
+     */
     public TimeSeries<T> reverse() {
-        ArrayList<Entry<T>> entries = new ArrayList<>(data);
-        Collections.reverse(entries);
-        return new TimeSeries<>(entries);
+        return new TimeSeries<>(Collections.unmodifiableList(data.reversed()));
+    }
+
+    /**
+     * Read-only view of the entries with {@code from <= instant < to}, found by binary search on a sorted
+     * series (either order).
+     */
+    public TimeSeries<T> slice(Instant from, Instant to) {
+        int start;
+        int end;
+        if (isAscending()) {
+            start = firstIndex(instant -> !instant.isBefore(from));
+            end = firstIndex(instant -> !instant.isBefore(to));
+        } else {
+            start = firstIndex(instant -> instant.isBefore(to));
+            end = firstIndex(instant -> instant.isBefore(from));
+        }
+        return new TimeSeries<>(Collections.unmodifiableList(data.subList(start, Math.max(start, end))));
+    }
+
+    /**
+     * Index of the latest entry at or before {@code instant}, or {@code -1} if every entry is later.
+     */
+    public int indexAtOrBefore(Instant instant) {
+        if (isAscending()) {
+            return firstIndex(entry -> entry.isAfter(instant)) - 1;
+        }
+        int index = firstIndex(entry -> !entry.isAfter(instant));
+        return index == size() ? -1 : index;
+    }
+
+    private int firstIndex(Predicate<Instant> predicate) {
+        int lo = 0;
+        int hi = size();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (predicate.test(get(mid).getInstant())) {
+                hi = mid;
+            } else {
+                lo = mid + 1;
+            }
+        }
+        return lo;
     }
 
     @Override public String toString() {
@@ -0,0 +1,71 @@
+package com.strategy.trade.backtest.sweep;
+
+import com.strategy.trade.strategy.enums.StrategyType;
+import com.strategy.trade.strategy.model.StrategyParameters;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.strategy.trade.strategy.AsyncOrbStrategy.OPENING_RANGE_BAR_MINUTES;
+
+/**
+ * Sweep request: every list is one axis of the grid, and each run uses one value per axis.
+ * Axes that are not supplied fall back to the single default value.
+ */
+@Data
+@NoArgsConstructor
+public class ParameterGrid {
+
+    private String symbol;
+    private StrategyType strategy = StrategyType.ORB;
+    private String from;
+    private String to;
+
+    private List<Double> deposits = List.of(20000.0);
+    private List<Double> leverages = List.of(4.0);
+    private List<Integer> openingRangeMinutes = List.of(StrategyParameters.DEFAULT.openingRangeMinutes());
+    private List<Integer> breakoutConfirmationBars = List.of(StrategyParameters.DEFAULT.breakoutConfirmationBars());
+    private List<BigDecimal> retestBuffers = List.of(StrategyParameters.DEFAULT.retestBuffer());
+    private List<Double> stopLossRanges = List.of(StrategyParameters.DEFAULT.stopLossRange());
+    private List<Double> takeProfitRanges = List.of(StrategyParameters.DEFAULT.takeProfitRange());
+
+    /**
+     * Rejects grids whose runs could not be replayed: an empty axis, or an opening range that is not a whole
+     * number of the strategy's 5-minute bars.
+     */
+    public void validate() {
+        List<List<?>> axes = List.of(deposits, leverages, openingRangeMinutes, breakoutConfirmationBars,
+                retestBuffers, stopLossRanges, takeProfitRanges);
+        if (axes.stream().anyMatch(axis -> axis == null || axis.isEmpty())) {
+            throw new IllegalArgumentException("Every grid axis needs at least one value");
+        }
+        for (int minutes : openingRangeMinutes) {
+            if (minutes < OPENING_RANGE_BAR_MINUTES || minutes % OPENING_RANGE_BAR_MINUTES != 0) {
+                throw new IllegalArgumentException("Opening range of " + minutes
+                        + " minutes is not a positive multiple of " + OPENING_RANGE_BAR_MINUTES + "-minute bars");
+            }
+        }
+    }
+
+    public List<Combination> combinations() {
+        validate();
+        List<Combination> combinations = new ArrayList<>();
+        for (double deposit : deposits)
+            for (double leverage : leverages)
+                for (int openingRange : openingRangeMinutes)
+                    for (int confirmationBars : breakoutConfirmationBars)
+                        for (BigDecimal retestBuffer : retestBuffers)
+                            for (double stopLoss : stopLossRanges)
+                                for (double takeProfit : takeProfitRanges)
+                                    combinations.add(new Combination(deposit, leverage,
+                                            new StrategyParameters(openingRange, confirmationBars, retestBuffer,
+                                                    stopLoss, takeProfit)));
+        return combinations;
+    }
+
+    public record Combination(double deposit, double leverage, StrategyParameters parameters) {
+    }
+}
@@ -0,0 +1,86 @@
+package com.strategy.trade.backtest.sweep;
+
+import com.strategy.trade.backtest.Backtest;
+import com.strategy.trade.backtest.series.DoubleSeries;
+import com.strategy.trade.model.CandleBar;
+import com.strategy.trade.strategy.AsyncTradingStrategy;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Runs every combination of a {@link ParameterGrid} as an independent {@link Backtest} on a fork-join pool.
+ * All runs read the same price series through their own cursor; the strategy factory must hand out a fresh,
+ * unshared strategy instance per run. A run that throws is reported as a failed {@link SweepResult} after the
+ * ranked ones instead of being dropped.
+ */
+@Slf4j
+public class ParameterSweep {
+
+    private final ForkJoinPool pool;
+
+    public ParameterSweep(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    public List<SweepResult> run(ParameterGrid grid, DoubleSeries prices,
+                                 Supplier<AsyncTradingStrategy> strategyFactory) {
+        return run(grid, prices, null, strategyFactory);
+    }
+
+    /**
+     * @param bars OHLC behind each price, matched against the brackets of every run; {@code null} for a
+     *             close-only series
+     */
+    public List<SweepResult> run(ParameterGrid grid, DoubleSeries prices, List<CandleBar> bars,
+                                 Supplier<AsyncTradingStrategy> strategyFactory) {
+        List<ParameterGrid.Combination> combinations = grid.combinations();
+        log.info("Sweeping {} combinations for {} on {} workers",
+                combinations.size(), grid.getSymbol(), pool.getParallelism());
+
+        Map<Boolean, List<SweepResult>> results = pool.submit(() -> combinations.parallelStream()
+                        .map(combination -> runCombination(grid.getSymbol(), prices, bars, combination,
+                                strategyFactory))
+                        .collect(Collectors.partitioningBy(SweepResult::failed)))
+                .join();
+
+        // completed runs are ranked best first; failed runs follow unranked so they stay visible
+        List<SweepResult> completed = results.get(false).stream()
+                .sorted(Comparator.comparingDouble(SweepResult::pl).reversed())
+                .toList();
+        List<SweepResult> failed = results.get(true);
+        if (!failed.isEmpty()) {
+            log.warn("{} of {} sweep runs failed for {}", failed.size(), combinations.size(), grid.getSymbol());
+        }
+        return Stream.concat(
+                        IntStream.range(0, completed.size()).mapToObj(i -> completed.get(i).withRank(i + 1)),
+                        failed.stream())
+                .toList();
+    }
+
+    private SweepResult runCombination(String symbol, DoubleSeries prices, List<CandleBar> bars,
+                                       ParameterGrid.Combination combination,
+                                       Supplier<AsyncTradingStrategy> strategyFactory) {
+        try {
+            Backtest backtest = bars == null
+                    ? new Backtest(combination.deposit(), prices, symbol)
+                    : new Backtest(combination.deposit(), prices, symbol, bars);
+            backtest.setLeverage(combination.leverage());
+            backtest.setParameters(combination.parameters());
+
+            Backtest.Result result = backtest.run(strategyFactory.get());
+            return new SweepResult(0, combination.deposit(), combination.leverage(), combination.parameters(),
+                    result.getPl(), result.getFinalValue(), result.getCommissions(), result.getOrders().size(), null);
+        } catch (Exception e) {
+            log.error("[{}] Sweep run failed for {}", symbol, combination, e);
+            return SweepResult.failed(combination, e);
+        }
+    }
+}
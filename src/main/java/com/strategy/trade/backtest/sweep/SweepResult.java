@@ -0,0 +1,23 @@
+package com.strategy.trade.backtest.sweep;
+
+import com.strategy.trade.strategy.model.StrategyParameters;
+
+/**
+ * One run of a sweep. A run that threw carries its {@code error}, rank 0 and no figures.
+ */
+public record SweepResult(int rank, double deposit, double leverage, StrategyParameters parameters,
+                          double pl, double finalValue, double commissions, int trades, String error) {
+
+    static SweepResult failed(ParameterGrid.Combination combination, Exception e) {
+        return new SweepResult(0, combination.deposit(), combination.leverage(), combination.parameters(),
+                0, 0, 0, 0, e.getClass().getSimpleName() + ": " + e.getMessage());
+    }
+
+    public boolean failed() {
+        return error != null;
+    }
+
+    SweepResult withRank(int rank) {
+        return new SweepResult(rank, deposit, leverage, parameters, pl, finalValue, commissions, trades, error);
+    }
+}
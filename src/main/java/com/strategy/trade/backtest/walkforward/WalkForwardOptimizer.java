@@ -0,0 +1,115 @@
+package com.strategy.trade.backtest.walkforward;
+
+import com.strategy.trade.backtest.replay.DayOutcome;
+import com.strategy.trade.backtest.replay.OrbReplayEngine;
+import com.strategy.trade.backtest.series.DoubleSeries;
+import com.strategy.trade.model.CandleBar;
+import com.strategy.trade.model.enums.TimeFrame;
+import com.strategy.trade.strategy.model.StrategyParameters;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Rolling walk-forward over daily ORB files: each window picks the best candidate parameters on its
+ * in-sample days and is then scored on the following out-of-sample days with those parameters only.
+ * <p>
+ * Every day is loaded once up front and shared read-only by all windows, so overlapping in-sample ranges
+ * never re-read a file. Windows are independent and run in parallel on the fork-join pool.
+ */
+@Slf4j
+public class WalkForwardOptimizer {
+
+    private final ForkJoinPool pool;
+    private final OrbReplayEngine replayEngine;
+
+    public WalkForwardOptimizer(ForkJoinPool pool, OrbReplayEngine replayEngine) {
+        this.pool = pool;
+        this.replayEngine = replayEngine;
+    }
+
+    public WalkForwardResult run(String symbol, List<String> dates, List<StrategyParameters> candidates,
+                                 int inSampleDays, int outOfSampleDays, double deposit) {
+        if (inSampleDays <= 0 || outOfSampleDays <= 0) {
+            throw new IllegalArgumentException("Window lengths must be positive");
+        }
+        int windows = Math.max(0, (dates.size() - inSampleDays) / outOfSampleDays);
+        log.info("Walk-forward for {}: {} days, {} windows of {}+{} days, {} candidates",
+                symbol, dates.size(), windows, inSampleDays, outOfSampleDays, candidates.size());
+
+        return pool.submit(() -> {
+            Map<String, Map<TimeFrame, List<CandleBar>>> bars = dates.parallelStream()
+                    .collect(Collectors.toConcurrentMap(date -> date, date -> replayEngine.loadDay(symbol, date)));
+
+            List<WindowRun> runs = IntStream.range(0, windows)
+                    .parallel()
+                    .mapToObj(window -> runWindow(symbol, window, dates, bars, candidates,
+                            inSampleDays, outOfSampleDays))
+                    .toList();
+
+            return stitch(symbol, deposit, runs);
+        }).join();
+    }
+
+    private WindowRun runWindow(String symbol, int window, List<String> dates,
+                                Map<String, Map<TimeFrame, List<CandleBar>>> bars,
+                                List<StrategyParameters> candidates, int inSampleDays, int outOfSampleDays) {
+        int start = window * outOfSampleDays;
+        List<String> inSample = dates.subList(start, start + inSampleDays);
+        List<String> outOfSample = dates.subList(start + inSampleDays, start + inSampleDays + outOfSampleDays);
+
+        StrategyParameters best = candidates.getFirst();
+        double bestPl = Double.NEGATIVE_INFINITY;
+        for (StrategyParameters candidate : candidates) {
+            double pl = replay(symbol, inSample, bars, candidate).stream().mapToDouble(DayOutcome::pl).sum();
+            if (pl > bestPl) {
+                bestPl = pl;
+                best = candidate;
+            }
+        }
+
+        List<DayOutcome> outcomes = replay(symbol, outOfSample, bars, best);
+        double outOfSamplePl = outcomes.stream().mapToDouble(DayOutcome::pl).sum();
+        log.info("[{}] Window {} picked {} - in-sample P&L: {}, out-of-sample P&L: {}",
+                symbol, window, best, bestPl, outOfSamplePl);
+
+        WindowResult result = new WindowResult(window, inSample.getFirst(), inSample.getLast(),
+                outOfSample.getFirst(), outOfSample.getLast(), best, bestPl, outOfSamplePl);
+        return new WindowRun(result, outcomes);
+    }
+
+    private List<DayOutcome> replay(String symbol, List<String> days,
+                                    Map<String, Map<TimeFrame, List<CandleBar>>> bars,
+                                    StrategyParameters parameters) {
+        List<DayOutcome> outcomes = new ArrayList<>(days.size());
+        for (String day : days) {
+            outcomes.add(replayEngine.replayDay(symbol, day, bars.get(day), parameters));
+        }
+        return outcomes;
+    }
+
+    private WalkForwardResult stitch(String symbol, double deposit, List<WindowRun> runs) {
+        DoubleSeries equityCurve = new DoubleSeries(symbol + " walk-forward", runs.size() * 8);
+        double equity = deposit;
+        for (WindowRun run : runs) {
+            for (DayOutcome outcome : run.outcomes()) {
+                equity += outcome.pl();
+                long epochNanos = DoubleSeries.toEpochNanos(
+                        LocalDate.parse(outcome.date()).atStartOfDay(ZoneOffset.UTC).toInstant());
+                equityCurve.add(equity, epochNanos);
+            }
+        }
+        List<WindowResult> windows = runs.stream().map(WindowRun::result).toList();
+        return new WalkForwardResult(symbol, deposit, equity - deposit, windows, equityCurve);
+    }
+
+    private record WindowRun(WindowResult result, List<DayOutcome> outcomes) {
+    }
+}
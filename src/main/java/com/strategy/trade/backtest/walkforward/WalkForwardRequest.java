@@ -0,0 +1,19 @@
+package com.strategy.trade.backtest.walkforward;
+
+import com.strategy.trade.backtest.sweep.ParameterGrid;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * Walk-forward request: the inherited grid axes are the candidate parameters optimised in every in-sample
+ * window; {@code from}/{@code to} bound the trading days. Windows roll forward by {@code outOfSampleDays}.
+ */
+@Data
+@NoArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class WalkForwardRequest extends ParameterGrid {
+
+    private int inSampleDays = 20;
+    private int outOfSampleDays = 5;
+}
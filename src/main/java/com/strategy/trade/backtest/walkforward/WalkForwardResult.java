@@ -0,0 +1,12 @@
+package com.strategy.trade.backtest.walkforward;
+
+import com.strategy.trade.backtest.series.DoubleSeries;
+
+import java.util.List;
+
+/**
+ * @param equityCurve out-of-sample equity stitched across all windows, one point per out-of-sample day
+ */
+public record WalkForwardResult(String symbol, double deposit, double outOfSamplePl,
+                                List<WindowResult> windows, DoubleSeries equityCurve) {
+}
@@ -0,0 +1,8 @@
+package com.strategy.trade.backtest.walkforward;
+
+import com.strategy.trade.strategy.model.StrategyParameters;
+
+public record WindowResult(int window, String inSampleFrom, String inSampleTo,
+                           String outOfSampleFrom, String outOfSampleTo,
+                           StrategyParameters parameters, double inSamplePl, double outOfSamplePl) {
+}
@@ -7,6 +7,7 @@ import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 @Configuration
 @EnableAsync
@@ -22,4 +23,30 @@ public class AsyncConfig implements AsyncConfigurer {
         executor.initialize();
         return executor;
     }
+
+    // network stage of historical collection; the shared token bucket, not the pool size, sets the request rate
+    @Bean("fetchExecutor")
+    public Executor fetchExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(4);
+        executor.setThreadNamePrefix("fetch-");
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean("exportExecutor")
+    public Executor exportExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setThreadNamePrefix("export-");
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean(name = "backtestPool", destroyMethod = "shutdown")
+    public ForkJoinPool backtestPool() {
+        return new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    }
 }
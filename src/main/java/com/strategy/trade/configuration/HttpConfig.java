@@ -1,5 +1,7 @@
 package com.strategy.trade.configuration;
 
+import com.strategy.trade.service.fetch.TokenBucket;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.client.RestClient;
@@ -11,4 +13,10 @@ public class HttpConfig {
     public RestClient restClient() {
         return RestClient.builder().build();
     }
+
+    @Bean("twelveDataQuota")
+    public TokenBucket twelveDataQuota(@Value("${financial.twelve.api.requests-per-minute:8}") int requestsPerMinute,
+                                       @Value("${financial.twelve.api.burst:1}") int burst) {
+        return new TokenBucket(requestsPerMinute, burst);
+    }
 }
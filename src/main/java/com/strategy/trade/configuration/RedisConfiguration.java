@@ -6,6 +6,10 @@ import com.fasterxml.jackson.annotation.PropertyAccessor;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.strategy.trade.model.CandleBar;
+import com.strategy.trade.model.TradeData;
+import com.strategy.trade.redis.CandleBarSerializer;
+import com.strategy.trade.redis.TradeDataSerializer;
 import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
 import org.springframework.cache.CacheManager;
 import org.springframework.context.annotation.Bean;
@@ -19,6 +23,7 @@ import org.springframework.data.redis.connection.jedis.JedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 import java.time.Duration;
@@ -54,17 +59,30 @@ public class RedisConfiguration {
         return new RedisProperties();
     }
 
+    /**
+     * Latest trades and trade history, stored with the fixed binary layout of {@link TradeDataSerializer}.
+     */
     @Bean
-    public RedisTemplate<?, ?> redisTemplate(RedisConnectionFactory connectionFactory, ObjectMapper mapper) {
-        RedisTemplate<?, ?> template = new RedisTemplate<>();
-        template.setConnectionFactory(connectionFactory);
+    public RedisTemplate<String, TradeData> redisTemplate(RedisConnectionFactory connectionFactory) {
+        return template(connectionFactory, new TradeDataSerializer());
+    }
 
-//        Jackson2JsonRedisSerializer<TradeData> serializer = new Jackson2JsonRedisSerializer<>(mapper, TradeData.class);
-//        template.setKeySerializer(new StringRedisSerializer());
-//        template.setValueSerializer(serializer);
-//        template.setHashKeySerializer(new StringRedisSerializer());
-//        template.setHashValueSerializer(serializer);
+    /**
+     * Bars queued for CSV replay, one {@link CandleBarSerializer} record per list element.
+     */
+    @Bean
+    public RedisTemplate<String, CandleBar> candleRedisTemplate(RedisConnectionFactory connectionFactory) {
+        return template(connectionFactory, new CandleBarSerializer());
+    }
 
+    private static <V> RedisTemplate<String, V> template(RedisConnectionFactory connectionFactory,
+                                                         RedisSerializer<V> valueSerializer) {
+        RedisTemplate<String, V> template = new RedisTemplate<>();
+        template.setConnectionFactory(connectionFactory);
+        template.setKeySerializer(new StringRedisSerializer());
+        template.setValueSerializer(valueSerializer);
+        template.setHashKeySerializer(new StringRedisSerializer());
+        template.setHashValueSerializer(valueSerializer);
         template.afterPropertiesSet();
         return template;
     }
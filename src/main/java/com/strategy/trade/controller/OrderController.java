@@ -2,6 +2,7 @@ package com.strategy.trade.controller;
 
 import com.strategy.trade.model.OrderModel;
 import com.strategy.trade.service.OrderTracker;
+import com.strategy.trade.service.impl.MarketRuleTracker;
 import com.strategy.trade.service.impl.PositionTracker;
 import com.ib.client.Contract;
 import com.ib.client.Types;
@@ -19,6 +20,7 @@ public class OrderController {
 
     PositionTracker positionTracker;
     OrderTracker orderTracker;
+    MarketRuleTracker marketRuleTracker;
 
     @PostMapping
     void placeOrder(@RequestParam String symbol, @RequestParam String action,
@@ -26,7 +28,8 @@ public class OrderController {
                     @RequestParam BigDecimal price) {
         Contract contract = positionTracker.getPositionBySymbol(symbol).getContract();
 
-        orderTracker.placeMarketOrder(contract, Types.Action.BUY, 10, price.add(BigDecimal.ONE));
+        orderTracker.placeMarketOrder(contract, Types.Action.BUY, 10, price.add(BigDecimal.ONE),
+                marketRuleTracker.forSymbol(symbol).at(price.doubleValue()));
     }
 
     @GetMapping
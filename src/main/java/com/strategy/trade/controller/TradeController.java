@@ -1,17 +1,32 @@
 package com.strategy.trade.controller;
 
-import com.ib.client.Order;
 import com.strategy.trade.backtest.Backtest;
 import com.strategy.trade.backtest.BacktestTradingStrategy;
+import com.strategy.trade.backtest.montecarlo.MonteCarloResult;
+import com.strategy.trade.backtest.portfolio.PortfolioBacktest;
+import com.strategy.trade.backtest.series.DoubleSeries;
+import com.strategy.trade.backtest.series.DownsampleMethod;
+import com.strategy.trade.backtest.series.SeriesPoint;
+import com.strategy.trade.backtest.replay.ReplayReport;
+import com.strategy.trade.backtest.sweep.ParameterGrid;
+import com.strategy.trade.backtest.sweep.SweepResult;
+import com.strategy.trade.backtest.walkforward.WalkForwardRequest;
+import com.strategy.trade.backtest.walkforward.WalkForwardResult;
 import com.strategy.trade.configuration.FinnhubClient;
 import com.strategy.trade.handler.StockTradeWebSocketHandler;
 import com.strategy.trade.handler.TradeUpdatedEvent;
+import com.strategy.trade.model.IngestionStats;
 import com.strategy.trade.model.MarketStatus;
 import com.strategy.trade.model.Quote;
 import com.strategy.trade.model.SymbolLookup;
 import com.strategy.trade.model.TradeData;
+import com.strategy.trade.model.enums.TimeFrame;
 import com.strategy.trade.service.TradeDataService;
+import com.strategy.trade.service.bars.BarStoreImporter;
+import com.strategy.trade.service.bars.ImportProgress;
 import com.strategy.trade.service.csv.HistoricalDataService;
+import com.strategy.trade.service.fetch.FetchProgress;
+import com.strategy.trade.service.fetch.FetchScheduler;
 import com.strategy.trade.strategy.enums.StrategyType;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -21,16 +36,14 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
 
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.concurrent.CompletableFuture;
 
-import static com.strategy.trade.service.csv.HistoricalDataService.isNonTradingDay;
+import static com.strategy.trade.service.csv.HistoricalDataService.tradingDays;
 
 @Slf4j
 @CrossOrigin(origins = "*")
@@ -43,6 +56,8 @@ public class TradeController {
     private final StockTradeWebSocketHandler webSocketHandler;
     private final FinnhubClient finnhubClient;
     private final HistoricalDataService historicalDataService;
+    private final BarStoreImporter barStoreImporter;
+    private final FetchScheduler fetchScheduler;
 
     private final BacktestTradingStrategy retestStrategy;
 
@@ -66,6 +81,11 @@ public class TradeController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    @GetMapping("/ingestion-stats")
+    public IngestionStats getIngestionStats() {
+        return tradeDataService.getIngestionStats();
+    }
+
     @GetMapping("/{symbol}/price")
     public ResponseEntity<Double> getLatestPrice(@PathVariable String symbol) {
         return tradeDataService.getLatestPrice(symbol)
@@ -82,13 +102,13 @@ public class TradeController {
     @GetMapping("/{symbol}/history")
     public ResponseEntity<List<TradeData>> getTradeHistory(
             @PathVariable String symbol,
-            @RequestParam(defaultValue = "100") int limit) {
+            @RequestParam(defaultValue = "5") int minutes) {
 
-        if (limit <= 0 || limit > 1000) {
+        if (minutes <= 0) {
             return ResponseEntity.badRequest().build();
         }
 
-        List<TradeData> history = tradeDataService.getTradeHistory(symbol, limit);
+        List<TradeData> history = tradeDataService.getTradeHistory(symbol, minutes);
         return ResponseEntity.ok(history);
     }
 
@@ -149,71 +169,103 @@ public class TradeController {
         return retestStrategy.startBacktest(symbol, strategy, from, to);
     }
 
+    @GetMapping(value = "/backtest/equity",
+            produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<SeriesPoint> backtestEquity(@RequestParam String symbol, @RequestParam StrategyType strategy,
+                                            @RequestParam(required = false) String from,
+                                            @RequestParam(required = false) String to,
+                                            @RequestParam(defaultValue = "1000") int points,
+                                            @RequestParam(defaultValue = "LTTB") DownsampleMethod method) {
+        return Flux.<SeriesPoint>create(sink -> {
+            try {
+                retestStrategy.streamEquityCurve(symbol, strategy, from, to, points, method,
+                        (epochNanos, value) -> sink.next(new SeriesPoint(DoubleSeries.ofEpochNanos(epochNanos), value)));
+                sink.complete();
+            } catch (Exception e) {
+                log.error("[{}] Equity curve stream failed", symbol, e);
+                sink.error(e);
+            }
+        }).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @GetMapping("/backtest/monte-carlo")
+    public MonteCarloResult backtestMonteCarlo(@RequestParam String symbol, @RequestParam StrategyType strategy,
+                                               @RequestParam(required = false) String from,
+                                               @RequestParam(required = false) String to,
+                                               @RequestParam(defaultValue = "10000") int paths,
+                                               @RequestParam(defaultValue = "0.5") double ruinFraction,
+                                               @RequestParam(defaultValue = "42") long seed) {
+        return retestStrategy.startMonteCarlo(symbol, strategy, from, to, paths, ruinFraction, seed);
+    }
+
+    @GetMapping("/backtest/portfolio")
+    public PortfolioBacktest.Result backtestPortfolio(@RequestParam List<String> symbols,
+                                                      @RequestParam StrategyType strategy,
+                                                      @RequestParam(required = false) String from,
+                                                      @RequestParam(required = false) String to) {
+        return retestStrategy.startPortfolioBacktest(symbols, strategy, from, to);
+    }
+
+    @PostMapping("/backtest/sweep")
+    public List<SweepResult> backtestSweep(@RequestBody ParameterGrid grid) {
+        return retestStrategy.startSweep(grid);
+    }
+
+    @PostMapping("/backtest/walk-forward")
+    public WalkForwardResult backtestWalkForward(@RequestBody WalkForwardRequest request) {
+        return retestStrategy.startWalkForward(request);
+    }
+
     @GetMapping("/retest-orb")
-    public void retestDay(@RequestParam String symbol,
-                          @RequestParam(required = false) String requestedDate) {
+    public ReplayReport retestDay(@RequestParam String symbol,
+                                  @RequestParam(required = false) String requestedDate) {
         if (Objects.nonNull(requestedDate)) {
-            retestStrategy.startStrategy(symbol, requestedDate);
-        } else {
-            // Define the year
-            int year = 2025;
-
-            // Create formatter for the desired format
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-
-            // Start from January 1st
-            LocalDate startDate = LocalDate.of(year, 1, 1);
-            LocalDate endDate = LocalDate.of(year, 9, 5);
-
-            // Process each month separately
-            LocalDate currentMonth = startDate.withDayOfMonth(1);
-
-            while (!currentMonth.isAfter(endDate)) {
-                List<String> monthlyDateStrings = new ArrayList<>();
-
-                // Get the last day of current month
-                LocalDate lastDayOfMonth = currentMonth.withDayOfMonth(currentMonth.lengthOfMonth());
-                LocalDate monthEndDate = lastDayOfMonth.isBefore(endDate) ? lastDayOfMonth : endDate;
-
-                // Collect all trading days in this month
-                LocalDate date = currentMonth;
-                while (!date.isAfter(monthEndDate)) {
-                    if (!Boolean.TRUE.equals(isNonTradingDay(date))) {
-                        monthlyDateStrings.add(date.format(formatter));
-                    }
-                    date = date.plusDays(1);
-                }
-
-                // Process this month's dates
-                if (!monthlyDateStrings.isEmpty()) {
-                    log.info("Processing {} trading days for {}",
-                            monthlyDateStrings.size(),
-                            currentMonth.format(DateTimeFormatter.ofPattern("MMMM yyyy")));
-
-                    List<CompletableFuture<List<Order>>> monthlyFutures = monthlyDateStrings.stream()
-                            .map(day -> retestStrategy.startStrategy(symbol, day))
-                            .toList();
-
-                    // Wait for this month to complete before moving to next month
-                    LocalDate finalCurrentMonth = currentMonth;
-                    CompletableFuture.allOf(monthlyFutures.toArray(new CompletableFuture[0]))
-                            .thenRun(() -> log.debug("Completed monitoring for {}",
-                                    finalCurrentMonth.format(DateTimeFormatter.ofPattern("MMMM yyyy"))))
-                            .join(); // Wait for completion before proceeding to next month
-                }
-
-                // Move to next month
-                currentMonth = currentMonth.plusMonths(1);
-            }
+            return retestStrategy.replayOrb(symbol, List.of(requestedDate));
         }
+
+        List<String> tradingDays = tradingDays(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 9, 5));
+        log.info("Replaying {} trading days for {}", tradingDays.size(), symbol);
+        return retestStrategy.replayOrb(symbol, tradingDays);
+    }
+
+    @PostMapping("/bars/import")
+    public ImportProgress importBars(@RequestParam List<String> symbols, @RequestParam TimeFrame timeFrame) {
+        return barStoreImporter.importSymbols(symbols, timeFrame,
+                progress -> log.info("[{}] Imported {}/{} symbols, {} bars, {} bars/s", progress.symbol(),
+                        progress.symbolsDone(), progress.symbolsTotal(), progress.barsImported(),
+                        (long) progress.barsPerSecond()));
+    }
+
+    /**
+     * Queues a year of intraday collection for all symbols; without a timeframe both ORB timeframes are collected
+     * from one-minute data. Poll {@code /csv/jobs/{jobId}} for progress.
+     */
+    @PostMapping("/csv/jobs")
+    public FetchProgress collectHistory(@RequestParam List<String> symbols,
+                                        @RequestParam(required = false) TimeFrame timeFrame,
+                                        @RequestParam(defaultValue = "2025") int year) {
+        return timeFrame == null
+                ? fetchScheduler.submitOrb(symbols, year)
+                : fetchScheduler.submit(symbols, timeFrame, year);
+    }
+
+    @GetMapping("/csv/jobs")
+    public List<FetchProgress> collectionJobs() {
+        return fetchScheduler.jobs();
+    }
+
+    @GetMapping("/csv/jobs/{jobId}")
+    public ResponseEntity<FetchProgress> collectionProgress(@PathVariable String jobId) {
+        return fetchScheduler.progress(jobId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/csv")
     public void generateCsv(@RequestParam String symbol) {
 
         //generates csv for ORB
-//        historicalDataService.collectYearlyDataEfficiently(symbol, TimeFrame.FIVE_MIN, 2025);
-//        historicalDataService.collectYearlyDataEfficiently(symbol, TimeFrame.ONE_MIN, 2025);
+//        fetchScheduler.submitOrb(List.of(symbol), 2025);
 
         //generates CSV for BUY_AND_HOLD
         historicalDataService.collectCloseDataPerDay(symbol);
@@ -1,5 +1,6 @@
 package com.strategy.trade.entity;
 
+import com.strategy.trade.model.CandleBar;
 import com.strategy.trade.model.enums.TimeFrame;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import jakarta.persistence.*;
@@ -63,4 +64,24 @@ public class HistoricalData {
     @CreationTimestamp
     @Column(nullable = false)
     private LocalDateTime createdAt;
+
+    /**
+     * Row for an IB bar already converted at the ingestion boundary; {@code timestamp} is the bar start in UTC,
+     * which the bar's exchange-local epoch second does not carry.
+     */
+    public static HistoricalData of(Position position, TimeFrame timeframe, LocalDateTime timestamp, CandleBar bar,
+                                    int count, BigDecimal wap) {
+        return HistoricalData.builder()
+                .position(position)
+                .timestamp(timestamp)
+                .timeframe(timeframe)
+                .open(BigDecimal.valueOf(bar.open()))
+                .high(BigDecimal.valueOf(bar.high()))
+                .low(BigDecimal.valueOf(bar.low()))
+                .close(BigDecimal.valueOf(bar.close()))
+                .volume(bar.volume())
+                .count(count)
+                .wap(wap)
+                .build();
+    }
 }
@@ -7,6 +7,7 @@ import com.strategy.trade.service.TradeDataService;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.socket.CloseStatus;
 import org.springframework.web.socket.TextMessage;
@@ -21,12 +22,16 @@ public class StockTradeWebSocketHandler extends TextWebSocketHandler {
     private final TradeDataService tradeDataService;
     private WebSocketSession session;
     private final FinnhubClient finnhubClient;
+    // false falls back to one trade at a time, e.g. to compare ingestion throughput
+    private final boolean batchedIngestion;
 
     public StockTradeWebSocketHandler(ObjectMapper objectMapper, TradeDataService tradeDataService,
-                                      FinnhubClient finnhubClient) {
+                                      FinnhubClient finnhubClient,
+                                      @Value("${financial.websocket.batched-ingestion:true}") boolean batchedIngestion) {
         this.objectMapper = objectMapper;
         this.tradeDataService = tradeDataService;
         this.finnhubClient = finnhubClient;
+        this.batchedIngestion = batchedIngestion;
     }
 
     @Override
@@ -49,10 +54,16 @@ public class StockTradeWebSocketHandler extends TextWebSocketHandler {
             WebSocketResponse response = objectMapper.readValue(payload, WebSocketResponse.class);
 
             if ("trade".equals(response.getType()) && response.getData() != null) {
-                // Process each trade in the data array
-                for (TradeData trade : response.getData()) {
-                    log.info("Processing trade: {}", trade);
-                    tradeDataService.processRealTimeTrade(trade);
+                if (batchedIngestion) {
+                    // the whole frame goes to Redis in one round trip
+                    log.debug("Processing {} trades", response.getData().size());
+                    tradeDataService.processRealTimeTrades(response.getData());
+                } else {
+                    tradeDataService.countFrame();
+                    for (TradeData trade : response.getData()) {
+                        log.info("Processing trade: {}", trade);
+                        tradeDataService.processRealTimeTrade(trade);
+                    }
                 }
             } else {
                 log.info("Received non-trade message type: {}", response.getType());
@@ -0,0 +1,99 @@
+package com.strategy.trade.model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * One OHLCV bar in primitive form. Bars are converted once where they enter the service - Twelve Data, the CSV
+ * exports, the bar store and IB - so strategies never parse prices or timestamps.
+ * <p>
+ * {@code epochSecond} is the bar start in exchange-local time stored as UTC, the same convention as the bar
+ * store; {@code open} is NaN when the source had none.
+ */
+public record CandleBar(long epochSecond, double open, double high, double low, double close, long volume) {
+
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final int SECONDS_PER_DAY = 86_400;
+
+    public static CandleBar of(LocalDateTime start, double open, double high, double low, double close, long volume) {
+        return new CandleBar(start.toEpochSecond(ZoneOffset.UTC), open, high, low, close, volume);
+    }
+
+    /**
+     * Twelve Data quote or CSV bean; a missing open or volume becomes NaN and zero.
+     */
+    public static CandleBar from(TwelveCandleBar bar) {
+        return new CandleBar(epochSecond(bar.getDatetime()), price(bar.getMyopen()),
+                Double.parseDouble(bar.getHigh()), Double.parseDouble(bar.getLow()),
+                Double.parseDouble(bar.getClose()), volume(bar.getVolume()));
+    }
+
+    /**
+     * One value of a Twelve Data {@code time_series} response.
+     */
+    public static CandleBar from(StockResponse.Value value) {
+        return new CandleBar(epochSecond(value.getDatetime()), price(value.getOpen()),
+                Double.parseDouble(value.getHigh()), Double.parseDouble(value.getLow()),
+                Double.parseDouble(value.getClose()), volume(value.getVolume()));
+    }
+
+    public LocalDateTime dateTime() {
+        return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+    }
+
+    public long epochDay() {
+        return Math.floorDiv(epochSecond, SECONDS_PER_DAY);
+    }
+
+    /**
+     * Open, or the close when the source had no open.
+     */
+    public double openOrClose() {
+        return Double.isNaN(open) ? close : open;
+    }
+
+    /**
+     * {@code yyyy-MM-dd HH:mm:ss} read field by field, and {@code yyyy-MM-dd} for daily bars; the formatter is
+     * only used for anything else.
+     */
+    public static long epochSecond(String datetime) {
+        if (datetime.length() == 10) {
+            return date(datetime).toEpochDay() * SECONDS_PER_DAY;
+        }
+        if (datetime.length() != 19 || datetime.charAt(10) != ' ') {
+            return LocalDateTime.parse(datetime, DATE_TIME_FORMATTER).toEpochSecond(ZoneOffset.UTC);
+        }
+        return date(datetime).toEpochDay() * SECONDS_PER_DAY
+                + digits(datetime, 11, 2) * 3_600L + digits(datetime, 14, 2) * 60L + digits(datetime, 17, 2);
+    }
+
+    public static String format(long epochSecond) {
+        return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC).format(DATE_TIME_FORMATTER);
+    }
+
+    private static LocalDate date(String datetime) {
+        return LocalDate.of(digits(datetime, 0, 4), digits(datetime, 5, 2), digits(datetime, 8, 2));
+    }
+
+    private static int digits(String text, int from, int count) {
+        int value = 0;
+        for (int i = from; i < from + count; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                throw new IllegalArgumentException("Malformed bar datetime " + text);
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static double price(String value) {
+        return value == null || value.isEmpty() ? Double.NaN : Double.parseDouble(value);
+    }
+
+    private static long volume(String value) {
+        return value == null || value.isEmpty() ? 0 : (long) Double.parseDouble(value);
+    }
+}
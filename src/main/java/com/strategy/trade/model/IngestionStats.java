@@ -0,0 +1,16 @@
+package com.strategy.trade.model;
+
+/**
+ * Running totals of real-time trade ingestion. {@code busyNanos} only counts time spent storing trades, so
+ * {@link #tradesPerSecond()} is the throughput the ingestion path could sustain, not the feed rate.
+ */
+public record IngestionStats(long frames, long trades, long redisRoundTrips, long busyNanos) {
+
+    public double tradesPerSecond() {
+        return busyNanos == 0 ? 0 : trades * 1e9 / busyNanos;
+    }
+
+    public double roundTripsPerTrade() {
+        return trades == 0 ? 0 : (double) redisRoundTrips / trades;
+    }
+}
@@ -10,6 +10,8 @@ public class StockResponse {
     private Meta meta;
     private List<Value> values;
     private String status;
+    private Integer code;
+    private String message;
 
     @Data
     public static class Meta {
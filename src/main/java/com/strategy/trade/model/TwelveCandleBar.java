@@ -16,6 +16,8 @@ import static java.time.ZoneId.systemDefault;
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class TwelveCandleBar {
 
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
     @CsvBindByName(column = "Stock Symbol")
     @JsonProperty("symbol")
     String symbol;
@@ -77,7 +79,7 @@ public class TwelveCandleBar {
 
     public long getEpochMillis() {
         return LocalDateTime.parse(
-                datetime, DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")
+                datetime, DATE_TIME_FORMATTER
         ).atZone(systemDefault()).toInstant().toEpochMilli();
     }
 }
@@ -3,22 +3,27 @@ package com.strategy.trade.model.enums;
 import lombok.Getter;
 
 public enum TimeFrame {
-    ONE_MIN("1 min", "1min"),
-    THREE_MIN("3 mins", ""),
-    FIVE_MIN("5 mins", "5min"),
-    FIFTEEN_MIN("15 mins", "15min"),
-    THIRTY_MIN("30 mins", "30min"),
-    ONE_HOUR("1 hour", "1h"),
-    ONE_DAY("1 day", "1day");
+    ONE_MIN("1 min", "1min", 1),
+    THREE_MIN("3 mins", "", 3),
+    FIVE_MIN("5 mins", "5min", 5),
+    FIFTEEN_MIN("15 mins", "15min", 15),
+    THIRTY_MIN("30 mins", "30min", 30),
+    ONE_HOUR("1 hour", "1h", 60),
+    ONE_DAY("1 day", "1day", 1440);
 
     @Getter
     private final String ibFormat;
     @Getter
     private final String twelveFormat;
 
-    TimeFrame(String ibFormat, String twelveFormat) {
+    // a daily bar spans the whole session, whatever its length
+    @Getter
+    private final int minutes;
+
+    TimeFrame(String ibFormat, String twelveFormat, int minutes) {
         this.ibFormat = ibFormat;
         this.twelveFormat = twelveFormat;
+        this.minutes = minutes;
     }
 
     public static TimeFrame fromIbFormat(String ibFormat) {
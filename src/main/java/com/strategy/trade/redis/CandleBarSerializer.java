@@ -0,0 +1,53 @@
+package com.strategy.trade.redis;
+
+import com.strategy.trade.model.CandleBar;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * A bar as one version byte followed by the bar store's record layout (see
+ * {@link com.strategy.trade.service.bars.MappedBars}), {@link #RECORD_BYTES} in total. The symbol and timeframe
+ * are part of the key, so they are not repeated per bar.
+ */
+public class CandleBarSerializer implements RedisSerializer<CandleBar> {
+
+    public static final byte VERSION = 1;
+    public static final int RECORD_BYTES = 49;
+
+    @Override
+    public byte[] serialize(CandleBar bar) throws SerializationException {
+        if (bar == null) {
+            return new byte[0];
+        }
+        return ByteBuffer.allocate(RECORD_BYTES).order(ByteOrder.LITTLE_ENDIAN)
+                .put(VERSION)
+                .putLong(bar.epochSecond())
+                .putDouble(bar.open())
+                .putDouble(bar.high())
+                .putDouble(bar.low())
+                .putDouble(bar.close())
+                .putLong(bar.volume())
+                .array();
+    }
+
+    @Override
+    public CandleBar deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes.length != RECORD_BYTES || bytes[0] != VERSION) {
+            throw new SerializationException("Not a version " + VERSION + " bar record: " + bytes.length + " bytes");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, 1, RECORD_BYTES - 1).order(ByteOrder.LITTLE_ENDIAN);
+        return new CandleBar(buffer.getLong(), buffer.getDouble(), buffer.getDouble(), buffer.getDouble(),
+                buffer.getDouble(), buffer.getLong());
+    }
+
+    @Override
+    public Class<?> getTargetType() {
+        return CandleBar.class;
+    }
+}
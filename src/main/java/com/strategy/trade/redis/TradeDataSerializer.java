@@ -0,0 +1,98 @@
+package com.strategy.trade.redis;
+
+import com.strategy.trade.model.TradeData;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Fixed-layout little-endian encoding of a trade, {@link #FIXED_BYTES} plus the symbol:
+ * <pre>
+ *   byte   version      ({@link #VERSION})
+ *   byte   nulls        (bit 0 price, bit 1 timestamp, bit 2 volume, bit 3 symbol)
+ *   long   timestamp    (epoch millis)
+ *   double price
+ *   double volume
+ *   byte   length       (symbol bytes that follow, US-ASCII)
+ * </pre>
+ * Trade conditions are not stored; nothing reads them once a trade has been ingested. The encoding is
+ * deterministic, so the same trade always maps to the same sorted-set member.
+ */
+public class TradeDataSerializer implements RedisSerializer<TradeData> {
+
+    public static final byte VERSION = 1;
+    public static final int FIXED_BYTES = 27;
+    private static final int MAX_SYMBOL_BYTES = 255;
+
+    private static final int NULL_PRICE = 1;
+    private static final int NULL_TIMESTAMP = 1 << 1;
+    private static final int NULL_VOLUME = 1 << 2;
+    private static final int NULL_SYMBOL = 1 << 3;
+
+    @Override
+    public byte[] serialize(TradeData trade) throws SerializationException {
+        if (trade == null) {
+            return new byte[0];
+        }
+        byte[] symbol = trade.getSymbol() == null
+                ? new byte[0]
+                : trade.getSymbol().getBytes(StandardCharsets.US_ASCII);
+        if (symbol.length > MAX_SYMBOL_BYTES) {
+            throw new SerializationException("Symbol longer than " + MAX_SYMBOL_BYTES + " bytes: "
+                    + trade.getSymbol());
+        }
+        int nulls = (trade.getPrice() == null ? NULL_PRICE : 0)
+                | (trade.getTimestamp() == null ? NULL_TIMESTAMP : 0)
+                | (trade.getVolume() == null ? NULL_VOLUME : 0)
+                | (trade.getSymbol() == null ? NULL_SYMBOL : 0);
+
+        return ByteBuffer.allocate(FIXED_BYTES + symbol.length).order(ByteOrder.LITTLE_ENDIAN)
+                .put(VERSION)
+                .put((byte) nulls)
+                .putLong(trade.getTimestamp() == null ? 0 : trade.getTimestamp())
+                .putDouble(trade.getPrice() == null ? 0 : trade.getPrice())
+                .putDouble(trade.getVolume() == null ? 0 : trade.getVolume())
+                .put((byte) symbol.length)
+                .put(symbol)
+                .array();
+    }
+
+    @Override
+    public TradeData deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] != VERSION) {
+            throw new SerializationException("Unknown trade encoding version " + bytes[0]);
+        }
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes, 1, bytes.length - 1).order(ByteOrder.LITTLE_ENDIAN);
+            int nulls = buffer.get();
+            long timestamp = buffer.getLong();
+            double price = buffer.getDouble();
+            double volume = buffer.getDouble();
+            int length = Byte.toUnsignedInt(buffer.get());
+            String symbol = new String(bytes, buffer.position(), length, StandardCharsets.US_ASCII);
+            if (buffer.position() + length != bytes.length) {
+                throw new SerializationException("Trade record of " + bytes.length + " bytes, expected "
+                        + (buffer.position() + length));
+            }
+
+            return new TradeData((nulls & NULL_SYMBOL) != 0 ? null : symbol,
+                    (nulls & NULL_PRICE) != 0 ? null : price,
+                    (nulls & NULL_TIMESTAMP) != 0 ? null : timestamp,
+                    (nulls & NULL_VOLUME) != 0 ? null : volume);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new SerializationException("Truncated trade record of " + bytes.length + " bytes", e);
+        }
+    }
+
+    @Override
+    public Class<?> getTargetType() {
+        return TradeData.class;
+    }
+}
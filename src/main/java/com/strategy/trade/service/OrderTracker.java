@@ -1,6 +1,7 @@
 package com.strategy.trade.service;
 
 import com.strategy.trade.model.OrderModel;
+import com.strategy.trade.strategy.model.TickSize;
 import com.ib.client.Contract;
 import com.ib.client.Order;
 import com.ib.client.OrderState;
@@ -15,8 +16,13 @@ public interface OrderTracker {
 
     Order placeBuyAndHoldMarketOrder(double quantity);
 
-    List<Order> placeMarketOrder(Contract contract, Types.Action action, double quantity, BigDecimal stopPrice);
-    List<Order> placeMarketOrder(Types.Action action, double quantity, BigDecimal stopPrice);
+    /**
+     * Places a market entry with stop-loss and take-profit children; both child prices are rounded to
+     * {@code tickSize}.
+     */
+    List<Order> placeMarketOrder(Contract contract, Types.Action action, double quantity, BigDecimal stopPrice,
+                                 TickSize tickSize);
+    List<Order> placeMarketOrder(Types.Action action, double quantity, BigDecimal stopPrice, TickSize tickSize);
 
     void setOrder(Contract contract, Order order, OrderState orderState);
 
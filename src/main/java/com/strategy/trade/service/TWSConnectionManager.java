@@ -3,15 +3,19 @@ package com.strategy.trade.service;
 import com.strategy.trade.entity.DataRequest;
 import com.strategy.trade.entity.HistoricalData;
 import com.strategy.trade.entity.Position;
+import com.strategy.trade.model.CandleBar;
 import com.strategy.trade.model.ContractHolder;
 import com.strategy.trade.model.PositionHolder;
 import com.strategy.trade.model.enums.TimeFrame;
 import com.strategy.trade.redis.ContractRepository;
 import com.strategy.trade.repository.DataRequestRepository;
 import com.strategy.trade.service.csv.CsvServiceImpl;
+import com.strategy.trade.service.impl.MarketRuleTracker;
 import com.strategy.trade.service.impl.OrderTrackerImpl;
 import com.strategy.trade.service.impl.PositionTracker;
 import com.strategy.trade.service.impl.TimeSeriesHandler;
+import com.strategy.trade.strategy.model.MarketRule;
+import com.strategy.trade.strategy.model.TickSize;
 import com.ib.client.*;
 import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
@@ -21,13 +25,16 @@ import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import redis.clients.jedis.exceptions.JedisDataException;
 
-import java.math.BigDecimal;
 import java.text.DecimalFormat;
+import java.time.Instant;
+import java.time.LocalDateTime;
 import java.util.*;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import static com.strategy.trade.service.TimeUtils.parseIbLocalTime;
 import static com.strategy.trade.service.TimeUtils.parseIbTime;
+import static com.strategy.trade.service.TimeUtils.parseTimeZone;
 
 
 @Slf4j
@@ -48,6 +55,8 @@ public class TWSConnectionManager implements EWrapper {
 
     @Autowired
     private CsvServiceImpl excelService;
+    @Autowired
+    private MarketRuleTracker marketRuleTracker;
 
     // Connection parameters
     private static final String HOST = "127.0.0.1";
@@ -353,6 +362,10 @@ public class TWSConnectionManager implements EWrapper {
 
     @Override
     public void contractDetails(int reqId, ContractDetails contractDetails) {
+        int missingRule = marketRuleTracker.assign(contractDetails.contract().symbol(), contractDetails.marketRuleIds());
+        if (missingRule >= 0) {
+            client.reqMarketRule(missingRule);
+        }
         twsResultHandler.setResult(reqId, new TwsResultHolder<>(contractDetails));
     }
 
@@ -395,18 +408,9 @@ public class TWSConnectionManager implements EWrapper {
         // Convert IB bar to entity
         Position position = request.getPosition();
 
-        HistoricalData data = HistoricalData.builder()
-                .position(position)
-                .timestamp(parseIbTime(bar.time()))
-                .timeframe(TimeFrame.FIVE_MIN)
-                .open(BigDecimal.valueOf(bar.open()))
-                .high(BigDecimal.valueOf(bar.high()))
-                .low(BigDecimal.valueOf(bar.low()))
-                .close(BigDecimal.valueOf(bar.close()))
-                .volume(bar.volume().longValue())
-                .count(bar.count())
-                .wap(bar.wap().value())
-                .build();
+        CandleBar candle = toCandleBar(bar);
+        HistoricalData data = HistoricalData.of(position, TimeFrame.FIVE_MIN, parseIbTime(bar.time()), candle,
+                bar.count(), bar.wap().value());
 
         log.debug("Historical data saved: reqId={}, timestamp={}, close={}",
                 reqId, data.getTimestamp(), data.getClose());
@@ -441,8 +445,10 @@ public class TWSConnectionManager implements EWrapper {
     @Override
     public void realtimeBar(int reqId, long time, double open, double high, double low, double close,
                             Decimal volume, Decimal wap, int count) {
-        log.info("RealTimeBars. " + reqId + " - Time: " + time + ", Open: " + open + ", High: " + high + ", Low: " + low
-                + ", Close: " + close + ", Volume: " + volume + ", Count: " + count + ", WAP: " + wap);
+        // IB sends the bar start in epoch seconds; bars are kept in exchange-local time
+        CandleBar bar = CandleBar.of(LocalDateTime.ofInstant(Instant.ofEpochSecond(time), parseTimeZone("US/Eastern")),
+                open, high, low, close, volume.longValue());
+        log.info("RealTimeBars. " + reqId + " - " + bar + ", Count: " + count + ", WAP: " + wap);
     }
 
     @Override
@@ -620,9 +626,8 @@ public class TWSConnectionManager implements EWrapper {
 
     @Override
     public void historicalDataUpdate(int reqId, Bar bar) {
-        log.info("HistoricalDataUpdate. " + reqId + " - Date: " + bar.time() + ", Open: " + bar.open() + ", High: "
-                + bar.high() + ", Low: " + bar.low() + ", Close: " + bar.close() + ", Volume: " + bar.volume()
-                + ", Count: " + bar.count() + ", WAP: " + bar.wap());
+        CandleBar candle = toCandleBar(bar);
+        log.info("HistoricalDataUpdate. " + reqId + " - " + candle + ", Count: " + bar.count() + ", WAP: " + bar.wap());
     }
 
     @Override
@@ -640,9 +645,17 @@ public class TWSConnectionManager implements EWrapper {
         DecimalFormat df = new DecimalFormat("#.#");
         df.setMaximumFractionDigits(340);
         log.info("Market Rule Id: " + marketRuleId);
-        for (PriceIncrement pi : priceIncrements) {
+        double[] lowEdges = new double[priceIncrements.length];
+        TickSize[] increments = new TickSize[priceIncrements.length];
+        for (int i = 0; i < priceIncrements.length; i++) {
+            PriceIncrement pi = priceIncrements[i];
             log.info("Price Increment. Low Edge: " + df.format(pi.lowEdge()) + ", Increment: "
                     + df.format(pi.increment()));
+            lowEdges[i] = pi.lowEdge();
+            increments[i] = TickSize.of(pi.increment());
+        }
+        if (priceIncrements.length > 0) {
+            marketRuleTracker.putRule(marketRuleId, new MarketRule(lowEdges, increments));
         }
     }
 
@@ -798,6 +811,8 @@ public class TWSConnectionManager implements EWrapper {
         return currentId;
     }
 
+    private static CandleBar toCandleBar(Bar bar) {
+        return CandleBar.of(parseIbLocalTime(bar.time()), bar.open(), bar.high(), bar.low(), bar.close(),
+                bar.volume().longValue());
+    }
 }
-
-
@@ -2,6 +2,7 @@ package com.strategy.trade.service;
 
 import lombok.extern.slf4j.Slf4j;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.ZoneOffset;
@@ -40,6 +41,18 @@ public class TimeUtils {
         }
     }
 
+    /**
+     * Bar start as exchange wall-clock time, without the zone conversion of {@link #parseIbTime}; daily bars
+     * come as {@code yyyyMMdd} and start at midnight.
+     */
+    public static LocalDateTime parseIbLocalTime(String ibTime) {
+        String[] parts = ibTime.trim().split(" ");
+        if (parts.length == 1) {
+            return LocalDate.parse(parts[0], DateTimeFormatter.BASIC_ISO_DATE).atStartOfDay();
+        }
+        return LocalDateTime.parse(parts[0] + " " + parts[1], DateTimeFormatter.ofPattern("yyyyMMdd HH:mm:ss"));
+    }
+
     public static ZoneId parseTimeZone(String timezone) {
         // Map IB timezone strings to Java ZoneId
         switch (timezone) {
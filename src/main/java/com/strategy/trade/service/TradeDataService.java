@@ -1,51 +1,83 @@
 package com.strategy.trade.service;
 
 import com.strategy.trade.handler.TradeUpdatedEvent;
+import com.strategy.trade.model.IngestionStats;
 import com.strategy.trade.model.TradeData;
+import com.strategy.trade.service.history.TradeRingBuffer;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 @Service
 @Slf4j
 public class TradeDataService {
 
-    private static final String LATEST_TRADE_KEY_PREFIX = "trade:latest:";
+    // one hash of symbol -> latest trade and the set of symbols ever traded, instead of a key per symbol
+    private static final String LATEST_TRADES_KEY = "trade:latest";
+    private static final byte[] SYMBOLS_KEY_BYTES = "trade:symbols".getBytes(StandardCharsets.UTF_8);
     private static final String TRADE_HISTORY_KEY_PREFIX = "trade:history:";
     private static final Duration TRADE_TTL = Duration.ofHours(24);
+    private static final int INITIAL_HISTORY_CAPACITY = 1024;
 
     private final RedisTemplate<String, TradeData> redisTemplate;
 
+    // Authoritative latest trade per symbol: reads never leave the process, and Redis is written behind from
+    // dirtySymbols so it only serves as durable copy for the next start-up
     private final Map<String, TradeData> latestTrades = new ConcurrentHashMap<>();
+    private final Set<String> dirtySymbols = ConcurrentHashMap.newKeySet();
     private final ApplicationEventPublisher eventPublisher;
 
-    public TradeDataService(RedisTemplate<String, TradeData> redisTemplate, ApplicationEventPublisher eventPublisher) {
+    // Trade history answered in-process; the sorted sets in Redis are only read back at start-up
+    private final Map<String, TradeRingBuffer> histories = new ConcurrentHashMap<>();
+    private final Duration historyWindow;
+    private final int maxHistoryTrades;
+
+    private final LongAdder ingestedFrames = new LongAdder();
+    private final LongAdder ingestedTrades = new LongAdder();
+    private final LongAdder redisRoundTrips = new LongAdder();
+    private final LongAdder ingestNanos = new LongAdder();
+
+    public TradeDataService(RedisTemplate<String, TradeData> redisTemplate, ApplicationEventPublisher eventPublisher,
+                            @Value("${trades.history.window-minutes:60}") int historyWindowMinutes,
+                            @Value("${trades.history.max-trades-per-symbol:200000}") int maxHistoryTrades) {
         this.redisTemplate = redisTemplate;
         this.eventPublisher = eventPublisher;
+        this.historyWindow = Duration.ofMinutes(historyWindowMinutes);
+        this.maxHistoryTrades = maxHistoryTrades;
     }
 
+    /**
+     * Stores one trade. It does not count a frame: callers feeding a frame trade by trade report the frame
+     * itself through {@link #countFrame()}.
+     */
     public void processRealTimeTrade(TradeData trade) {
+        long started = System.nanoTime();
         String symbol = trade.getSymbol();
-        String latestKey = LATEST_TRADE_KEY_PREFIX + symbol;
 
-        // Get previous trade for event
-        TradeData previousTrade = redisTemplate.opsForValue().get(latestKey);
+        // Previous trade for the event; the latest trade reaches Redis with the next flush
+        TradeData previousTrade = updateLatest(trade);
+        historyBuffer(symbol).add(trade);
 
-        // Store latest trade with TTL
-        redisTemplate.opsForValue().set(latestKey, trade, TRADE_TTL);
-
-        // Store in time series (sorted set with timestamp as score)
+        // Durable copy (sorted set with timestamp as score), trimmed and expired with the next flush
         String historyKey = TRADE_HISTORY_KEY_PREFIX + symbol;
         redisTemplate.opsForZSet().add(historyKey, trade, trade.getTimestamp().doubleValue());
-
-        // Keep only last 1000 trades per symbol
-        redisTemplate.opsForZSet().removeRange(historyKey, 0, -1001);
-        redisTemplate.expire(historyKey, TRADE_TTL);
+        record(0, 1, 1, started);
 
         log.debug("Stored trade for {}: ${} (volume: {})", symbol, trade.getPrice(), trade.getVolume());
 
@@ -54,61 +86,334 @@ public class TradeDataService {
 
     }
 
-    public Optional<TradeData> getLatestTrade(String symbol) {
-        String key = LATEST_TRADE_KEY_PREFIX + symbol;
-        TradeData trade = redisTemplate.opsForValue().get(key);
-        return Optional.ofNullable(trade);
+    /**
+     * Stores a whole WebSocket frame in one pipelined round trip of one ZADD per symbol. Latest trades and the
+     * history buffers only update local state; trimming and TTLs are left to the flush. Events are published per
+     * trade in frame order, each carrying the trade before it.
+     */
+    public void processRealTimeTrades(List<TradeData> trades) {
+        if (trades.isEmpty()) {
+            return;
+        }
+        long started = System.nanoTime();
+
+        Map<String, Set<ZSetOperations.TypedTuple<TradeData>>> history = new LinkedHashMap<>();
+        List<TradeUpdatedEvent> events = new ArrayList<>(trades.size());
+        for (TradeData trade : trades) {
+            String symbol = trade.getSymbol();
+            TradeData previousTrade = updateLatest(trade);
+            historyBuffer(symbol).add(trade);
+            history.computeIfAbsent(symbol, key -> new LinkedHashSet<>())
+                    .add(ZSetOperations.TypedTuple.of(trade, trade.getTimestamp().doubleValue()));
+            events.add(new TradeUpdatedEvent(this, trade, previousTrade));
+        }
+
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, TradeData> redis = (RedisOperations<String, TradeData>) operations;
+                history.forEach((symbol, tuples) -> redis.opsForZSet().add(TRADE_HISTORY_KEY_PREFIX + symbol, tuples));
+                return null;
+            }
+        });
+        record(1, trades.size(), 1, started);
+
+        log.debug("Stored {} trades for {} symbols in one round trip", trades.size(), history.size());
+
+        events.forEach(eventPublisher::publishEvent);
     }
 
-    public Map<String, TradeData> getAllLatestTrades() {
-        String pattern = LATEST_TRADE_KEY_PREFIX + "*";
-        Set<String> keys = redisTemplate.keys(pattern);
+    /**
+     * Counts one WebSocket frame whose trades went through {@link #processRealTimeTrade} one at a time;
+     * {@link #processRealTimeTrades} counts its own frame.
+     */
+    public void countFrame() {
+        ingestedFrames.increment();
+    }
+
+    public IngestionStats getIngestionStats() {
+        return new IngestionStats(ingestedFrames.sum(), ingestedTrades.sum(), redisRoundTrips.sum(),
+                ingestNanos.sum());
+    }
 
-        if (keys == null || keys.isEmpty()) {
-            return new HashMap<>();
+    /**
+     * Writes the latest trade of every symbol updated since the last flush in one pipelined round trip, and in the
+     * same round trip trims their history sorted sets to the window and trade cap kept in memory and refreshes
+     * their TTL. A
+     * failed flush leaves the symbols dirty for the next one.
+     *
+     * @return number of symbols written
+     */
+    @Scheduled(fixedDelayString = "${redis.latest-flush-interval-ms:200}")
+    public int flushLatestTrades() {
+        if (dirtySymbols.isEmpty()) {
+            return 0;
         }
+        List<String> symbols = new ArrayList<>(dirtySymbols);
+        // removed before reading the map, so an update racing with the flush marks its symbol dirty again
+        dirtySymbols.removeAll(symbols);
+        try {
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) {
+                    RedisOperations<String, TradeData> redis = (RedisOperations<String, TradeData>) operations;
+                    Map<String, TradeData> trades = new HashMap<>();
+                    for (String symbol : symbols) {
+                        TradeData trade = latestTrades.get(symbol);
+                        if (trade != null) {
+                            trades.put(symbol, trade);
+                        }
+                        TradeRingBuffer buffer = histories.get(symbol);
+                        if (buffer != null && buffer.size() > 0) {
+                            String historyKey = TRADE_HISTORY_KEY_PREFIX + symbol;
+                            redis.opsForZSet().removeRangeByScore(historyKey, Double.NEGATIVE_INFINITY,
+                                    buffer.windowStart() - 1);
+                            // a burst can exceed the per-symbol cap inside the window; keep the newest
+                            redis.opsForZSet().removeRange(historyKey, 0, -(maxHistoryTrades + 1L));
+                            redis.expire(historyKey, TRADE_TTL);
+                        }
+                    }
+                    if (!trades.isEmpty()) {
+                        redis.<String, TradeData>opsForHash().putAll(LATEST_TRADES_KEY, trades);
+                        redis.expire(LATEST_TRADES_KEY, TRADE_TTL);
+                        redis.execute((RedisCallback<Long>) connection -> connection.setCommands()
+                                .sAdd(SYMBOLS_KEY_BYTES, utf8(trades.keySet())));
+                    }
+                    return null;
+                }
+            });
+            redisRoundTrips.increment();
+            return symbols.size();
+        } catch (Exception e) {
+            dirtySymbols.addAll(symbols);
+            log.warn("Failed to flush latest trades for {} symbols, retrying with the next flush", symbols.size(), e);
+            return 0;
+        }
+    }
+
+    /**
+     * Drops symbols whose latest trade is older than the TTL from memory, from the latest-trade hash and from the
+     * symbol set, in one pipelined round trip. The TTL on the hash alone never fires while any symbol still trades.
+     *
+     * @return number of symbols evicted
+     */
+    @Scheduled(fixedDelayString = "${redis.latest-evict-interval-ms:60000}")
+    public int evictExpiredTrades() {
+        long cutoff = System.currentTimeMillis() - TRADE_TTL.toMillis();
+        List<String> expired = new ArrayList<>();
+        latestTrades.forEach((symbol, trade) -> {
+            // a trade arriving meanwhile replaces the entry, and the conditional remove then keeps the symbol
+            if (isExpired(trade, cutoff) && latestTrades.remove(symbol, trade)) {
+                histories.remove(symbol);
+                dirtySymbols.remove(symbol);
+                expired.add(symbol);
+            }
+        });
+        if (expired.isEmpty()) {
+            return 0;
+        }
+        try {
+            deleteLatest(expired);
+        } catch (Exception e) {
+            log.warn("Failed to evict {} expired symbols from Redis, dropping them on the next start-up",
+                    expired.size(), e);
+        }
+        log.info("Evicted {} symbols without trades for {}", expired.size(), TRADE_TTL);
+        return expired.size();
+    }
 
-        List<TradeData> trades = redisTemplate.opsForValue().multiGet(keys);
-        Map<String, TradeData> result = new HashMap<>();
+    @PreDestroy
+    public void flushOnShutdown() {
+        flushLatestTrades();
+    }
 
-        int index = 0;
-        for (String key : keys) {
-            if (trades != null && index < trades.size() && trades.get(index) != null) {
-                String symbol = key.substring(LATEST_TRADE_KEY_PREFIX.length());
-                result.put(symbol, trades.get(index));
+    /**
+     * Loads the latest trades persisted by a previous run with one HGETALL. Trades ingested meanwhile are newer
+     * and are kept. Entries older than the TTL, and tracked symbols left without an entry, are deleted instead.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmLatestTrades() {
+        try {
+            Map<String, TradeData> stored = redisTemplate.<String, TradeData>opsForHash().entries(LATEST_TRADES_KEY);
+            long cutoff = System.currentTimeMillis() - TRADE_TTL.toMillis();
+            Set<String> expired = getTrackedSymbols();
+            int loaded = 0;
+            for (Map.Entry<String, TradeData> entry : stored.entrySet()) {
+                if (isExpired(entry.getValue(), cutoff)) {
+                    expired.add(entry.getKey());
+                } else {
+                    latestTrades.putIfAbsent(entry.getKey(), entry.getValue());
+                    expired.remove(entry.getKey());
+                    loaded++;
+                }
             }
-            index++;
+            if (!expired.isEmpty()) {
+                deleteLatest(new ArrayList<>(expired));
+            }
+            log.info("Warmed latest trades for {} symbols from Redis, evicted {} expired", loaded, expired.size());
+        } catch (Exception e) {
+            log.warn("Could not warm latest trades from Redis, starting empty", e);
         }
+    }
+
+    /**
+     * Refills the history buffers of every tracked symbol from their sorted sets, all read in one pipelined round
+     * trip. Trades ingested meanwhile are kept; the warmed ones are slotted in behind them.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmTradeHistory() {
+        try {
+            List<String> symbols = new ArrayList<>(getTrackedSymbols());
+            if (symbols.isEmpty()) {
+                return;
+            }
+            double since = System.currentTimeMillis() - historyWindow.toMillis();
+            List<Object> results = redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) {
+                    RedisOperations<String, TradeData> redis = (RedisOperations<String, TradeData>) operations;
+                    symbols.forEach(symbol -> redis.opsForZSet()
+                            .rangeByScore(TRADE_HISTORY_KEY_PREFIX + symbol, since, Double.POSITIVE_INFINITY));
+                    return null;
+                }
+            });
 
-        return result;
+            int loaded = 0;
+            for (int i = 0; i < symbols.size() && i < results.size(); i++) {
+                if (results.get(i) instanceof Collection<?> trades) {
+                    TradeRingBuffer buffer = historyBuffer(symbols.get(i));
+                    for (Object trade : trades) {
+                        loaded += buffer.add((TradeData) trade) ? 1 : 0;
+                    }
+                }
+            }
+            log.info("Warmed {} historical trades for {} symbols from Redis", loaded, symbols.size());
+        } catch (Exception e) {
+            log.warn("Could not warm trade history from Redis, starting empty", e);
+        }
     }
 
+    private TradeRingBuffer historyBuffer(String symbol) {
+        return histories.computeIfAbsent(symbol,
+                key -> new TradeRingBuffer(historyWindow, Math.min(INITIAL_HISTORY_CAPACITY, maxHistoryTrades),
+                        maxHistoryTrades));
+    }
+
+    /**
+     * Makes {@code trade} the latest of its symbol unless a newer one is already known.
+     *
+     * @return the trade that was latest before
+     */
+    private TradeData updateLatest(TradeData trade) {
+        String symbol = trade.getSymbol();
+        TradeData previousTrade = latestTrades.get(symbol);
+        if (previousTrade == null || !isOlder(trade, previousTrade)) {
+            latestTrades.put(symbol, trade);
+            dirtySymbols.add(symbol);
+        }
+        return previousTrade;
+    }
+
+    private static boolean isExpired(TradeData trade, long cutoff) {
+        return trade.getTimestamp() != null && trade.getTimestamp() < cutoff;
+    }
+
+    private void deleteLatest(List<String> symbols) {
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, TradeData> redis = (RedisOperations<String, TradeData>) operations;
+                redis.<String, TradeData>opsForHash().delete(LATEST_TRADES_KEY, symbols.toArray());
+                redis.execute((RedisCallback<Long>) connection -> connection.setCommands()
+                        .sRem(SYMBOLS_KEY_BYTES, utf8(symbols)));
+                return null;
+            }
+        });
+        redisRoundTrips.increment();
+    }
+
+    // trades within a frame can arrive out of order; an older one must not replace the latest
+    private static boolean isOlder(TradeData trade, TradeData latest) {
+        return trade.getTimestamp() != null && latest.getTimestamp() != null
+                && trade.getTimestamp() < latest.getTimestamp();
+    }
+
+    private void record(int frames, int trades, int roundTrips, long startedNanos) {
+        ingestedFrames.add(frames);
+        ingestedTrades.add(trades);
+        redisRoundTrips.add(roundTrips);
+        ingestNanos.add(System.nanoTime() - startedNanos);
+    }
+
+    public Optional<TradeData> getLatestTrade(String symbol) {
+        return Optional.ofNullable(latestTrades.get(symbol));
+    }
+
+    /**
+     * Snapshot of the in-process latest trades; never touches Redis.
+     */
+    public Map<String, TradeData> getAllLatestTrades() {
+        return new HashMap<>(latestTrades);
+    }
+
+    /**
+     * Every symbol that has been traded and flushed and not yet evicted for age.
+     */
+    public Set<String> getTrackedSymbols() {
+        Set<byte[]> members = redisTemplate.execute((RedisCallback<Set<byte[]>>) connection ->
+                connection.setCommands().sMembers(SYMBOLS_KEY_BYTES));
+        Set<String> symbols = new HashSet<>();
+        if (members != null) {
+            members.forEach(member -> symbols.add(new String(member, StandardCharsets.UTF_8)));
+        }
+        return symbols;
+    }
+
+    // the symbol set holds plain strings, which the template's trade serializer cannot write
+    private static byte[][] utf8(Collection<String> values) {
+        return values.stream().map(value -> value.getBytes(StandardCharsets.UTF_8)).toArray(byte[][]::new);
+    }
+
+    /**
+     * Lock-free read of the in-process latest trade; never touches Redis.
+     */
     public Optional<Double> getLatestPrice(String symbol) {
-        return getLatestTrade(symbol).map(TradeData::getPrice);
+        TradeData trade = latestTrades.get(symbol);
+        return trade == null ? Optional.empty() : Optional.ofNullable(trade.getPrice());
     }
 
-    //rewrite to fetch last n minutes
+    /**
+     * Trades of the last {@code minutes}, newest first, from the in-process buffer; at most the configured window.
+     */
     public List<TradeData> getTradeHistory(String symbol, int minutes) {
-        String historyKey = TRADE_HISTORY_KEY_PREFIX + symbol;
-        Set<TradeData> trades = redisTemplate.opsForZSet()
-                .reverseRange(historyKey, 0, minutes - 1);
-
-        return trades != null ? new ArrayList<>(trades) : new ArrayList<>();
+        TradeRingBuffer buffer = histories.get(symbol);
+        if (buffer == null) {
+            return new ArrayList<>();
+        }
+        return buffer.since(System.currentTimeMillis() - Duration.ofMinutes(minutes).toMillis());
     }
 
+    /**
+     * Trades with timestamps in {@code [startTimestamp, endTimestamp]}, newest first, from the in-process buffer.
+     */
     public List<TradeData> getTradeHistoryBetween(String symbol, long startTimestamp, long endTimestamp) {
-        String historyKey = TRADE_HISTORY_KEY_PREFIX + symbol;
-        Set<TradeData> trades = redisTemplate.opsForZSet()
-                .reverseRangeByScore(historyKey, startTimestamp, endTimestamp);
-
-        return trades != null ? new ArrayList<>(trades) : new ArrayList<>();
+        TradeRingBuffer buffer = histories.get(symbol);
+        return buffer != null ? buffer.between(startTimestamp, endTimestamp) : new ArrayList<>();
     }
 
     public void clearTradeData(String symbol) {
-        String latestKey = LATEST_TRADE_KEY_PREFIX + symbol;
         String historyKey = TRADE_HISTORY_KEY_PREFIX + symbol;
 
-        redisTemplate.delete(latestKey);
+        latestTrades.remove(symbol);
+        histories.remove(symbol);
+        dirtySymbols.remove(symbol);
+        redisTemplate.<String, TradeData>opsForHash().delete(LATEST_TRADES_KEY, symbol);
+        redisTemplate.execute((RedisCallback<Long>) connection -> connection.setCommands()
+                .sRem(SYMBOLS_KEY_BYTES, utf8(List.of(symbol))));
         redisTemplate.delete(historyKey);
 
         log.info("Cleared trade data for symbol: {}", symbol);
@@ -0,0 +1,194 @@
+package com.strategy.trade.service.bars;
+
+import com.strategy.trade.backtest.series.DoubleSeries;
+import com.strategy.trade.model.CandleBar;
+import com.strategy.trade.model.StockResponse;
+import com.strategy.trade.model.enums.TimeFrame;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Derives coarser bars from finer ones (normally one-minute) in a single forward pass. Buckets are aligned to
+ * the {@link TradingSession} open, so {@link TimeFrame#ONE_HOUR} gives 09:30, 10:30, ... and the last bar is cut
+ * at the close; {@link TimeFrame#ONE_DAY} is the whole session. Each output bar is stamped with its bucket start,
+ * takes the first open, highest high, lowest low, last close and summed volume. Input must be ascending.
+ */
+public final class BarResampler {
+
+    @FunctionalInterface
+    public interface BarSink {
+        void accept(long epochSecond, double open, double high, double low, double close, long volume);
+    }
+
+    private static final int SECONDS_PER_DAY = 86_400;
+
+    private final int bucketSeconds;
+    private final int sessionOpen;
+    private final int sessionClose;
+    private final BarSink sink;
+
+    // source bars a bucket must hold to be emitted; 0 emits every bucket
+    private int sourceSeconds;
+    private int count;
+
+    private long bucket = Long.MIN_VALUE;
+    private double open;
+    private double high;
+    private double low;
+    private double close;
+    private long volume;
+
+    private BarResampler(TimeFrame target, TradingSession session, BarSink sink) {
+        this.bucketSeconds = target.getMinutes() * 60;
+        this.sessionOpen = session.openSecond();
+        this.sessionClose = session.closeSecond();
+        this.sink = sink;
+    }
+
+    /**
+     * Streams records {@code [from, to)} of a mapped file, typically one or more whole days.
+     */
+    public static void resample(MappedBars source, int from, int to, TimeFrame target, TradingSession session,
+                                BarSink sink) {
+        BarResampler resampler = new BarResampler(target, session, sink);
+        for (int i = from; i < to; i++) {
+            resampler.add(source.epochSecond(i), source.open(i), source.high(i), source.low(i), source.close(i),
+                    source.volume(i));
+        }
+        resampler.flush();
+    }
+
+    /**
+     * One stored day at the target timeframe.
+     */
+    public static List<CandleBar> resampleDay(MappedBars source, String date, TimeFrame target,
+                                              TradingSession session) {
+        int start = source.dayStart(date);
+        if (start < 0) {
+            return List.of();
+        }
+        List<CandleBar> bars = new ArrayList<>();
+        resample(source, start, start + source.dayCount(date), target, session,
+                (epochSecond, open, high, low, close, volume) ->
+                        bars.add(new CandleBar(epochSecond, open, high, low, close, volume)));
+        return bars;
+    }
+
+    /**
+     * One stored day at the target timeframe, derived only when the {@code sourceFrame} bars cover the session
+     * from its open. Buckets missing any source bar (a gap, or a session that ends early) are dropped. Returns an
+     * empty list when the day is missing or its first in-session bar is later than the open, so callers can
+     * fall back to bars downloaded at the target timeframe.
+     */
+    public static List<CandleBar> resampleCompleteDay(MappedBars source, String date, TimeFrame sourceFrame,
+                                                      TimeFrame target, TradingSession session) {
+        int start = source.dayStart(date);
+        if (start < 0) {
+            return List.of();
+        }
+        int end = start + source.dayCount(date);
+        int first = start;
+        while (first < end && Math.floorMod(source.epochSecond(first), SECONDS_PER_DAY) < session.openSecond()) {
+            first++;
+        }
+        if (first == end || Math.floorMod(source.epochSecond(first), SECONDS_PER_DAY) != session.openSecond()) {
+            return List.of();
+        }
+
+        List<CandleBar> bars = new ArrayList<>();
+        BarResampler resampler = new BarResampler(target, session, (epochSecond, open, high, low, close, volume) ->
+                bars.add(new CandleBar(epochSecond, open, high, low, close, volume)));
+        resampler.sourceSeconds = sourceFrame.getMinutes() * 60;
+        for (int i = first; i < end; i++) {
+            resampler.add(source.epochSecond(i), source.open(i), source.high(i), source.low(i), source.close(i),
+                    source.volume(i));
+        }
+        resampler.flush();
+        return bars;
+    }
+
+    /**
+     * Resamples a Twelve Data response, which may come newest first; the result is ascending.
+     */
+    public static List<StockResponse.Value> resample(List<StockResponse.Value> values, TimeFrame target,
+                                                     TradingSession session) {
+        List<StockResponse.Value> result = new ArrayList<>();
+        BarResampler resampler = new BarResampler(target, session, (epochSecond, open, high, low, close, volume) -> {
+            StockResponse.Value value = new StockResponse.Value();
+            value.setDatetime(CandleBar.format(epochSecond));
+            value.setOpen(Double.isNaN(open) ? null : Double.toString(open));
+            value.setHigh(Double.toString(high));
+            value.setLow(Double.toString(low));
+            value.setClose(Double.toString(close));
+            value.setVolume(Long.toString(volume));
+            result.add(value);
+        });
+        values.stream()
+                .sorted(Comparator.comparing(StockResponse.Value::getDatetime))
+                .map(CandleBar::from)
+                .forEach(bar -> resampler.add(bar.epochSecond(), bar.open(), bar.high(), bar.low(), bar.close(),
+                        bar.volume()));
+        resampler.flush();
+        return result;
+    }
+
+    /**
+     * Last value of each bucket of a price series, stamped at the bucket start.
+     */
+    public static DoubleSeries resample(DoubleSeries series, TimeFrame target, TradingSession session) {
+        DoubleSeries result = new DoubleSeries(series.getName());
+        BarResampler resampler = new BarResampler(target, session,
+                (epochSecond, open, high, low, close, volume) -> result.add(close, epochSecond * 1_000_000_000L));
+        DoubleSeries.Cursor cursor = series.toAscending().cursor();
+        while (cursor.next()) {
+            double value = cursor.value();
+            resampler.add(Math.floorDiv(cursor.epochNanos(), 1_000_000_000L), value, value, value, value, 0);
+        }
+        resampler.flush();
+        return result;
+    }
+
+    private void add(long epochSecond, double open, double high, double low, double close, long volume) {
+        long day = Math.floorDiv(epochSecond, SECONDS_PER_DAY);
+        int secondOfDay = (int) Math.floorMod(epochSecond, SECONDS_PER_DAY);
+        if (secondOfDay < sessionOpen || secondOfDay >= sessionClose) {
+            return;
+        }
+        long bucketStart = day * SECONDS_PER_DAY + sessionOpen
+                + (long) (secondOfDay - sessionOpen) / bucketSeconds * bucketSeconds;
+
+        if (bucketStart != bucket) {
+            flush();
+            this.bucket = bucketStart;
+            this.open = open;
+            this.high = high;
+            this.low = low;
+            this.close = close;
+            this.volume = volume;
+            this.count = 1;
+            return;
+        }
+        this.count++;
+        this.high = Math.max(this.high, high);
+        this.low = Math.min(this.low, low);
+        this.close = close;
+        this.volume += volume;
+    }
+
+    private void flush() {
+        if (bucket != Long.MIN_VALUE) {
+            if (sourceSeconds == 0 || count == expectedCount()) {
+                sink.accept(bucket, open, high, low, close, volume);
+            }
+            bucket = Long.MIN_VALUE;
+        }
+    }
+
+    // the last bucket of the session is cut at the close
+    private int expectedCount() {
+        int bucketSecond = (int) Math.floorMod(bucket, SECONDS_PER_DAY);
+        return Math.min(bucketSeconds, sessionClose - bucketSecond) / sourceSeconds;
+    }
+}
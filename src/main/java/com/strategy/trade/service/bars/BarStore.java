@@ -0,0 +1,41 @@
+package com.strategy.trade.service.bars;
+
+import com.strategy.trade.model.CandleBar;
+import com.strategy.trade.model.enums.TimeFrame;
+
+import java.util.List;
+import java.util.Map;
+
+public interface BarStore {
+
+    /**
+     * Appends one trading day of bars. Days already in the store are left untouched.
+     *
+     * @return {@code true} when the day was written
+     */
+    boolean appendDay(String symbol, TimeFrame timeFrame, String date, List<CandleBar> bars);
+
+    /**
+     * Appends several days in one write, in the map's iteration order. Days already in the store are skipped.
+     *
+     * @return number of days written
+     */
+    int appendDays(String symbol, TimeFrame timeFrame, Map<String, List<CandleBar>> days);
+
+    /**
+     * Writes one trading day of bars, superseding any bars already stored for it, so a re-exported day is read
+     * back as exported. An empty {@code bars} list leaves the store untouched.
+     *
+     * @return {@code true} when the day was written
+     */
+    boolean replaceDay(String symbol, TimeFrame timeFrame, String date, List<CandleBar> bars);
+
+    boolean hasDay(String symbol, TimeFrame timeFrame, String date);
+
+    /**
+     * Maps every stored bar of the symbol and timeframe; {@code null} when nothing is stored yet.
+     */
+    MappedBars open(String symbol, TimeFrame timeFrame);
+
+    List<CandleBar> readDay(String symbol, TimeFrame timeFrame, String date);
+}
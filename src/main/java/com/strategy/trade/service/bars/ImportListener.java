@@ -0,0 +1,13 @@
+package com.strategy.trade.service.bars;
+
+/**
+ * Receives bulk import progress. Called from pool workers, so implementations must be thread-safe.
+ */
+@FunctionalInterface
+public interface ImportListener {
+
+    ImportListener NONE = progress -> {
+    };
+
+    void onSymbolImported(ImportProgress progress);
+}
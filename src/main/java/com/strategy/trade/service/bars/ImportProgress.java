@@ -0,0 +1,17 @@
+package com.strategy.trade.service.bars;
+
+/**
+ * Snapshot reported after each symbol of a bulk import finishes.
+ */
+public record ImportProgress(String symbol,
+                             int symbolsDone,
+                             int symbolsTotal,
+                             int filesParsed,
+                             int daysImported,
+                             long barsImported,
+                             long elapsedMillis) {
+
+    public double barsPerSecond() {
+        return elapsedMillis == 0 ? 0 : barsImported * 1000.0 / elapsedMillis;
+    }
+}
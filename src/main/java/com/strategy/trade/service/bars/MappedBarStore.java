@@ -0,0 +1,240 @@
+package com.strategy.trade.service.bars;
+
+import com.strategy.trade.model.CandleBar;
+import com.strategy.trade.model.enums.TimeFrame;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Append-only binary bar store: {@code {root}/{symbol}/{timeframe}.bars} holds fixed-width records (see
+ * {@link MappedBars}) and {@code {timeframe}.idx} one 16-byte entry per day ({@code long epochDay, int start,
+ * int count}). Bars are written before the index entry, so the index is the commit point and a torn append is
+ * simply invisible. A replaced day is appended again and its later index entry wins; the superseded records stay
+ * in the file as dead space. Mapped views are cached per file and dropped on append.
+ */
+@Slf4j
+@Service
+public class MappedBarStore implements BarStore {
+
+    private static final int INDEX_BYTES = 16;
+
+    private final Path root;
+    private final Map<String, MappedBars> mapped = new ConcurrentHashMap<>();
+
+    public MappedBarStore(@Value("${bars.store.path:store}") String root) {
+        this.root = Path.of(root);
+    }
+
+    @Override
+    public boolean appendDay(String symbol, TimeFrame timeFrame, String date, List<CandleBar> bars) {
+        return appendDays(symbol, timeFrame, Map.of(date, bars)) == 1;
+    }
+
+    @Override
+    public int appendDays(String symbol, TimeFrame timeFrame, Map<String, List<CandleBar>> days) {
+        return write(symbol, timeFrame, days, false);
+    }
+
+    @Override
+    public boolean replaceDay(String symbol, TimeFrame timeFrame, String date, List<CandleBar> bars) {
+        return write(symbol, timeFrame, Map.of(date, bars), true) == 1;
+    }
+
+    private synchronized int write(String symbol, TimeFrame timeFrame, Map<String, List<CandleBar>> days,
+                                   boolean replace) {
+        Map<String, List<CandleBar>> pending = new LinkedHashMap<>();
+        int barCount = 0;
+        for (Map.Entry<String, List<CandleBar>> day : days.entrySet()) {
+            if (!day.getValue().isEmpty() && (replace || !hasDay(symbol, timeFrame, day.getKey()))) {
+                pending.put(day.getKey(), day.getValue());
+                barCount += day.getValue().size();
+            }
+        }
+        if (pending.isEmpty()) {
+            return 0;
+        }
+
+        Path dataFile = dataFile(symbol, timeFrame);
+        Path indexFile = indexFile(symbol, timeFrame);
+        try {
+            Files.createDirectories(dataFile.getParent());
+            ByteBuffer records = ByteBuffer.allocate(barCount * MappedBars.RECORD_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            for (List<CandleBar> bars : pending.values()) {
+                for (CandleBar bar : bars) {
+                    records.putLong(bar.epochSecond())
+                            .putDouble(bar.open())
+                            .putDouble(bar.high())
+                            .putDouble(bar.low())
+                            .putDouble(bar.close())
+                            .putLong(bar.volume());
+                }
+            }
+            records.flip();
+
+            long start;
+            try (FileChannel channel = FileChannel.open(dataFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                // records past the last committed index entry belong to a torn append and are overwritten
+                start = committedRecords(indexFile);
+                channel.truncate(start * MappedBars.RECORD_BYTES);
+                channel.position(start * MappedBars.RECORD_BYTES);
+                while (records.hasRemaining()) {
+                    channel.write(records);
+                }
+                channel.force(false);
+            }
+
+            ByteBuffer entries = ByteBuffer.allocate(pending.size() * INDEX_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            for (Map.Entry<String, List<CandleBar>> day : pending.entrySet()) {
+                entries.putLong(LocalDate.parse(day.getKey()).toEpochDay())
+                        .putInt((int) start)
+                        .putInt(day.getValue().size());
+                start += day.getValue().size();
+            }
+            entries.flip();
+            try (FileChannel channel = FileChannel.open(indexFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                long committedIndex = channel.size() / INDEX_BYTES * INDEX_BYTES;
+                channel.truncate(committedIndex);
+                channel.position(committedIndex);
+                while (entries.hasRemaining()) {
+                    channel.write(entries);
+                }
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to append " + symbol + " " + timeFrame + " " + pending.keySet(), e);
+        }
+        mapped.remove(key(symbol, timeFrame));
+        return pending.size();
+    }
+
+    @Override
+    public boolean hasDay(String symbol, TimeFrame timeFrame, String date) {
+        MappedBars bars = open(symbol, timeFrame);
+        return bars != null && bars.dayStart(date) >= 0;
+    }
+
+    @Override
+    public MappedBars open(String symbol, TimeFrame timeFrame) {
+        MappedBars bars = mapped.get(key(symbol, timeFrame));
+        return bars != null ? bars : openLocked(symbol, timeFrame);
+    }
+
+    // mapping under the append lock keeps a view of a half-written append from being cached after it commits
+    private synchronized MappedBars openLocked(String symbol, TimeFrame timeFrame) {
+        String key = key(symbol, timeFrame);
+        MappedBars bars = mapped.get(key);
+        if (bars == null && Files.exists(indexFile(symbol, timeFrame))) {
+            bars = map(symbol, timeFrame);
+            mapped.put(key, bars);
+        }
+        return bars;
+    }
+
+    @Override
+    public List<CandleBar> readDay(String symbol, TimeFrame timeFrame, String date) {
+        MappedBars bars = open(symbol, timeFrame);
+        return bars == null ? Collections.emptyList() : bars.readDay(date);
+    }
+
+    private MappedBars map(String symbol, TimeFrame timeFrame) {
+        try {
+            ByteBuffer index = ByteBuffer.wrap(Files.readAllBytes(indexFile(symbol, timeFrame)))
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            int entries = index.limit() / INDEX_BYTES;
+            long[] dayKeys = new long[entries];
+            int[] dayStarts = new int[entries];
+            int[] dayCounts = new int[entries];
+            // a replaced day has a later entry that overwrites its slot
+            Map<Long, Integer> slots = new HashMap<>();
+            int days = 0;
+            long committed = 0;
+            for (int i = 0; i < entries; i++) {
+                long dayKey = index.getLong();
+                int start = index.getInt();
+                int count = index.getInt();
+                committed = Math.max(committed, (long) start + count);
+                Integer slot = slots.putIfAbsent(dayKey, days);
+                int at = slot == null ? days++ : slot;
+                dayKeys[at] = dayKey;
+                dayStarts[at] = start;
+                dayCounts[at] = count;
+            }
+            if (days < entries) {
+                dayKeys = Arrays.copyOf(dayKeys, days);
+                dayStarts = Arrays.copyOf(dayStarts, days);
+                dayCounts = Arrays.copyOf(dayCounts, days);
+            }
+            sortByDay(dayKeys, dayStarts, dayCounts);
+
+            try (FileChannel channel = FileChannel.open(dataFile(symbol, timeFrame), StandardOpenOption.READ)) {
+                ByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, committed * MappedBars.RECORD_BYTES)
+                        .order(ByteOrder.LITTLE_ENDIAN);
+                log.info("Mapped {} {} bars over {} days for {}", committed, timeFrame, days, symbol);
+                return new MappedBars(symbol, data, dayKeys, dayStarts, dayCounts);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to map " + symbol + " " + timeFrame, e);
+        }
+    }
+
+    private static long committedRecords(Path indexFile) throws IOException {
+        if (!Files.exists(indexFile)) {
+            return 0;
+        }
+        ByteBuffer index = ByteBuffer.wrap(Files.readAllBytes(indexFile)).order(ByteOrder.LITTLE_ENDIAN);
+        long committed = 0;
+        for (int i = 0; i + INDEX_BYTES <= index.limit(); i += INDEX_BYTES) {
+            committed = Math.max(committed, (long) index.getInt(i + 8) + index.getInt(i + 12));
+        }
+        return committed;
+    }
+
+    // days are usually appended in order already; insertion sort keeps that case linear
+    private static void sortByDay(long[] keys, int[] starts, int[] counts) {
+        for (int i = 1; i < keys.length; i++) {
+            long key = keys[i];
+            int start = starts[i];
+            int count = counts[i];
+            int j = i - 1;
+            while (j >= 0 && keys[j] > key) {
+                keys[j + 1] = keys[j];
+                starts[j + 1] = starts[j];
+                counts[j + 1] = counts[j];
+                j--;
+            }
+            keys[j + 1] = key;
+            starts[j + 1] = start;
+            counts[j + 1] = count;
+        }
+    }
+
+    private Path dataFile(String symbol, TimeFrame timeFrame) {
+        return root.resolve(symbol).resolve(timeFrame + ".bars");
+    }
+
+    private Path indexFile(String symbol, TimeFrame timeFrame) {
+        return root.resolve(symbol).resolve(timeFrame + ".idx");
+    }
+
+    private static String key(String symbol, TimeFrame timeFrame) {
+        return symbol + ":" + timeFrame;
+    }
+}
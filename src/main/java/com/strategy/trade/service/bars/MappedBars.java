@@ -0,0 +1,125 @@
+package com.strategy.trade.service.bars;
+
+import com.strategy.trade.backtest.series.DoubleSeries;
+import com.strategy.trade.model.CandleBar;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Read-only view over a memory-mapped bar file. Every record is {@link #RECORD_BYTES} wide:
+ * <pre>
+ *   long   epochSecond  (bar start, exchange local time stored as UTC)
+ *   double open         (NaN when the source had no open)
+ *   double high
+ *   double low
+ *   double close
+ *   long   volume
+ * </pre>
+ * Accessors read straight from the mapping with absolute gets, so a view can be shared between threads and
+ * nothing is parsed or allocated per bar. The per-day index is held in sorted primitive arrays.
+ */
+public class MappedBars {
+
+    public static final int RECORD_BYTES = 48;
+
+    private final String symbol;
+    private final ByteBuffer data;
+    private final int size;
+    private final long[] dayKeys;
+    private final int[] dayStarts;
+    private final int[] dayCounts;
+
+    MappedBars(String symbol, ByteBuffer data, long[] dayKeys, int[] dayStarts, int[] dayCounts) {
+        this.symbol = symbol;
+        this.data = data;
+        this.size = data.limit() / RECORD_BYTES;
+        this.dayKeys = dayKeys;
+        this.dayStarts = dayStarts;
+        this.dayCounts = dayCounts;
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long epochSecond(int index) {
+        return data.getLong(index * RECORD_BYTES);
+    }
+
+    public double open(int index) {
+        return data.getDouble(index * RECORD_BYTES + 8);
+    }
+
+    public double high(int index) {
+        return data.getDouble(index * RECORD_BYTES + 16);
+    }
+
+    public double low(int index) {
+        return data.getDouble(index * RECORD_BYTES + 24);
+    }
+
+    public double close(int index) {
+        return data.getDouble(index * RECORD_BYTES + 32);
+    }
+
+    public long volume(int index) {
+        return data.getLong(index * RECORD_BYTES + 40);
+    }
+
+    /**
+     * @return index of the first bar of the day, or {@code -1} when the day is not stored
+     */
+    public int dayStart(String date) {
+        int day = Arrays.binarySearch(dayKeys, LocalDate.parse(date).toEpochDay());
+        return day < 0 ? -1 : dayStarts[day];
+    }
+
+    public int dayCount(String date) {
+        int day = Arrays.binarySearch(dayKeys, LocalDate.parse(date).toEpochDay());
+        return day < 0 ? 0 : dayCounts[day];
+    }
+
+    public List<String> days() {
+        List<String> days = new ArrayList<>(dayKeys.length);
+        for (long day : dayKeys) {
+            days.add(LocalDate.ofEpochDay(day).toString());
+        }
+        return days;
+    }
+
+    /**
+     * Close prices of {@code [from, to)} as a series, without any text parsing.
+     */
+    public DoubleSeries closes(int from, int to) {
+        DoubleSeries series = new DoubleSeries(symbol, Math.max(0, to - from));
+        for (int i = from; i < to; i++) {
+            series.add(close(i), epochSecond(i) * 1_000_000_000L);
+        }
+        return series;
+    }
+
+    /**
+     * One day as {@link CandleBar}s, copied straight from the records.
+     */
+    public List<CandleBar> readDay(String date) {
+        int start = dayStart(date);
+        if (start < 0) {
+            return Collections.emptyList();
+        }
+        int count = dayCount(date);
+        List<CandleBar> bars = new ArrayList<>(count);
+        for (int i = start; i < start + count; i++) {
+            bars.add(new CandleBar(epochSecond(i), open(i), high(i), low(i), close(i), volume(i)));
+        }
+        return bars;
+    }
+}
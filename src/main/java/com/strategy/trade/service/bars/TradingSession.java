@@ -0,0 +1,27 @@
+package com.strategy.trade.service.bars;
+
+import java.time.LocalTime;
+
+/**
+ * Regular trading hours in exchange-local time, which is how bar timestamps are stored. Resampled bars are
+ * aligned to {@link #open()} rather than to the clock, and bars outside {@code [open, close)} are dropped.
+ */
+public record TradingSession(LocalTime open, LocalTime close) {
+
+    public static final TradingSession US_EQUITIES = new TradingSession(LocalTime.of(9, 30), LocalTime.of(16, 0));
+
+    /**
+     * Epoch second of the open on the day of {@code epochSecond}.
+     */
+    public long openOf(long epochSecond) {
+        return Math.floorDiv(epochSecond, 86_400L) * 86_400L + openSecond();
+    }
+
+    int openSecond() {
+        return open.toSecondOfDay();
+    }
+
+    int closeSecond() {
+        return close.toSecondOfDay();
+    }
+}
@@ -0,0 +1,68 @@
+package com.strategy.trade.service.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sorted, disjoint, inclusive {@code [start, end]} ranges of epoch seconds. Ranges that overlap or touch are
+ * merged on {@link #add}, so a request is covered exactly when one stored range contains it.
+ */
+public class CoveredRanges {
+
+    private final List<long[]> ranges = new ArrayList<>();
+
+    public void add(long start, long end) {
+        if (end < start) {
+            return;
+        }
+        int i = 0;
+        while (i < ranges.size() && ranges.get(i)[1] + 1 < start) {
+            i++;
+        }
+        long mergedStart = start;
+        long mergedEnd = end;
+        while (i < ranges.size() && ranges.get(i)[0] <= end + 1) {
+            long[] range = ranges.remove(i);
+            mergedStart = Math.min(mergedStart, range[0]);
+            mergedEnd = Math.max(mergedEnd, range[1]);
+        }
+        ranges.add(i, new long[]{mergedStart, mergedEnd});
+    }
+
+    public boolean covers(long start, long end) {
+        return missing(start, end).isEmpty();
+    }
+
+    /**
+     * Sub-ranges of {@code [start, end]} not stored yet, ascending.
+     */
+    public List<long[]> missing(long start, long end) {
+        List<long[]> gaps = new ArrayList<>();
+        long cursor = start;
+        for (long[] range : ranges) {
+            if (range[1] < cursor) {
+                continue;
+            }
+            if (range[0] > end) {
+                break;
+            }
+            if (range[0] > cursor) {
+                gaps.add(new long[]{cursor, range[0] - 1});
+            }
+            cursor = range[1] + 1;
+            if (cursor > end) {
+                return gaps;
+            }
+        }
+        gaps.add(new long[]{cursor, end});
+        return gaps;
+    }
+
+    public List<long[]> ranges() {
+        return ranges.stream().map(long[]::clone).toList();
+    }
+
+    public boolean isEmpty() {
+        return ranges.isEmpty();
+    }
+}
@@ -0,0 +1,254 @@
+package com.strategy.trade.service.cache;
+
+import com.strategy.trade.model.CandleBar;
+import com.strategy.trade.model.StockResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Disk-backed cache of Twelve Data time series: {@code {root}/{symbol}/{interval}.csv} holds every value
+ * received so far and {@code {interval}.ranges} the request ranges ({@code start;end} epoch seconds) those
+ * values fully cover. A request is split against the covered ranges and only the gaps go to the network.
+ * Values are written before the ranges, so the ranges file is the commit point and a crash mid-write only
+ * costs a refetch. Ranges never extend past yesterday, since today's bars are still arriving.
+ */
+@Slf4j
+@Service
+public class TimeSeriesCache {
+
+    private static final String DELIMITER = ";";
+
+    private final Path root;
+    private final Clock clock;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    @Autowired
+    public TimeSeriesCache(@Value("${financial.twelve.cache.path:cache/twelve}") String root) {
+        this(root, Clock.systemDefaultZone());
+    }
+
+    TimeSeriesCache(String root, Clock clock) {
+        this.root = Path.of(root);
+        this.clock = clock;
+    }
+
+    /**
+     * Fetches the values missing from {@code [start, end]}, stores them and returns the whole range newest
+     * first, as Twelve Data does.
+     */
+    public List<StockResponse.Value> timeSeries(String symbol, String interval, LocalDateTime start,
+                                                LocalDateTime end, RangeFetcher fetcher) {
+        return timeSeries(symbol, interval, start, end, Integer.MAX_VALUE, fetcher);
+    }
+
+    /**
+     * As above for a fetcher answering at most {@code pageSize} values, newest first. A full page only covers
+     * the range from its oldest value on, and the rest of the gap is fetched as a new gap. The entry is not
+     * locked during fetches; a gap fetched twice concurrently is stored once.
+     */
+    public List<StockResponse.Value> timeSeries(String symbol, String interval, LocalDateTime start,
+                                                LocalDateTime end, int pageSize, RangeFetcher fetcher) {
+        Entry entry = entry(symbol, interval);
+        long from = epochSecond(start);
+        long to = epochSecond(end);
+        Deque<long[]> gaps;
+        synchronized (entry) {
+            gaps = new ArrayDeque<>(entry.ranges.missing(from, to));
+        }
+        if (gaps.isEmpty()) {
+            log.info("Cache hit for {} {} - {} to {}", symbol, interval, start, end);
+        }
+        while (!gaps.isEmpty()) {
+            long[] gap = gaps.poll();
+            LocalDateTime gapStart = toLocalDateTime(gap[0]);
+            LocalDateTime gapEnd = toLocalDateTime(gap[1]);
+            log.info("Cache miss for {} {} - fetching {} to {}", symbol, interval, gapStart, gapEnd);
+            List<StockResponse.Value> values = fetcher.fetch(gapStart, gapEnd);
+            if (values == null) {
+                continue;
+            }
+            long coveredFrom = gap[0];
+            if (values.size() >= pageSize) {
+                long oldest = Long.MAX_VALUE;
+                for (StockResponse.Value value : values) {
+                    oldest = Math.min(oldest, CandleBar.epochSecond(value.getDatetime()));
+                }
+                if (oldest > gap[0] && oldest <= gap[1]) {
+                    coveredFrom = oldest;
+                    gaps.push(new long[]{gap[0], oldest - 1});
+                }
+            }
+            synchronized (entry) {
+                store(entry, symbol, interval, values, coveredFrom, gap[1]);
+            }
+        }
+        synchronized (entry) {
+            return new ArrayList<>(entry.values.subMap(from, true, to, true).descendingMap().values());
+        }
+    }
+
+    /**
+     * Stores the values of an unbounded request; the span from their first to their last day counts as covered.
+     */
+    public void store(String symbol, String interval, List<StockResponse.Value> values) {
+        if (values.isEmpty()) {
+            return;
+        }
+        long first = Long.MAX_VALUE;
+        long last = Long.MIN_VALUE;
+        for (StockResponse.Value value : values) {
+            long epochSecond = CandleBar.epochSecond(value.getDatetime());
+            first = Math.min(first, epochSecond);
+            last = Math.max(last, epochSecond);
+        }
+        long dayStart = epochSecond(toLocalDateTime(first).toLocalDate().atStartOfDay());
+        long dayEnd = epochSecond(toLocalDateTime(last).toLocalDate().plusDays(1).atStartOfDay()) - 1;
+        Entry entry = entry(symbol, interval);
+        synchronized (entry) {
+            store(entry, symbol, interval, values, dayStart, dayEnd);
+        }
+    }
+
+    public boolean covers(String symbol, String interval, LocalDateTime start, LocalDateTime end) {
+        Entry entry = entry(symbol, interval);
+        synchronized (entry) {
+            return entry.ranges.covers(epochSecond(start), epochSecond(end));
+        }
+    }
+
+    private void store(Entry entry, String symbol, String interval, List<StockResponse.Value> values,
+                       long start, long end) {
+        Path valuesFile = valuesFile(symbol, interval);
+        try {
+            Files.createDirectories(valuesFile.getParent());
+            if (!values.isEmpty()) {
+                try (BufferedWriter writer = Files.newBufferedWriter(valuesFile,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                    for (StockResponse.Value received : values) {
+                        String[] fields = {received.getDatetime(), field(received.getOpen()),
+                                field(received.getHigh()), field(received.getLow()), field(received.getClose()),
+                                field(received.getVolume())};
+                        StockResponse.Value value = parseValue(fields);
+                        // an unchanged value is already on disk; a changed one is appended and wins on load
+                        if (value.equals(entry.values.put(CandleBar.epochSecond(value.getDatetime()), value))) {
+                            continue;
+                        }
+                        writer.write(String.join(DELIMITER, fields));
+                        writer.newLine();
+                    }
+                }
+            }
+
+            long coverableEnd = Math.min(end, epochSecond(LocalDate.now(clock).atStartOfDay()) - 1);
+            if (coverableEnd >= start) {
+                entry.ranges.add(start, coverableEnd);
+                List<String> lines = entry.ranges.ranges().stream()
+                        .map(range -> range[0] + DELIMITER + range[1])
+                        .toList();
+                Files.write(rangesFile(symbol, interval), lines);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to cache " + symbol + " " + interval, e);
+        }
+    }
+
+    private Entry entry(String symbol, String interval) {
+        return entries.computeIfAbsent(symbol.toUpperCase() + "/" + interval, key -> load(symbol, interval));
+    }
+
+    private Entry load(String symbol, String interval) {
+        Entry entry = new Entry();
+        Path rangesFile = rangesFile(symbol, interval);
+        try {
+            if (Files.exists(rangesFile)) {
+                for (String line : Files.readAllLines(rangesFile)) {
+                    String[] parts = line.split(DELIMITER);
+                    entry.ranges.add(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+                }
+            }
+            Path valuesFile = valuesFile(symbol, interval);
+            if (Files.exists(valuesFile)) {
+                try (var lines = Files.lines(valuesFile)) {
+                    // a torn last line from an interrupted append has fewer fields and is dropped
+                    lines.map(line -> line.split(DELIMITER, -1))
+                            .filter(parts -> parts.length == 6)
+                            .map(TimeSeriesCache::parseValue)
+                            .forEach(value -> entry.values.put(CandleBar.epochSecond(value.getDatetime()), value));
+                }
+            }
+            if (!entry.values.isEmpty()) {
+                log.info("Loaded {} cached {} values for {}", entry.values.size(), interval, symbol);
+            }
+            return entry;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load cache of " + symbol + " " + interval, e);
+        }
+    }
+
+    private static StockResponse.Value parseValue(String[] parts) {
+        StockResponse.Value value = new StockResponse.Value();
+        value.setDatetime(parts[0]);
+        value.setOpen(parts[1]);
+        value.setHigh(parts[2]);
+        value.setLow(parts[3]);
+        value.setClose(parts[4]);
+        value.setVolume(parts[5]);
+        return value;
+    }
+
+    // a missing field is stored empty, as a missing CSV column is read back
+    private static String field(String value) {
+        return Objects.toString(value, "");
+    }
+
+    private static long epochSecond(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochSecond) {
+        return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+    }
+
+    private Path valuesFile(String symbol, String interval) {
+        return root.resolve(symbol.toUpperCase()).resolve(interval + ".csv");
+    }
+
+    private Path rangesFile(String symbol, String interval) {
+        return root.resolve(symbol.toUpperCase()).resolve(interval + ".ranges");
+    }
+
+    /**
+     * Network call for one uncovered range; {@code null} when the provider failed and nothing may be cached.
+     */
+    @FunctionalInterface
+    public interface RangeFetcher {
+        List<StockResponse.Value> fetch(LocalDateTime start, LocalDateTime end);
+    }
+
+    private static class Entry {
+        private final CoveredRanges ranges = new CoveredRanges();
+        private final NavigableMap<Long, StockResponse.Value> values = new TreeMap<>();
+    }
+}
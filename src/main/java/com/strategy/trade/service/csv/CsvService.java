@@ -1,6 +1,7 @@
 package com.strategy.trade.service.csv;
 
 import com.strategy.trade.backtest.series.DoubleSeries;
+import com.strategy.trade.model.CandleBar;
 import com.strategy.trade.model.StockResponse;
 import com.strategy.trade.model.enums.TimeFrame;
 
@@ -14,6 +15,8 @@ public interface CsvService {
 
     DoubleSeries initializeCsvForDay(String symbol, String date);
 
+    List<CandleBar> readBars(String symbol, TimeFrame timeFrame, String date);
+
     void writeDayCsv(String symbol, String csv);
 
     DoubleSeries readDoubleSeries(String symbol, LocalDate from, LocalDate to);
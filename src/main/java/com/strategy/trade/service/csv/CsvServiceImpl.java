@@ -1,30 +1,26 @@
 package com.strategy.trade.service.csv;
 
 import com.strategy.trade.backtest.series.DoubleSeries;
-import com.strategy.trade.backtest.series.TimeSeries;
+import com.strategy.trade.model.CandleBar;
 import com.strategy.trade.model.StockResponse;
 import com.strategy.trade.model.TwelveCandleBar;
 import com.strategy.trade.model.enums.TimeFrame;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.opencsv.CSVParser;
-import com.opencsv.CSVParserBuilder;
-import com.opencsv.CSVReader;
-import com.opencsv.CSVReaderBuilder;
+import com.strategy.trade.service.bars.BarResampler;
+import com.strategy.trade.service.bars.BarStore;
+import com.strategy.trade.service.bars.TradingSession;
 import com.opencsv.bean.CsvToBean;
 import com.opencsv.bean.CsvToBeanBuilder;
-import com.opencsv.exceptions.CsvException;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.io.ClassPathResource;
-import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
 
 import java.io.*;
+import java.nio.file.Path;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneOffset;
-import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -33,14 +29,11 @@ import java.util.stream.Collectors;
 @AllArgsConstructor
 public class CsvServiceImpl implements CsvService {
 
-    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
-    private static final DateTimeFormatter DAY_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-
     private static final String CSV_HEADER = "Stock Symbol,High,Low,Close,Date Time\n";
     private static final String DELIMITER = ";";
 
-    private final StringRedisTemplate redisTemplate;
-    private final ObjectMapper mapper = new ObjectMapper();
+    private final RedisTemplate<String, CandleBar> redisTemplate;
+    private final BarStore barStore;
 
     @Override
     public void exportToCsvTwelve(String symbol, TimeFrame timeFrame,
@@ -74,6 +67,12 @@ public class CsvServiceImpl implements CsvService {
             } catch (IOException e) {
                 throw new RuntimeException(e);
             }
+
+            // the CSV was just overwritten, so the stored day must follow it
+            barStore.replaceDay(symbol, timeFrame, date, dayEntries.stream()
+                    .sorted(Comparator.comparing(StockResponse.Value::getDatetime))
+                    .map(CandleBar::from)
+                    .toList());
         });
     }
 
@@ -84,42 +83,47 @@ public class CsvServiceImpl implements CsvService {
         String keyOneMin = "candles:" + symbol + ":" + TimeFrame.ONE_MIN + ":" + date;
         redisTemplate.delete(keyFiveMin);
         redisTemplate.delete(keyOneMin);
-        //rewrite to parse day
-        String fiveMinFile = String.format("exports/%s/%s/%s_data.csv", symbol, TimeFrame.FIVE_MIN, date);
-
-        String oneMinFile = String.format("exports/%s/%s/%s_data.csv", symbol, TimeFrame.ONE_MIN, date);
-
         //save 5 mins in redis
-        List<TwelveCandleBar> fiveMinData = initializeBarsFromCsv(fiveMinFile);
+        List<CandleBar> fiveMinData = readBars(symbol, TimeFrame.FIVE_MIN, date);
         //save 1 min in redis
-        List<TwelveCandleBar> oneMinData = initializeBarsFromCsv(oneMinFile);
+        List<CandleBar> oneMinData = readBars(symbol, TimeFrame.ONE_MIN, date);
 
         //save in Redis
-        fiveMinData.forEach(record -> storeInRedis(record, TimeFrame.FIVE_MIN, date));
+        storeInRedis(symbol, fiveMinData, TimeFrame.FIVE_MIN, date);
 
-        oneMinData.forEach(record -> storeInRedis(record, TimeFrame.ONE_MIN, date));
+        storeInRedis(symbol, oneMinData, TimeFrame.ONE_MIN, date);
 
 
-        List<TimeSeries.Entry<Double>> entries = new ArrayList<>();
-        oneMinData.stream()
-                        .map(candle -> {
-                            // Parse datetime
-                            LocalDate candleDate = LocalDate.parse(candle.getDatetime(), DATE_FORMATTER);
-                            Instant instant = candleDate.atStartOfDay(ZoneOffset.UTC).toInstant();
-
-                            // Parse close value
-                            Double closeValue = Double.parseDouble(candle.getClose());
-
-                            // Create entry
-                            return new TimeSeries.Entry<>(closeValue, instant);
-                        })
-                                .forEach(entries::add);
+        DoubleSeries series = new DoubleSeries(symbol, oneMinData.size());
+        for (CandleBar candle : oneMinData) {
+            Instant instant = LocalDate.ofEpochDay(candle.epochDay()).atStartOfDay(ZoneOffset.UTC).toInstant();
+            series.add(candle.close(), DoubleSeries.toEpochNanos(instant));
+        }
 
         log.info("Initialized csv records for day - {}", date);
-        return new DoubleSeries(entries, symbol).toAscending();
+        return series.toAscending();
 
     }
 
+    @Override
+    public List<CandleBar> readBars(String symbol, TimeFrame timeFrame, String date) {
+        if (barStore.hasDay(symbol, timeFrame, date)) {
+            return barStore.readDay(symbol, timeFrame, date);
+        }
+        // coarser timeframes that were never stored are derived from the one-minute bars, but only when those
+        // cover the session from the open; minute downloads that start mid-morning fall back to the export
+        if (timeFrame != TimeFrame.ONE_MIN && barStore.hasDay(symbol, TimeFrame.ONE_MIN, date)) {
+            List<CandleBar> derived = BarResampler.resampleCompleteDay(barStore.open(symbol, TimeFrame.ONE_MIN),
+                    date, TimeFrame.ONE_MIN, timeFrame, TradingSession.US_EQUITIES);
+            if (!derived.isEmpty()) {
+                return derived;
+            }
+        }
+        return initializeBarsFromCsv(String.format("exports/%s/%s/%s_data.csv", symbol, timeFrame, date)).stream()
+                .map(CandleBar::from)
+                .toList();
+    }
+
     @Override
     public void writeDayCsv(String symbol, String csv) {
         String filePath = "exports/" + symbol + "/day_data.csv";
@@ -137,49 +141,13 @@ public class CsvServiceImpl implements CsvService {
 
     @Override
     public DoubleSeries readDoubleSeries(String symbol, LocalDate from, LocalDate to) {
-        List<TimeSeries.Entry<Double>> entries = new ArrayList<>();
         String filePath = "exports/" + symbol + "/day_data.csv";
-
-        CSVParser parser = new CSVParserBuilder()
-                .withSeparator(';')
-                .build();
-
-        try (CSVReader reader = new CSVReaderBuilder(new FileReader(filePath))
-                .withCSVParser(parser)
-                .build()) {
-            List<String[]> rows = reader.readAll();
-
-            // Skip header row
-            for (int i = 1; i < rows.size(); i++) {
-                String[] row = rows.get(i);
-
-                // Parse datetime
-                LocalDate date = LocalDate.parse(row[0], DAY_FORMATTER);
-
-                // Apply date range filter
-                if (from != null && date.isBefore(from)) {
-                    continue;
-                }
-                if (to != null && date.isAfter(to)) {
-                    continue;
-                }
-
-                // Parse datetime
-                Instant instant = date.atStartOfDay(ZoneOffset.UTC).toInstant();
-
-                // Parse close value
-                Double closeValue = Double.parseDouble(row[1]);
-
-                // Create entry
-                entries.add(new TimeSeries.Entry<>(closeValue, instant));
-            }
-        } catch (IOException | CsvException ex) {
+        try {
+            return DayCsvReader.read(Path.of(filePath), symbol, from, to);
+        } catch (IOException ex) {
             log.info("There is no csv initialized yet");
             throw new RuntimeException(ex);
         }
-
-        return new DoubleSeries(entries, symbol).toAscending();
-
     }
 
     public List<TwelveCandleBar> initializeBarsFromCsv(String fileName) {
@@ -204,15 +172,12 @@ public class CsvServiceImpl implements CsvService {
         }
     }
 
-    private void storeInRedis(TwelveCandleBar candle, TimeFrame timeFrame, String date) {
-        String key = "candles:" + candle.getSymbol() + ":" + timeFrame + ":" + date;
-        String json;
-        try {
-            json = mapper.writeValueAsString(candle);
-        } catch (JsonProcessingException e) {
-            throw new RuntimeException(e);
+    private void storeInRedis(String symbol, List<CandleBar> candles, TimeFrame timeFrame, String date) {
+        if (candles.isEmpty()) {
+            return;
         }
-        redisTemplate.opsForList().rightPush(key, json); // enqueue at the end (FIFO)
+        String key = "candles:" + symbol + ":" + timeFrame + ":" + date;
+        redisTemplate.opsForList().rightPushAll(key, candles); // enqueue at the end (FIFO), one round trip per day
     }
 
 
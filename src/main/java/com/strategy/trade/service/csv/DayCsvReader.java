@@ -0,0 +1,201 @@
+package com.strategy.trade.service.csv;
+
+import com.strategy.trade.backtest.series.DoubleSeries;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.function.IntPredicate;
+
+/**
+ * Reads {@code day_data.csv} ({@code yyyy-MM-dd;close} per line, header first, newest or oldest first) straight
+ * from a read-only mapping of the file. Dates and prices are parsed from the bytes without creating Strings,
+ * and the first row of the requested range is found by binary search over byte offsets, so rows outside
+ * {@code [from, to]} are never parsed.
+ */
+final class DayCsvReader {
+
+    private static final long NANOS_PER_DAY = 86_400_000_000_000L;
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+    // mantissas up to 2^53 convert to double exactly, so mantissa / 10^scale is correctly rounded
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+    private final ByteBuffer data;
+    private final int limit;
+    private final int dataStart;
+
+    private DayCsvReader(ByteBuffer data) {
+        this.data = data;
+        this.limit = trimTrailingBlanks(data);
+        this.dataStart = limit > 0 && isDigit(data.get(0)) ? 0 : nextLine(0);
+    }
+
+    static DoubleSeries read(Path file, String name, LocalDate from, LocalDate to) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new DayCsvReader(data).read(name,
+                    from == null ? Integer.MIN_VALUE : dateKey(from),
+                    to == null ? Integer.MAX_VALUE : dateKey(to));
+        }
+    }
+
+    private DoubleSeries read(String name, int fromKey, int toKey) {
+        if (dataStart >= limit || fromKey > toKey) {
+            return new DoubleSeries(name);
+        }
+        boolean ascending = dateKeyAt(dataStart) <= dateKeyAt(lineStart(limit - 1));
+
+        int position = ascending
+                ? seek(line -> dateKeyAt(line) >= fromKey)
+                : seek(line -> dateKeyAt(line) <= toKey);
+
+        DoubleSeries series = new DoubleSeries(name);
+        while (position < limit) {
+            if (!isDigit(data.get(position))) {
+                position = nextLine(position);
+                continue;
+            }
+            int key = dateKeyAt(position);
+            if (ascending ? key > toKey : key < fromKey) {
+                break;
+            }
+            if (key >= fromKey && key <= toKey) {
+                series.add(parseClose(position + 11), epochDay(key) * NANOS_PER_DAY);
+            }
+            position = nextLine(position);
+        }
+        return series.toAscending();
+    }
+
+    /**
+     * First line start at which {@code predicate} holds, given it is false-then-true in file order.
+     */
+    private int seek(IntPredicate predicate) {
+        int lo = dataStart;
+        int hi = limit;
+        while (lo < hi) {
+            int line = lineStart(lo + ((hi - lo) >>> 1));
+            if (predicate.test(line)) {
+                hi = line;
+            } else {
+                lo = nextLine(line);
+            }
+        }
+        return lo;
+    }
+
+    private int lineStart(int position) {
+        while (position > dataStart && data.get(position - 1) != '\n') {
+            position--;
+        }
+        return position;
+    }
+
+    private int nextLine(int position) {
+        while (position < limit && data.get(position) != '\n') {
+            position++;
+        }
+        return Math.min(position + 1, limit);
+    }
+
+    /**
+     * {@code yyyy-MM-dd} at {@code position} as the integer {@code yyyyMMdd}, which orders like the date.
+     */
+    private int dateKeyAt(int position) {
+        if (position + 10 > limit || !isDigit(data.get(position))) {
+            return Integer.MIN_VALUE;
+        }
+        return digits(position, 4) * 10_000 + digits(position + 5, 2) * 100 + digits(position + 8, 2);
+    }
+
+    private int digits(int position, int count) {
+        int value = 0;
+        for (int i = position; i < position + count; i++) {
+            value = value * 10 + (data.get(i) - '0');
+        }
+        return value;
+    }
+
+    private double parseClose(int position) {
+        int end = position;
+        while (end < limit && data.get(end) != '\n' && data.get(end) != '\r' && data.get(end) != ';') {
+            end++;
+        }
+
+        int i = position;
+        boolean negative = i < end && data.get(i) == '-';
+        if (negative) {
+            i++;
+        }
+        long mantissa = 0;
+        int scale = -1;
+        for (; i < end; i++) {
+            byte b = data.get(i);
+            if (b == '.' && scale < 0) {
+                scale = 0;
+            } else if (isDigit(b) && mantissa < MAX_EXACT_MANTISSA / 10) {
+                mantissa = mantissa * 10 + (b - '0');
+                if (scale >= 0) {
+                    scale++;
+                }
+            } else {
+                return parseSlow(position, end);
+            }
+        }
+        if (scale >= POWERS_OF_TEN.length) {
+            return parseSlow(position, end);
+        }
+        double value = scale > 0 ? mantissa / POWERS_OF_TEN[scale] : mantissa;
+        return negative ? -value : value;
+    }
+
+    // exponents, very long mantissas and anything unexpected go through the JDK parser
+    private double parseSlow(int from, int to) {
+        byte[] bytes = new byte[to - from];
+        data.get(from, bytes);
+        return Double.parseDouble(new String(bytes, StandardCharsets.US_ASCII));
+    }
+
+    // trailing newlines and blank lines would otherwise be read as the last row, with no date to order by
+    private static int trimTrailingBlanks(ByteBuffer data) {
+        int end = data.limit();
+        while (end > 0 && isBlank(data.get(end - 1))) {
+            end--;
+        }
+        return end;
+    }
+
+    private static boolean isBlank(byte b) {
+        return b == '\n' || b == '\r' || b == ' ' || b == '\t';
+    }
+
+    private static int dateKey(LocalDate date) {
+        return date.getYear() * 10_000 + date.getMonthValue() * 100 + date.getDayOfMonth();
+    }
+
+    /**
+     * Days since 1970-01-01 for a {@code yyyyMMdd} key, using the civil-from-days algorithm so no
+     * {@link LocalDate} is created per row.
+     */
+    static long epochDay(int key) {
+        int year = key / 10_000;
+        int month = key / 100 % 100;
+        int day = key % 100;
+        year -= month <= 2 ? 1 : 0;
+        int era = Math.floorDiv(year, 400);
+        int yearOfEra = year - era * 400;
+        int dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146_097L + dayOfEra - 719_468L;
+    }
+
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+}
@@ -0,0 +1,26 @@
+package com.strategy.trade.service.fetch;
+
+import java.util.List;
+
+/**
+ * Snapshot of one historical collection job. A chunk is one time-series request; cached chunks were served by
+ * the response cache without touching the quota.
+ */
+public record FetchProgress(String jobId,
+                            List<String> symbols,
+                            String timeFrames,
+                            int year,
+                            int chunksTotal,
+                            int chunksFetched,
+                            int chunksCached,
+                            int chunksFailed,
+                            int monthsTotal,
+                            int monthsExported,
+                            long recordsExported,
+                            boolean done,
+                            long elapsedMillis) {
+
+    public double chunksPerMinute() {
+        return elapsedMillis == 0 ? 0 : (chunksFetched + chunksCached) * 60_000.0 / elapsedMillis;
+    }
+}
@@ -0,0 +1,269 @@
+package com.strategy.trade.service.fetch;
+
+import com.strategy.trade.model.StockResponse;
+import com.strategy.trade.model.enums.TimeFrame;
+import com.strategy.trade.service.bars.BarResampler;
+import com.strategy.trade.service.bars.TradingSession;
+import com.strategy.trade.service.csv.CsvService;
+import com.strategy.trade.service.csv.HistoricalDataService;
+import com.strategy.trade.strategy.dataclient.TwelveDataClient;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static com.strategy.trade.service.csv.HistoricalDataService.MARKET_OPEN;
+
+/**
+ * Collects a year of intraday history for many symbols at once. Every (symbol, month) runs as a pipeline of
+ * three stages on separate executors: its chunk requests on the fetch executor, gated by the shared
+ * {@link TokenBucket} inside {@link TwelveDataClient}; {@code limitFirstIntervalsPerDay} on the backtest pool;
+ * the CSV export on the export executor. All chunks of a job are queued up front, so the fetch workers always
+ * have the next request ready when a token arrives while earlier months are still being filtered and written.
+ */
+@Slf4j
+@Service
+public class FetchScheduler {
+
+    private static final DateTimeFormatter API_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd H:mm:ss");
+    // the provider returns at most 5000 records per request, so months are split into chunks
+    private static final int RECORD_LIMIT_WARNING = 4500;
+
+    private final TwelveDataClient twelveDataClient;
+    private final HistoricalDataService historicalDataService;
+    private final CsvService csvService;
+    private final Executor fetchExecutor;
+    private final ForkJoinPool filterPool;
+    private final Executor exportExecutor;
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    private final AtomicLong jobIds = new AtomicLong();
+
+    public FetchScheduler(TwelveDataClient twelveDataClient, HistoricalDataService historicalDataService,
+                          CsvService csvService,
+                          @Qualifier("fetchExecutor") Executor fetchExecutor,
+                          @Qualifier("backtestPool") ForkJoinPool filterPool,
+                          @Qualifier("exportExecutor") Executor exportExecutor) {
+        this.twelveDataClient = twelveDataClient;
+        this.historicalDataService = historicalDataService;
+        this.csvService = csvService;
+        this.fetchExecutor = fetchExecutor;
+        this.filterPool = filterPool;
+        this.exportExecutor = exportExecutor;
+    }
+
+    /**
+     * Collects one timeframe: five-minute opening range bars, or one-minute bars after the opening range.
+     */
+    public FetchProgress submit(List<String> symbols, TimeFrame timeFrame, int year) {
+        Plan plan = TimeFrame.FIVE_MIN.equals(timeFrame)
+                // 3 chunks keep a month of 5-minute bars under the record limit
+                ? new Plan(TimeFrame.FIVE_MIN, 3, MARKET_OPEN, LocalTime.of(9, 46), timeFrame.name(),
+                monthData -> Map.of(TimeFrame.FIVE_MIN,
+                        historicalDataService.limitFirstIntervalsPerDay(monthData, TimeFrame.FIVE_MIN)))
+                : new Plan(TimeFrame.ONE_MIN, 4, LocalTime.of(9, 46), LocalTime.of(11, 0), timeFrame.name(),
+                monthData -> Map.of(TimeFrame.ONE_MIN,
+                        historicalDataService.limitFirstIntervalsPerDay(monthData, TimeFrame.ONE_MIN)));
+        return start(symbols, year, plan);
+    }
+
+    /**
+     * Collects both ORB timeframes from one-minute data only; the five-minute opening range bars are resampled
+     * from the same responses instead of costing their own requests.
+     */
+    public FetchProgress submitOrb(List<String> symbols, int year) {
+        Plan plan = new Plan(TimeFrame.ONE_MIN, 4, MARKET_OPEN, LocalTime.of(11, 0),
+                TimeFrame.FIVE_MIN + "," + TimeFrame.ONE_MIN,
+                monthData -> {
+                    Map<TimeFrame, List<StockResponse.Value>> filtered = new LinkedHashMap<>();
+                    filtered.put(TimeFrame.FIVE_MIN, historicalDataService.limitFirstIntervalsPerDay(
+                            BarResampler.resample(monthData, TimeFrame.FIVE_MIN, TradingSession.US_EQUITIES),
+                            TimeFrame.FIVE_MIN));
+                    filtered.put(TimeFrame.ONE_MIN,
+                            historicalDataService.limitFirstIntervalsPerDay(monthData, TimeFrame.ONE_MIN));
+                    return filtered;
+                });
+        return start(symbols, year, plan);
+    }
+
+    public Optional<FetchProgress> progress(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId)).map(Job::snapshot);
+    }
+
+    public List<FetchProgress> jobs() {
+        return jobs.values().stream().map(Job::snapshot).toList();
+    }
+
+    /**
+     * Waits for a job to finish, e.g. for callers that collect synchronously.
+     */
+    public FetchProgress await(String jobId) {
+        Job job = jobs.get(jobId);
+        if (job == null) {
+            throw new IllegalArgumentException("Unknown fetch job " + jobId);
+        }
+        job.completion.join();
+        return job.snapshot();
+    }
+
+    private FetchProgress start(List<String> symbols, int year, Plan plan) {
+        Job job = new Job("fetch-" + jobIds.incrementAndGet(), List.copyOf(symbols), plan.label(), year);
+
+        List<CompletableFuture<Void>> months = new ArrayList<>();
+        // month-major order, so every symbol's early months are exported before any symbol's late ones
+        for (int month = 1; month <= 12; month++) {
+            LocalDate firstDay = LocalDate.of(year, month, 1);
+            LocalDate lastDay = firstDay.withDayOfMonth(firstDay.lengthOfMonth());
+            for (String symbol : job.symbols) {
+                months.add(collectMonth(job, symbol, firstDay, lastDay, plan));
+            }
+        }
+        job.monthsTotal = months.size();
+        job.completion = CompletableFuture.allOf(months.toArray(CompletableFuture[]::new))
+                .whenComplete((ignored, error) -> {
+                    job.finishedNanos = System.nanoTime();
+                    FetchProgress progress = job.snapshot();
+                    log.info("Fetch job {} complete! {} chunks fetched, {} cached, {} failed, {} records exported"
+                                    + " in {} ms", job.id, progress.chunksFetched(), progress.chunksCached(),
+                            progress.chunksFailed(), progress.recordsExported(), progress.elapsedMillis());
+                });
+        jobs.put(job.id, job);
+
+        log.info("Fetch job {} queued {} chunks over {} months for {}", job.id, job.chunksTotal.get(),
+                job.monthsTotal, job.symbols);
+        return job.snapshot();
+    }
+
+    private CompletableFuture<Void> collectMonth(Job job, String symbol, LocalDate firstDay, LocalDate lastDay,
+                                                 Plan plan) {
+        List<CompletableFuture<List<StockResponse.Value>>> chunks = new ArrayList<>();
+        for (String[] chunk : chunks(firstDay, lastDay, plan)) {
+            job.chunksTotal.incrementAndGet();
+            chunks.add(CompletableFuture.supplyAsync(
+                    () -> fetchChunk(job, symbol, plan.fetched(), chunk[0], chunk[1]), fetchExecutor));
+        }
+
+        return CompletableFuture.allOf(chunks.toArray(CompletableFuture[]::new))
+                .thenApplyAsync(ignored -> {
+                    List<StockResponse.Value> monthData = new ArrayList<>();
+                    chunks.forEach(chunk -> monthData.addAll(chunk.join()));
+                    return plan.filter().apply(monthData);
+                }, filterPool)
+                .thenAcceptAsync(filtered -> {
+                    long records = 0;
+                    for (Map.Entry<TimeFrame, List<StockResponse.Value>> entry : filtered.entrySet()) {
+                        if (!entry.getValue().isEmpty()) {
+                            csvService.exportToCsvTwelve(symbol, entry.getKey(), entry.getValue());
+                            records += entry.getValue().size();
+                        }
+                    }
+                    job.recordsExported.addAndGet(records);
+                    job.monthsExported.incrementAndGet();
+                    log.info("[{}] Month {}: exported {} records", symbol, firstDay.getMonthValue(), records);
+                }, exportExecutor)
+                .exceptionally(e -> {
+                    log.error("[{}] Error processing month {}: {}", symbol, firstDay.getMonthValue(),
+                            e.getMessage(), e);
+                    return null;
+                });
+    }
+
+    private List<StockResponse.Value> fetchChunk(Job job, String symbol, TimeFrame timeFrame,
+                                                 String startTime, String endTime) {
+        try {
+            boolean cached = twelveDataClient.isCached(symbol, timeFrame.getTwelveFormat(), startTime, endTime);
+            List<StockResponse.Value> values = twelveDataClient
+                    .timeSeries(symbol, timeFrame.getTwelveFormat(), startTime, endTime).getValues();
+            (cached ? job.chunksCached : job.chunksFetched).incrementAndGet();
+
+            if (values == null || values.isEmpty()) {
+                log.warn("[{}] No data returned for chunk {} to {}", symbol, startTime, endTime);
+                return List.of();
+            }
+            if (values.size() >= RECORD_LIMIT_WARNING) {
+                log.warn("[{}] Chunk {} to {} returned {} records - close to API limit. Consider smaller chunks.",
+                        symbol, startTime, endTime, values.size());
+            }
+            return values;
+        } catch (Exception e) {
+            job.chunksFailed.incrementAndGet();
+            log.error("[{}] Error processing chunk {} to {}: {}", symbol, startTime, endTime, e.getMessage(), e);
+            return List.of();
+        }
+    }
+
+    /**
+     * Splits a month into {@code plan.chunks()} date ranges, each from the first day's start time to the last
+     * day's end time.
+     */
+    private static List<String[]> chunks(LocalDate firstDay, LocalDate lastDay, Plan plan) {
+        List<String[]> chunks = new ArrayList<>();
+        long totalDays = ChronoUnit.DAYS.between(firstDay, lastDay) + 1;
+        long daysPerChunk = Math.max(1, totalDays / plan.chunks());
+
+        LocalDate chunkStart = firstDay;
+        while (!chunkStart.isAfter(lastDay)) {
+            LocalDate chunkEnd = chunkStart.plusDays(daysPerChunk - 1);
+            if (chunkEnd.isAfter(lastDay)) {
+                chunkEnd = lastDay;
+            }
+            chunks.add(new String[]{
+                    chunkStart.atTime(plan.startOfFirstDay()).format(API_FORMATTER),
+                    chunkEnd.atTime(plan.endOfLastDay()).format(API_FORMATTER)});
+            chunkStart = chunkStart.plusDays(daysPerChunk);
+        }
+        return chunks;
+    }
+
+    private record Plan(TimeFrame fetched, int chunks, LocalTime startOfFirstDay, LocalTime endOfLastDay,
+                        String label,
+                        Function<List<StockResponse.Value>, Map<TimeFrame, List<StockResponse.Value>>> filter) {
+    }
+
+    private static class Job {
+        private final String id;
+        private final List<String> symbols;
+        private final String timeFrames;
+        private final int year;
+        private final long startedNanos = System.nanoTime();
+        private volatile long finishedNanos;
+        private volatile int monthsTotal;
+        private volatile CompletableFuture<Void> completion;
+        private final AtomicInteger chunksTotal = new AtomicInteger();
+        private final AtomicInteger chunksFetched = new AtomicInteger();
+        private final AtomicInteger chunksCached = new AtomicInteger();
+        private final AtomicInteger chunksFailed = new AtomicInteger();
+        private final AtomicInteger monthsExported = new AtomicInteger();
+        private final AtomicLong recordsExported = new AtomicLong();
+
+        private Job(String id, List<String> symbols, String timeFrames, int year) {
+            this.id = id;
+            this.symbols = symbols;
+            this.timeFrames = timeFrames;
+            this.year = year;
+        }
+
+        private FetchProgress snapshot() {
+            long end = finishedNanos == 0 ? System.nanoTime() : finishedNanos;
+            return new FetchProgress(id, symbols, timeFrames, year, chunksTotal.get(), chunksFetched.get(),
+                    chunksCached.get(), chunksFailed.get(), monthsTotal, monthsExported.get(),
+                    recordsExported.get(), finishedNanos != 0, (end - startedNanos) / 1_000_000);
+        }
+    }
+}
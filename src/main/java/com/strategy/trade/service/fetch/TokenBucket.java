@@ -0,0 +1,113 @@
+package com.strategy.trade.service.fetch;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Provider request quota shared by every caller: {@code permitsPerMinute} tokens are added at an even pace and
+ * up to {@code burst} are kept for idle periods. With a burst of one, calls are spaced exactly like a fixed
+ * delay, but the wait is only paid when the previous call was less than one interval ago.
+ * <p>
+ * Live quotes take the priority lane: while a priority caller waits, bulk callers are refused even when a
+ * token is available, so a quote waits at most one interval however many history chunks are queued.
+ */
+public class TokenBucket {
+
+    private final long nanosPerToken;
+    private final long capacity;
+    private final LongSupplier nanoClock;
+
+    private long tokens;
+    private long lastRefill;
+    private long acquired;
+    private int priorityWaiting;
+
+    public TokenBucket(int permitsPerMinute, int burst) {
+        this(permitsPerMinute, burst, System::nanoTime);
+    }
+
+    TokenBucket(int permitsPerMinute, int burst, LongSupplier nanoClock) {
+        if (permitsPerMinute <= 0 || burst <= 0) {
+            throw new IllegalArgumentException("Invalid rate " + permitsPerMinute + "/min, burst " + burst);
+        }
+        this.nanosPerToken = Duration.ofMinutes(1).toNanos() / permitsPerMinute;
+        this.capacity = burst;
+        this.nanoClock = nanoClock;
+        this.tokens = burst;
+        this.lastRefill = nanoClock.getAsLong();
+    }
+
+    /**
+     * Blocks until a token is available and takes it.
+     *
+     * @throws IllegalStateException when interrupted while waiting; the interrupt flag is restored
+     */
+    public void acquire() {
+        await(false);
+    }
+
+    /**
+     * Blocks until a token is available and takes it ahead of every bulk caller.
+     *
+     * @throws IllegalStateException when interrupted while waiting; the interrupt flag is restored
+     */
+    public void acquirePriority() {
+        synchronized (this) {
+            priorityWaiting++;
+        }
+        try {
+            await(true);
+        } finally {
+            synchronized (this) {
+                priorityWaiting--;
+            }
+        }
+    }
+
+    private void await(boolean priority) {
+        long wait;
+        while ((wait = take(priority)) > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for the request quota", e);
+            }
+        }
+    }
+
+    /**
+     * Takes a token if one is available and no priority caller is waiting for it.
+     *
+     * @return {@code 0} when a token was taken, otherwise the nanoseconds until the next one arrives
+     */
+    public long tryAcquire() {
+        return take(false);
+    }
+
+    private synchronized long take(boolean priority) {
+        long now = nanoClock.getAsLong();
+        long added = (now - lastRefill) / nanosPerToken;
+        tokens = Math.min(capacity, tokens + added);
+        // a full bucket does not bank time, so the token after a burst is still a whole interval away
+        lastRefill = tokens == capacity ? now : lastRefill + added * nanosPerToken;
+        if (tokens > 0 && (priority || priorityWaiting == 0)) {
+            tokens--;
+            acquired++;
+            return 0;
+        }
+        return lastRefill + nanosPerToken - now;
+    }
+
+    /**
+     * Tokens handed out so far, i.e. requests sent to the provider.
+     */
+    public synchronized long acquired() {
+        return acquired;
+    }
+
+    synchronized int priorityWaiting() {
+        return priorityWaiting;
+    }
+}
@@ -0,0 +1,156 @@
+package com.strategy.trade.service.history;
+
+import com.strategy.trade.model.TradeData;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Trades of one symbol covering a sliding time window, held in timestamp order in a ring of parallel arrays so
+ * range queries are two binary searches on the timestamps. Trades older than the window behind the newest one
+ * are dropped as new trades arrive; the ring doubles while the window holds more trades than fit, up to
+ * {@code maxTrades}, after which the oldest trade makes room and a late trade older than all of them is dropped.
+ * A late trade is moved into place from the tail, which is cheap because Finnhub frames are only locally out of
+ * order.
+ */
+public class TradeRingBuffer {
+
+    private final long windowMillis;
+    private final int maxTrades;
+
+    private long[] timestamps;
+    private TradeData[] trades;
+    private int head;
+    private int size;
+
+    public TradeRingBuffer(Duration window, int initialCapacity, int maxTrades) {
+        if (window.isNegative() || window.isZero() || initialCapacity <= 0 || maxTrades < initialCapacity) {
+            throw new IllegalArgumentException("Invalid window " + window + ", capacity " + initialCapacity
+                    + ", max " + maxTrades);
+        }
+        this.windowMillis = window.toMillis();
+        this.maxTrades = maxTrades;
+        this.timestamps = new long[initialCapacity];
+        this.trades = new TradeData[initialCapacity];
+    }
+
+    /**
+     * Adds a trade in timestamp order; a trade already outside the window, or older than every kept trade once
+     * the cap is reached, is ignored.
+     *
+     * @return whether the trade was kept
+     */
+    public synchronized boolean add(TradeData trade) {
+        long timestamp = trade.getTimestamp();
+        if (size > 0 && timestamp < timestampAt(size - 1) - windowMillis) {
+            return false;
+        }
+        if (size > 0 && timestamp > timestampAt(size - 1)) {
+            evictBefore(timestamp - windowMillis);
+        }
+        if (size == timestamps.length) {
+            if (timestamps.length < maxTrades) {
+                grow();
+            } else if (timestamp < timestamps[head]) {
+                return false;
+            } else {
+                evictOldest();
+            }
+        }
+
+        // equal timestamps keep their arrival order
+        int position = size;
+        while (position > 0 && timestampAt(position - 1) > timestamp) {
+            int from = physical(position - 1);
+            int to = physical(position);
+            timestamps[to] = timestamps[from];
+            trades[to] = trades[from];
+            position--;
+        }
+        int index = physical(position);
+        timestamps[index] = timestamp;
+        trades[index] = trade;
+        size++;
+        return true;
+    }
+
+    /**
+     * Trades with {@code from <= timestamp <= to}, newest first.
+     */
+    public synchronized List<TradeData> between(long from, long to) {
+        int start = firstAtOrAfter(from);
+        int end = to == Long.MAX_VALUE ? size : firstAtOrAfter(to + 1);
+        List<TradeData> result = new ArrayList<>(Math.max(0, end - start));
+        for (int i = end - 1; i >= start; i--) {
+            result.add(trades[physical(i)]);
+        }
+        return result;
+    }
+
+    /**
+     * Trades at or after {@code from}, newest first.
+     */
+    public List<TradeData> since(long from) {
+        return between(from, Long.MAX_VALUE);
+    }
+
+    /**
+     * Start of the window behind the newest trade, or {@link Long#MIN_VALUE} when empty; nothing older is kept.
+     */
+    public synchronized long windowStart() {
+        return size == 0 ? Long.MIN_VALUE : timestampAt(size - 1) - windowMillis;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    private void evictBefore(long cutoff) {
+        while (size > 0 && timestamps[head] < cutoff) {
+            evictOldest();
+        }
+    }
+
+    private void evictOldest() {
+        trades[head] = null;
+        head = (head + 1) % timestamps.length;
+        size--;
+    }
+
+    private void grow() {
+        int capacity = (int) Math.min(maxTrades, timestamps.length * 2L);
+        long[] grownTimestamps = new long[capacity];
+        TradeData[] grownTrades = new TradeData[capacity];
+        for (int i = 0; i < size; i++) {
+            grownTimestamps[i] = timestampAt(i);
+            grownTrades[i] = trades[physical(i)];
+        }
+        timestamps = grownTimestamps;
+        trades = grownTrades;
+        head = 0;
+    }
+
+    // index of the first trade at or after timestamp, in [0, size]
+    private int firstAtOrAfter(long timestamp) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (timestampAt(mid) < timestamp) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private long timestampAt(int logical) {
+        return timestamps[physical(logical)];
+    }
+
+    private int physical(int logical) {
+        return (head + logical) % timestamps.length;
+    }
+}
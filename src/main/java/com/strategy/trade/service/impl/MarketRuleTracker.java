@@ -0,0 +1,48 @@
+package com.strategy.trade.service.impl;
+
+import com.strategy.trade.strategy.model.MarketRule;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Scope;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tick sizes per symbol, from the market rules IB attaches to contract details. Symbols whose rule has not
+ * arrived yet trade on {@link MarketRule#US_EQUITIES}.
+ */
+@Slf4j
+@Service
+@Scope("singleton")
+public class MarketRuleTracker {
+
+    private final Map<Integer, MarketRule> rules = new ConcurrentHashMap<>();
+    private final Map<String, Integer> symbolRules = new ConcurrentHashMap<>();
+
+    /**
+     * Links {@code symbol} to the first id of IB's comma-separated {@code marketRuleIds}, which follows the
+     * order of the valid exchanges.
+     *
+     * @return the rule id when it still has to be requested, otherwise {@code -1}
+     */
+    public int assign(String symbol, String marketRuleIds) {
+        if (symbol == null || marketRuleIds == null || marketRuleIds.isBlank()) {
+            return -1;
+        }
+        int ruleId = Integer.parseInt(marketRuleIds.split(",")[0].trim());
+        symbolRules.put(symbol, ruleId);
+        return rules.containsKey(ruleId) ? -1 : ruleId;
+    }
+
+    public void putRule(int ruleId, MarketRule rule) {
+        rules.put(ruleId, rule);
+        log.info("Market rule {} - {}", ruleId, rule);
+    }
+
+    public MarketRule forSymbol(String symbol) {
+        Integer ruleId = symbolRules.get(symbol);
+        MarketRule rule = ruleId == null ? null : rules.get(ruleId);
+        return rule == null ? MarketRule.US_EQUITIES : rule;
+    }
+}
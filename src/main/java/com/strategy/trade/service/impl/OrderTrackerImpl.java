@@ -4,6 +4,7 @@ import com.strategy.trade.mapper.OrderMapper;
 import com.strategy.trade.model.OrderHolder;
 import com.strategy.trade.model.OrderModel;
 import com.strategy.trade.service.OrderTracker;
+import com.strategy.trade.strategy.model.TickSize;
 import com.ib.client.*;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
@@ -13,6 +14,7 @@ import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -49,9 +51,10 @@ public class OrderTrackerImpl implements OrderTracker {
     }
 
     @Override
-    public List<Order> placeMarketOrder(Contract contract, Types.Action action, double quantity, BigDecimal stopPrice) {
+    public List<Order> placeMarketOrder(Contract contract, Types.Action action, double quantity, BigDecimal stopPrice,
+                                        TickSize tickSize) {
         int baseOrderId = ++orderId;
-        List<Order> complexBracketOrder = createComplexBracketOrder(baseOrderId, stopPrice);
+        List<Order> complexBracketOrder = createComplexBracketOrder(baseOrderId, stopPrice, tickSize);
         // Ensure contract uses SMART routing
         contract.exchange("SMART");
 
@@ -83,9 +86,10 @@ public class OrderTrackerImpl implements OrderTracker {
 
     }
 
-    public List<Order> placeMarketOrder(Types.Action action, double quantity, BigDecimal stopPrice) {
+    public List<Order> placeMarketOrder(Types.Action action, double quantity, BigDecimal stopPrice,
+                                        TickSize tickSize) {
         int baseOrderId = ++orderId;
-        return createComplexBracketOrder(baseOrderId, stopPrice);
+        return createComplexBracketOrder(baseOrderId, stopPrice, tickSize);
     }
 
     @Override
@@ -130,7 +134,11 @@ public class OrderTrackerImpl implements OrderTracker {
         return order;
     }
 
-    public List<Order> createComplexBracketOrder(int baseOrderId, BigDecimal stopPrice) {
+    /**
+     * Parent market order with stop-loss and take-profit children. IB rejects child prices off the
+     * instrument's tick grid, so both are rounded to the nearest multiple of {@code tickSize}.
+     */
+    public List<Order> createComplexBracketOrder(int baseOrderId, BigDecimal stopPrice, TickSize tickSize) {
 
         ComplexOrderConfig config = createSimpleConfig(Decimal.get(BigDecimal.TEN), Types.Action.BUY);
 
@@ -141,12 +149,13 @@ public class OrderTrackerImpl implements OrderTracker {
         orders.add(parentOrder);
 
         // 2. Create Stop Loss Child Order
-        Order stopLossOrder = createStopLossOrder(config, baseOrderId + 1, baseOrderId, stopPrice);
+        Order stopLossOrder = createStopLossOrder(config, baseOrderId + 1, baseOrderId,
+                roundToTick(stopPrice, tickSize));
         orders.add(stopLossOrder);
 
         // 3. Create Take Profit Child Order
         Order takeProfitOrder = createTakeProfitOrder(config, baseOrderId + 2, baseOrderId,
-                stopPrice.add(BigDecimal.valueOf(defaultTakeProfitRange)));
+                roundToTick(stopPrice.add(BigDecimal.valueOf(defaultTakeProfitRange)), tickSize));
         orders.add(takeProfitOrder);
 
         return orders;
@@ -231,6 +240,10 @@ public class OrderTrackerImpl implements OrderTracker {
         );
     }
 
+    private static BigDecimal roundToTick(BigDecimal price, TickSize tickSize) {
+        return tickSize.toBigDecimal(tickSize.ticks(price, RoundingMode.HALF_UP));
+    }
+
     private Types.Action getOppositeAction(Types.Action action) {
         return action == Types.Action.BUY ? Types.Action.SELL : Types.Action.BUY;
     }
@@ -1,7 +1,7 @@
 package com.strategy.trade.strategy;
 
+import com.strategy.trade.model.CandleBar;
 import com.strategy.trade.model.PositionHolder;
-import com.strategy.trade.model.TwelveCandleBar;
 import com.strategy.trade.model.enums.TimeFrame;
 import com.strategy.trade.service.OrderTracker;
 import com.strategy.trade.service.impl.PositionTracker;
@@ -11,7 +11,10 @@ import com.strategy.trade.strategy.enums.StrategyType;
 import com.strategy.trade.strategy.enums.TradingState;
 import com.strategy.trade.strategy.model.BreakoutData;
 import com.strategy.trade.strategy.model.OpeningRange;
+import com.strategy.trade.strategy.model.StrategyParameters;
 import com.strategy.trade.strategy.model.SymbolTradingState;
+import com.strategy.trade.strategy.model.TickSize;
+import com.strategy.trade.strategy.model.TradingClock;
 import com.strategy.trade.strategy.model.TradingContext;
 import com.ib.client.Contract;
 import com.ib.client.Order;
@@ -24,8 +27,9 @@ import org.springframework.stereotype.Component;
 
 import java.io.File;
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Collections;
 import java.util.List;
@@ -33,7 +37,6 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 
-import static com.strategy.trade.strategy.enums.StrategyMode.LIVE;
 import static com.strategy.trade.strategy.enums.TradingState.MONITORING_FOR_BREAKOUT;
 import static com.strategy.trade.strategy.enums.TradingState.MONITORING_FOR_RETEST;
 import static com.strategy.trade.strategy.utils.FileUtils.writeToLog;
@@ -45,10 +48,8 @@ public class AsyncOrbStrategy implements AsyncTradingStrategy {
     @Getter
     StrategyType strategyType = StrategyType.ORB;
 
-    // Configuration
-    private static final int OPENING_RANGE_MINUTES = 15; // 9:30-9:45
-    private static final int BREAKOUT_CONFIRMATION_BARS = 2;
-    private static final BigDecimal RETEST_BUFFER = new BigDecimal("0.02");
+    // Configuration defaults live in StrategyParameters.DEFAULT and can be overridden per context
+    public static final int OPENING_RANGE_BAR_MINUTES = 5;
 
     private final StockDataClient dataClient;
     private final OrderTracker orderTracker;
@@ -74,29 +75,31 @@ public class AsyncOrbStrategy implements AsyncTradingStrategy {
 
         try {
             SymbolTradingState state = context.getState();
+            StrategyParameters parameters = context.getParameters();
+            int openingRangeBars = parameters.openingRangeMinutes() / OPENING_RANGE_BAR_MINUTES;
             if (state.getCurrentState() != TradingState.COLLECTING_OPENING_RANGE) {
-                initializeSymbolForNewTradingDay(symbol, state);
+                initializeSymbolForNewTradingDay(symbol, state, context.getClock());
             }
             state.setTestDate(date);
 
-            for (int i = 0; i < 3; i++) {
-                TwelveCandleBar fiveMinBar = fetchFiveMinuteCandle(symbol, date);
+            for (int i = 0; i < openingRangeBars; i++) {
+                CandleBar fiveMinBar = fetchFiveMinuteCandle(symbol, date);
                 if (fiveMinBar != null) {
                     state.getFiveMinuteBars().add(fiveMinBar);
 
                     log.info("[{}] Collected 5min bar {}/{}: High={}, Low={}, Close={}",
-                            symbol, state.getFiveMinuteBars().size(), OPENING_RANGE_MINUTES / 5,
-                            fiveMinBar.getHigh(), fiveMinBar.getLow(), fiveMinBar.getClose());
+                            symbol, state.getFiveMinuteBars().size(), openingRangeBars,
+                            fiveMinBar.high(), fiveMinBar.low(), fiveMinBar.close());
 
                     // Check if we've collected enough bars for opening range
-                    if (state.getFiveMinuteBars().size() >= OPENING_RANGE_MINUTES / 5) {
-                        calculateOpeningRange(symbol, state);
-                        transitionToBreakoutMonitoring(symbol, state);
+                    if (state.getFiveMinuteBars().size() >= openingRangeBars) {
+                        calculateOpeningRange(symbol, state, context);
+                        transitionToBreakoutMonitoring(symbol, state, context.getClock());
                     }
                 }
                 log.info("{} [{}] Waiting 5 minutes before next interval", date, symbol);
-                if (LIVE.equals(context.getMode()) && i < 2)
-                    Thread.sleep(5 * 60 * 1000); // 5 minutes
+                if (i < openingRangeBars - 1)
+                    context.getClock().sleep(Duration.ofMinutes(OPENING_RANGE_BAR_MINUTES)); // virtual in backtests
             }
         } catch (Exception e) {
             log.error("[{}] - {} Error collecting opening range data", symbol, date, e);
@@ -126,17 +129,17 @@ public class AsyncOrbStrategy implements AsyncTradingStrategy {
             SymbolTradingState state = context.getState();
             if (state == null) return CompletableFuture.completedFuture(Collections.emptyList());
 
-            TwelveCandleBar oneMinBar = fetchOneMinuteCandle(symbol, date);
+            CandleBar oneMinBar = fetchOneMinuteCandle(symbol, date);
             if (oneMinBar != null) {
                 if (state.getCurrentState() == MONITORING_FOR_BREAKOUT) {
-                    handleBreakoutMonitoring(symbol, state, oneMinBar);
+                    handleBreakoutMonitoring(symbol, state, oneMinBar, context);
                 } else if (state.getCurrentState() == MONITORING_FOR_RETEST) {
                     return handleRetestMonitoring(context, oneMinBar);
                 }
 
                 writeToLog(symbol + "/" + state.getTestDate() + ".log",
                         String.format("[%s] One min bar added: Close=%s > Opening High=%s",
-                                symbol, oneMinBar.getClose(), state.getOpeningRange().high()));
+                                symbol, oneMinBar.close(), state.getOpeningRange().highPrice()));
             }
         } catch (Exception e) {
             log.error("[{}] Error monitoring for breakout/retest", symbol, e);
@@ -145,63 +148,63 @@ public class AsyncOrbStrategy implements AsyncTradingStrategy {
         return CompletableFuture.completedFuture(Collections.emptyList());
     }
 
-    private void initializeSymbolForNewTradingDay(String symbol, SymbolTradingState state) {
+    private void initializeSymbolForNewTradingDay(String symbol, SymbolTradingState state, TradingClock clock) {
         state.reset();
         state.setCurrentState(TradingState.COLLECTING_OPENING_RANGE);
-        state.setMarketOpenTime(LocalDateTime.now());
+        state.setMarketOpenTime(clock.localNow());
 
         log.info("[{}] Initialized for new trading day at {}", symbol, state.getMarketOpenTime());
     }
 
-    private void calculateOpeningRange(String symbol, SymbolTradingState state) {
-        List<TwelveCandleBar> fiveMinuteBars = state.getFiveMinuteBars();
+    private void calculateOpeningRange(String symbol, SymbolTradingState state, TradingContext context) {
+        List<CandleBar> fiveMinuteBars = state.getFiveMinuteBars();
         if (fiveMinuteBars.isEmpty()) {
             log.warn("[{}] No 5-minute bars available to calculate opening range", symbol);
             return;
         }
 
-        BigDecimal high = new BigDecimal(fiveMinuteBars.getFirst().getHigh());
-        BigDecimal low = new BigDecimal(fiveMinuteBars.getFirst().getLow());
+        double high = fiveMinuteBars.getFirst().high();
+        double low = fiveMinuteBars.getFirst().low();
 
-        for (TwelveCandleBar bar : fiveMinuteBars) {
-            BigDecimal barHigh = new BigDecimal(bar.getHigh());
-            if (barHigh.compareTo(high) > 0) {
-                high = barHigh;
-            }
-            BigDecimal barLow = new BigDecimal(bar.getLow());
-            if (barLow.compareTo(low) < 0) {
-                low = barLow;
-            }
+        for (CandleBar bar : fiveMinuteBars) {
+            high = Math.max(high, bar.high());
+            low = Math.min(low, bar.low());
         }
 
-        state.setOpeningRange(new OpeningRange(high, low));
+        // the range is widened onto the tick grid so entry and stop derived from it are valid order prices
+        TickSize tickSize = context.getMarketRule().at(high);
+        OpeningRange openingRange = new OpeningRange(tickSize.ceil(high), tickSize.floor(low), tickSize);
+        state.setOpeningRange(openingRange);
+        state.setRetestLevel(openingRange.high()
+                + tickSize.ticks(context.getParameters().retestBuffer(), RoundingMode.CEILING));
+        BigDecimal rangeHigh = tickSize.toBigDecimal(openingRange.high());
+        BigDecimal rangeLow = tickSize.toBigDecimal(openingRange.low());
         log.info("[{}] Opening range calculated - High: {}, Low: {}, Range: {}",
-                symbol, state.getOpeningRange().high(), state.getOpeningRange().low(),
-                state.getOpeningRange().high().subtract(state.getOpeningRange().low()));
+                symbol, rangeHigh, rangeLow, rangeHigh.subtract(rangeLow));
 
         // Write some sample lines to the log file
         new File("logs/" + symbol).mkdirs();
         writeToLog(symbol + "/" + state.getTestDate() + ".log",
                 String.format("[%s] Opening range calculated - High: %s, Low: %s, Range: %s",
-                        symbol, state.getOpeningRange().high(), state.getOpeningRange().low(),
-                        state.getOpeningRange().high().subtract(state.getOpeningRange().low())));
+                        symbol, rangeHigh, rangeLow, rangeHigh.subtract(rangeLow)));
     }
 
-    private void transitionToBreakoutMonitoring(String symbol, SymbolTradingState state) {
+    private void transitionToBreakoutMonitoring(String symbol, SymbolTradingState state, TradingClock clock) {
         state.setCurrentState(MONITORING_FOR_BREAKOUT);
-        state.setBreakoutStartTime(LocalDateTime.now());
+        state.setBreakoutStartTime(clock.localNow());
         state.getOneMinuteBreakoutBars().clear();
 
         log.info("[{}] Transitioning to breakout monitoring phase at {}", symbol, state.getBreakoutStartTime());
     }
 
-    private void handleBreakoutMonitoring(String symbol, SymbolTradingState state, TwelveCandleBar oneMinBar) {
+    private void handleBreakoutMonitoring(String symbol, SymbolTradingState state, CandleBar oneMinBar,
+                                          TradingContext context) {
         OpeningRange openingRange = state.getOpeningRange();
 
-        // Check for upward breakout
-        String close = oneMinBar.getClose();
-        BigDecimal high = openingRange.high();
-        if (new BigDecimal(close).compareTo(high) > 0) {
+        // Check for upward breakout; rounding the close up keeps "close > high" exact for prices between ticks
+        double close = oneMinBar.close();
+        double high = openingRange.highPrice();
+        if (openingRange.tickSize().ceil(close) > openingRange.high()) {
             state.getOneMinuteBreakoutBars().add(oneMinBar);
             log.info("[{}] Potential breakout bar added: Close={} > Opening High={}",
                     symbol, close, high);
@@ -211,14 +214,14 @@ public class AsyncOrbStrategy implements AsyncTradingStrategy {
                             symbol, close, high));
 
             // Check if we have enough confirmation bars
-            if (state.getOneMinuteBreakoutBars().size() >= BREAKOUT_CONFIRMATION_BARS) {
+            if (state.getOneMinuteBreakoutBars().size() >= context.getParameters().breakoutConfirmationBars()) {
                 if (isBreakoutConfirmed(state)) {
-                    confirmBreakout(symbol, state, oneMinBar);
+                    confirmBreakout(symbol, state, oneMinBar, context.getClock());
                 }
             }
         } else {
             // Reset if price closes back below opening high
-            log.info("Candle - {}, Close - {}, High - {}", oneMinBar.getDatetime(), close, high);
+            log.info("Candle - {}, Close - {}, High - {}", oneMinBar.dateTime(), close, high);
             if (!state.getOneMinuteBreakoutBars().isEmpty()) {
                 log.info("[{}] Breakout attempt failed, resetting confirmation bars", symbol);
                 state.getOneMinuteBreakoutBars().clear();
@@ -229,54 +232,62 @@ public class AsyncOrbStrategy implements AsyncTradingStrategy {
     private boolean isBreakoutConfirmed(SymbolTradingState state) {
         OpeningRange openingRange = state.getOpeningRange();
         // All confirmation bars should close above opening high
-        return state.getOneMinuteBreakoutBars().stream()
-                .allMatch(bar -> new BigDecimal(bar.getClose()).compareTo(openingRange.high()) > 0);
+        List<CandleBar> bars = state.getOneMinuteBreakoutBars();
+        for (int i = 0; i < bars.size(); i++) {
+            if (openingRange.tickSize().ceil(bars.get(i).close()) <= openingRange.high()) {
+                return false;
+            }
+        }
+        return true;
     }
 
-    private void confirmBreakout(String symbol, SymbolTradingState state, TwelveCandleBar breakoutBar) {
+    private void confirmBreakout(String symbol, SymbolTradingState state, CandleBar breakoutBar,
+                                 TradingClock clock) {
+        TickSize tickSize = state.getOpeningRange().tickSize();
         BreakoutData breakoutData = new BreakoutData(
-                new BigDecimal(breakoutBar.getClose()),
-                LocalDateTime.now(),
-                new BigDecimal(breakoutBar.getHigh())
+                tickSize.round(breakoutBar.close()),
+                clock.localNow(),
+                tickSize.round(breakoutBar.high())
         );
 
         state.setBreakoutData(breakoutData);
         state.setCurrentState(MONITORING_FOR_RETEST);
-        state.setRetestStartTime(LocalDateTime.now());
+        state.setRetestStartTime(clock.localNow());
 
 
         // Write some sample lines to the log file
-        BigDecimal openingHigh = state.getOpeningRange().high();
+        BigDecimal openingHigh = tickSize.toBigDecimal(state.getOpeningRange().high());
         writeToLog(symbol + "/break/" + state.getTestDate() + ".log",
                 String.format("BREAKOUT %s with price - %s and high - %s",
                         symbol,
-                        breakoutBar.getClose(), openingHigh));
+                        breakoutBar.close(), openingHigh));
 
         log.info("[{}] BREAKOUT CONFIRMED! Price: {}, Time: {}, Opening High: {}",
-                symbol, breakoutData.breakoutPrice(), breakoutData.breakoutTime(),
+                symbol, tickSize.toBigDecimal(breakoutData.breakoutPrice()), breakoutData.breakoutTime(),
                 openingHigh);
     }
 
-    private CompletableFuture<List<Order>> handleRetestMonitoring(TradingContext context, TwelveCandleBar oneMinBar) {
+    private CompletableFuture<List<Order>> handleRetestMonitoring(TradingContext context, CandleBar oneMinBar) {
         SymbolTradingState state = context.getState();
         String symbol = context.getSymbol();
         OpeningRange openingRange = state.getOpeningRange();
-        BigDecimal retestLevel = openingRange.high().add(RETEST_BUFFER);
+        TickSize tickSize = openingRange.tickSize();
+        long retestLevel = state.getRetestLevel();
 
         // Check if low of candle stays above retest level (successful retest)
         // OR if close drops below opening high (deeper retest)
-        CompletableFuture<List<Order>> orders = new CompletableFuture<>();
-        if (new BigDecimal(oneMinBar.getLow()).compareTo(retestLevel) >= 0) {
+        CompletableFuture<List<Order>> orders = CompletableFuture.completedFuture(Collections.emptyList());
+        if (tickSize.floor(oneMinBar.low()) >= retestLevel) {
             // Shallow retest - price held above breakout level
             log.info("[{}] SHALLOW RETEST DETECTED - Low: {} held above retest level: {}",
-                    symbol, oneMinBar.getLow(), retestLevel);
+                    symbol, oneMinBar.low(), tickSize.toDouble(retestLevel));
             orders = confirmRetestAndPrepareEntry(symbol, context, "SHALLOW");
 
 
-        } else if (new BigDecimal(oneMinBar.getClose()).compareTo(openingRange.high()) <= 0) {
+        } else if (tickSize.ceil(oneMinBar.close()) <= openingRange.high()) {
             // Deeper retest - price closed back below opening high
             log.info("[{}] DEEP RETEST DETECTED - Close: {} back below opening high: {}",
-                    symbol, oneMinBar.getClose(), openingRange.high());
+                    symbol, oneMinBar.close(), openingRange.highPrice());
             orders = confirmRetestAndPrepareEntry(symbol, context, "DEEP");
         }
         return orders;
@@ -287,10 +298,13 @@ public class AsyncOrbStrategy implements AsyncTradingStrategy {
         log.info("[{}] RETEST CONFIRMED ({})! Ready for entry logic.", symbol, retestType);
         var state = context.getState();
         OpeningRange openingRange = state.getOpeningRange();
-        // Calculate suggested entry parameters
-        BigDecimal suggestedEntry = openingRange.high().add(new BigDecimal("0.01"));
-        BigDecimal stopPrice = openingRange.low().subtract(new BigDecimal("0.01"));
-        BigDecimal riskAmount = suggestedEntry.subtract(stopPrice);
+        TickSize tickSize = openingRange.tickSize();
+        // Calculate suggested entry parameters, one tick outside the range
+        long entryTicks = openingRange.high() + 1;
+        long stopTicks = openingRange.low() - 1;
+        BigDecimal suggestedEntry = tickSize.toBigDecimal(entryTicks);
+        BigDecimal stopPrice = tickSize.toBigDecimal(stopTicks);
+        BigDecimal riskAmount = tickSize.toBigDecimal(entryTicks - stopTicks);
 
         log.info("[{}] ENTRY SETUP - Suggested Entry: {}, Stop Loss: {}, Risk per share: {}",
                 symbol, suggestedEntry, stopPrice, riskAmount);
@@ -300,11 +314,12 @@ public class AsyncOrbStrategy implements AsyncTradingStrategy {
                 String.format("RETEST %s with retestType - %s and entry price - %s and stop loss price - %s", symbol,
                         retestType, suggestedEntry, stopPrice));
 
-        CompletableFuture<List<Order>> orders = processEntryAsync(symbol, suggestedEntry, stopPrice, testDate);
+        CompletableFuture<List<Order>> orders = processEntryAsync(symbol, suggestedEntry, stopPrice, tickSize,
+                testDate);
 
         //we need to adjust orders calculation. I mean profit will be taken only on certain price
 
-        context.complexOrder(symbol, 100, stopPrice);
+        context.complexOrder(symbol, 100, tickSize.toDouble(entryTicks));
 
         state.setCurrentState(TradingState.SETUP_COMPLETE);
         return orders;
@@ -313,7 +328,8 @@ public class AsyncOrbStrategy implements AsyncTradingStrategy {
     // Async helper method for order processing
     @Async("strategyExecutor")
     public CompletableFuture<List<Order>> processEntryAsync(String symbol, BigDecimal entryPrice,
-                                                            BigDecimal stopPrice, String testDate) {
+                                                            BigDecimal stopPrice, TickSize tickSize,
+                                                            String testDate) {
         try {
             log.info("[{}] Processing entry order - Entry: {}, Stop: {}",
                     symbol, entryPrice, stopPrice);
@@ -323,8 +339,8 @@ public class AsyncOrbStrategy implements AsyncTradingStrategy {
                     .orElse(null);
 
 
-            List<Order> orders = orderTracker.placeMarketOrder(Types.Action.BUY, 100, stopPrice);
-//            List<Order> orders = orderTracker.placeMarketOrder(contract, Types.Action.BUY, 100, stopPrice);
+            List<Order> orders = orderTracker.placeMarketOrder(Types.Action.BUY, 100, stopPrice, tickSize);
+//            List<Order> orders = orderTracker.placeMarketOrder(contract, Types.Action.BUY, 100, stopPrice, tickSize);
 
             orders.forEach(order -> writeToLog(symbol + "/break/" + testDate + ".log",
                     String.format("%s ORDER with type %s has been placed and order lmtPrice - %s, ",
@@ -339,11 +355,11 @@ public class AsyncOrbStrategy implements AsyncTradingStrategy {
     }
 
     // Mock methods - replace with your actual data fetching logic
-    private TwelveCandleBar fetchFiveMinuteCandle(String symbol, String date) {
+    private CandleBar fetchFiveMinuteCandle(String symbol, String date) {
         return dataClient.quoteWithInterval(symbol, TimeFrame.FIVE_MIN, date);
     }
 
-    private TwelveCandleBar fetchOneMinuteCandle(String symbol, String date) {
+    private CandleBar fetchOneMinuteCandle(String symbol, String date) {
         return dataClient.quoteWithInterval(symbol, TimeFrame.ONE_MIN, date);
     }
 }
@@ -11,6 +11,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -55,6 +56,6 @@ public class BuyAndHoldStrategy implements AsyncTradingStrategy {
             orders.put(symbol, order);
             return CompletableFuture.completedFuture(List.of(order));
         }
-        return new CompletableFuture<>();
+        return CompletableFuture.completedFuture(Collections.emptyList());
     }
 }
@@ -1,14 +1,13 @@
 package com.strategy.trade.strategy.dataclient;
 
-import com.strategy.trade.model.TwelveCandleBar;
+import com.strategy.trade.model.CandleBar;
 import com.strategy.trade.model.enums.TimeFrame;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.opencsv.bean.CsvToBeanFilter;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
@@ -21,11 +20,10 @@ import java.time.format.DateTimeFormatter;
 public class CsvStockDataClient implements StockDataClient {
 
     @Autowired
-    private final StringRedisTemplate redisTemplate;
-    private final ObjectMapper mapper = new ObjectMapper();
+    private final RedisTemplate<String, CandleBar> redisTemplate;
 
     @Override
-    public TwelveCandleBar quoteWithInterval(String symbol, TimeFrame timeFrame, String date) {
+    public CandleBar quoteWithInterval(String symbol, TimeFrame timeFrame, String date) {
         try {
             return fetchNextCandle(symbol, timeFrame, date);
         } catch (Exception e) {
@@ -33,11 +31,9 @@ public class CsvStockDataClient implements StockDataClient {
         }
     }
 
-    public TwelveCandleBar fetchNextCandle(String symbol, TimeFrame timeFrame, String date) throws Exception {
+    public CandleBar fetchNextCandle(String symbol, TimeFrame timeFrame, String date) throws Exception {
         String key = "candles:" + symbol + ":" + timeFrame + ":" + date;
-        String json = redisTemplate.opsForList().leftPop(key); // dequeue oldest
-        if (json == null) return null;
-        return mapper.readValue(json, TwelveCandleBar.class);
+        return redisTemplate.opsForList().leftPop(key); // dequeue oldest, null once the day is replayed
     }
 
     private CsvToBeanFilter getDateFilter(LocalDateTime dateTime) {
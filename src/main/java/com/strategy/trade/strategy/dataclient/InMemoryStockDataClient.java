@@ -0,0 +1,43 @@
+package com.strategy.trade.strategy.dataclient;
+
+import com.strategy.trade.model.CandleBar;
+import com.strategy.trade.model.enums.TimeFrame;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Replays pre-loaded candles in order, one per call, like {@link CsvStockDataClient} does with Redis lists.
+ * The bar lists are shared read-only between instances; only the read positions are per instance, so every
+ * concurrent backtest run gets its own client over the same data.
+ */
+public class InMemoryStockDataClient implements StockDataClient {
+
+    private final Map<TimeFrame, List<CandleBar>> bars;
+    private final int[] positions = new int[TimeFrame.values().length];
+
+    public InMemoryStockDataClient(Map<TimeFrame, List<CandleBar>> bars) {
+        this.bars = bars;
+    }
+
+    @Override
+    public CandleBar quoteWithInterval(String symbol, TimeFrame timeFrame, String date) {
+        List<CandleBar> candles = bars.getOrDefault(timeFrame, Collections.emptyList());
+        int position = positions[timeFrame.ordinal()];
+        if (position >= candles.size()) {
+            return null;
+        }
+        positions[timeFrame.ordinal()] = position + 1;
+        return candles.get(position);
+    }
+
+    /**
+     * The bar the next {@link #quoteWithInterval} call returns, without consuming it; null when exhausted.
+     */
+    public CandleBar peek(TimeFrame timeFrame) {
+        List<CandleBar> candles = bars.getOrDefault(timeFrame, Collections.emptyList());
+        int position = positions[timeFrame.ordinal()];
+        return position < candles.size() ? candles.get(position) : null;
+    }
+}
@@ -1,8 +1,11 @@
 package com.strategy.trade.strategy.dataclient;
 
+import com.strategy.trade.model.CandleBar;
 import com.strategy.trade.model.StockResponse;
 import com.strategy.trade.model.TwelveCandleBar;
 import com.strategy.trade.model.enums.TimeFrame;
+import com.strategy.trade.service.cache.TimeSeriesCache;
+import com.strategy.trade.service.fetch.TokenBucket;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -14,6 +17,13 @@ import org.springframework.context.annotation.Primary;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestClient;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
 import static com.strategy.trade.model.enums.Endpoint.TIME_SERIES;
 import static com.strategy.trade.model.enums.Endpoint.TWELVE_QUOTE;
 
@@ -28,22 +38,88 @@ public class TwelveDataClient implements StockDataClient {
 
     @Autowired
     private RestClient restClient;
+    @Autowired
+    private TimeSeriesCache timeSeriesCache;
+    @Autowired
+    @Qualifier("twelveDataQuota")
+    private TokenBucket quota;
     @Value("${financial.twelve.api.token}")
     private String token;
 
+    private static final DateTimeFormatter API_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd H:mm:ss");
+    private static final String CSV_HEADER = "datetime;open;high;low;close;volume";
+    // Twelve Data answers an empty date range with this code; the range is then known to hold no bars
+    private static final int NO_DATA_CODE = 400;
+    // largest page Twelve Data answers; a full page holds the newest bars of the range
+    private static final int OUTPUT_SIZE = 5000;
+
+    /**
+     * Serves the part of the range already cached and requests only the missing sub-ranges.
+     */
     public StockResponse timeSeries(String symbol, String timeFrame, String startDate, String endDate) {
+        List<StockResponse.Value> values = timeSeriesCache.timeSeries(symbol, timeFrame,
+                LocalDateTime.parse(startDate, API_FORMATTER), LocalDateTime.parse(endDate, API_FORMATTER),
+                OUTPUT_SIZE, (start, end) -> {
+                    StockResponse response = fetchTimeSeries(symbol, timeFrame,
+                            start.format(API_FORMATTER), end.format(API_FORMATTER));
+                    return cacheableValues(response);
+                });
+        StockResponse response = new StockResponse();
+        response.setValues(values);
+        response.setStatus("ok");
+        return response;
+    }
+
+    public boolean isCached(String symbol, String timeFrame, String startDate, String endDate) {
+        return timeSeriesCache.covers(symbol, timeFrame,
+                LocalDateTime.parse(startDate, API_FORMATTER), LocalDateTime.parse(endDate, API_FORMATTER));
+    }
+
+    /**
+     * Daily bars as Twelve Data CSV, newest first. Bounded ranges are served from the cache; an open range
+     * always goes to the network, and its rows are cached for later bounded requests.
+     */
+    public String csvTimeSeries(String symbol, String startDate, String endDate) {
+        String interval = TimeFrame.ONE_DAY.getTwelveFormat();
+        if (startDate == null || endDate == null) {
+            String csv = fetchCsvTimeSeries(symbol, startDate, endDate);
+            List<StockResponse.Value> values = parseCsv(csv);
+            if (values != null) {
+                timeSeriesCache.store(symbol, interval, values);
+            }
+            return csv;
+        }
+
+        LocalDateTime endOfLastDay = LocalDate.parse(endDate).plusDays(1).atStartOfDay().minusSeconds(1);
+        List<StockResponse.Value> values = timeSeriesCache.timeSeries(symbol, interval,
+                LocalDate.parse(startDate).atStartOfDay(), endOfLastDay, OUTPUT_SIZE,
+                (start, end) -> parseCsv(fetchCsvTimeSeries(symbol,
+                        start.toLocalDate().toString(), end.toLocalDate().toString())));
+        StringBuilder csv = new StringBuilder(CSV_HEADER);
+        for (StockResponse.Value value : values) {
+            csv.append('\n').append(String.join(";", value.getDatetime(), Objects.toString(value.getOpen(), ""),
+                    Objects.toString(value.getHigh(), ""), Objects.toString(value.getLow(), ""),
+                    Objects.toString(value.getClose(), ""), Objects.toString(value.getVolume(), "")));
+        }
+        return csv.toString();
+    }
+
+    private StockResponse fetchTimeSeries(String symbol, String timeFrame, String startDate, String endDate) {
+        quota.acquire();
         return restClient.get()
                 .uri(TIME_SERIES.url() + "?apikey=" + token
                         + "&symbol=" + symbol.toUpperCase()
                         + "&interval=" + timeFrame
                         + "&start_date=" + startDate
                         + "&end_date=" + endDate
+                        + "&outputsize=" + OUTPUT_SIZE
                 )
                 .retrieve()
                 .body(StockResponse.class);
     }
 
-    public String csvTimeSeries(String symbol, String startDate, String endDate) {
+    private String fetchCsvTimeSeries(String symbol, String startDate, String endDate) {
+        quota.acquire();
         return restClient.get()
                 .uri(TIME_SERIES.url() + "?apikey=" + token
                         + "&symbol=" + symbol.toUpperCase()
@@ -51,22 +127,60 @@ public class TwelveDataClient implements StockDataClient {
                         + "&format=CSV"
                         + (startDate == null ? "" :"&start_date=" + startDate)
                         + (endDate == null ? "" :"&end_date=" + endDate)
-                        + "&outputsize=5000"
+                        + "&outputsize=" + OUTPUT_SIZE
                 )
                 .retrieve()
                 .body(String.class);
     }
 
+    // null unless the provider actually answered for the range, so failures are never cached as empty
+    private static List<StockResponse.Value> cacheableValues(StockResponse response) {
+        if (response == null) {
+            return null;
+        }
+        if ("error".equals(response.getStatus())) {
+            if (response.getCode() == null || response.getCode() != NO_DATA_CODE) {
+                log.warn("Twelve Data error {} - {}", response.getCode(), response.getMessage());
+                return null;
+            }
+            return List.of();
+        }
+        return response.getValues() == null ? List.of() : response.getValues();
+    }
+
+    private static List<StockResponse.Value> parseCsv(String csv) {
+        if (csv == null || !csv.startsWith("datetime")) {
+            log.warn("Unexpected Twelve Data CSV response - {}", csv);
+            return null;
+        }
+        List<StockResponse.Value> values = new ArrayList<>();
+        csv.lines().skip(1).filter(line -> !line.isBlank()).forEach(line -> {
+            String[] parts = line.split(";", -1);
+            StockResponse.Value value = new StockResponse.Value();
+            value.setDatetime(parts[0]);
+            value.setOpen(parts[1]);
+            value.setHigh(parts[2]);
+            value.setLow(parts[3]);
+            value.setClose(parts[4]);
+            value.setVolume(parts.length > 5 ? parts[5] : "");
+            values.add(value);
+        });
+        return values;
+    }
+
     @Override
-    public TwelveCandleBar quoteWithInterval(String symbol, TimeFrame timeFrame, String date) {
+    public CandleBar quoteWithInterval(String symbol, TimeFrame timeFrame, String date) {
         log.info("Fetching candle for symbol - {} with timeframe - {}", symbol, timeFrame);
-        return restClient.get()
+        // live quotes must not queue behind a bulk history collection
+        quota.acquirePriority();
+        TwelveCandleBar quote = restClient.get()
                 .uri(TWELVE_QUOTE.url() + "?apikey=" + token
                         + "&symbol=" + symbol.toUpperCase()
                         + "&interval=" + timeFrame.getTwelveFormat()
                 )
                 .retrieve()
                 .body(TwelveCandleBar.class);
+        return quote == null ? null : CandleBar.from(quote);
     }
 
 }
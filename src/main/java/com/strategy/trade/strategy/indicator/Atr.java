@@ -0,0 +1,52 @@
+package com.strategy.trade.strategy.indicator;
+
+/**
+ * Average true range with Wilder's smoothing, seeded with the mean of the first {@code period} true ranges.
+ * The first bar has no previous close, so its true range is just high minus low.
+ */
+public class Atr implements Indicator {
+
+    private final int period;
+    private int count;
+    private double previousClose = Double.NaN;
+    private double value;
+
+    public Atr(int period) {
+        if (period < 1) {
+            throw new IllegalArgumentException("Period must be positive: " + period);
+        }
+        this.period = period;
+    }
+
+    @Override
+    public void accept(long epochSecond, double open, double high, double low, double close, long volume) {
+        double trueRange = high - low;
+        if (!Double.isNaN(previousClose)) {
+            trueRange = Math.max(trueRange, Math.max(Math.abs(high - previousClose), Math.abs(low - previousClose)));
+        }
+        previousClose = close;
+
+        if (count < period) {
+            value += (trueRange - value) / ++count;
+        } else {
+            value += (trueRange - value) / period;
+        }
+    }
+
+    @Override
+    public double value() {
+        return isReady() ? value : Double.NaN;
+    }
+
+    @Override
+    public boolean isReady() {
+        return count >= period;
+    }
+
+    @Override
+    public void reset() {
+        count = 0;
+        previousClose = Double.NaN;
+        value = 0;
+    }
+}
@@ -0,0 +1,44 @@
+package com.strategy.trade.strategy.indicator;
+
+/**
+ * Moving average of closes with bands {@code width} standard deviations above and below it. {@link #value()}
+ * is the middle band.
+ */
+public class BollingerBands implements Indicator {
+
+    private final RollingStdDev stdDev;
+    private final double width;
+
+    public BollingerBands(int period, double width) {
+        this.stdDev = new RollingStdDev(period);
+        this.width = width;
+    }
+
+    @Override
+    public void accept(long epochSecond, double open, double high, double low, double close, long volume) {
+        stdDev.accept(epochSecond, open, high, low, close, volume);
+    }
+
+    @Override
+    public double value() {
+        return stdDev.mean();
+    }
+
+    public double upper() {
+        return stdDev.mean() + width * stdDev.value();
+    }
+
+    public double lower() {
+        return stdDev.mean() - width * stdDev.value();
+    }
+
+    @Override
+    public boolean isReady() {
+        return stdDev.isReady();
+    }
+
+    @Override
+    public void reset() {
+        stdDev.reset();
+    }
+}
@@ -0,0 +1,46 @@
+package com.strategy.trade.strategy.indicator;
+
+/**
+ * Exponential moving average of closes with {@code alpha = 2 / (period + 1)}, seeded with the simple average
+ * of the first {@code period} closes.
+ */
+public class Ema implements Indicator {
+
+    private final int period;
+    private final double alpha;
+    private int count;
+    private double value;
+
+    public Ema(int period) {
+        if (period < 1) {
+            throw new IllegalArgumentException("Period must be positive: " + period);
+        }
+        this.period = period;
+        this.alpha = 2.0 / (period + 1);
+    }
+
+    @Override
+    public void accept(long epochSecond, double open, double high, double low, double close, long volume) {
+        if (count < period) {
+            value += (close - value) / ++count;
+        } else {
+            value += alpha * (close - value);
+        }
+    }
+
+    @Override
+    public double value() {
+        return isReady() ? value : Double.NaN;
+    }
+
+    @Override
+    public boolean isReady() {
+        return count >= period;
+    }
+
+    @Override
+    public void reset() {
+        count = 0;
+        value = 0;
+    }
+}
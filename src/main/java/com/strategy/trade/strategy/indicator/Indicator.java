@@ -0,0 +1,20 @@
+package com.strategy.trade.strategy.indicator;
+
+/**
+ * Streaming indicator updated once per closed bar in O(1), without allocating. The bar arrives as primitives
+ * in the same shape as {@code BarResampler.BarSink}, so stored or resampled bars can be fed straight in.
+ * Close-only sources pass the close as open, high and low, and zero volume.
+ */
+public interface Indicator {
+
+    void accept(long epochSecond, double open, double high, double low, double close, long volume);
+
+    /**
+     * Current value; {@code NaN} until {@link #isReady()}.
+     */
+    double value();
+
+    boolean isReady();
+
+    void reset();
+}
@@ -0,0 +1,67 @@
+package com.strategy.trade.strategy.indicator;
+
+import com.strategy.trade.model.CandleBar;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Named indicators of one {@code TradingContext}. Strategies register what they need once, then read values
+ * by reference. Only the driver of a run (the backtest loops and {@code OrbReplayEngine}) pushes closed bars
+ * through {@link #accept}, once per bar and before the strategy sees it; strategies never feed themselves.
+ * {@link #accept} walks a plain list and does not allocate.
+ */
+public class Indicators {
+
+    private final Map<String, Indicator> byName = new HashMap<>();
+    private final List<Indicator> indicators = new ArrayList<>();
+
+    /**
+     * Registers {@code indicator} under {@code name}, or returns the one already registered there so strategies
+     * can call this on every start without stacking duplicates.
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Indicator> T register(String name, T indicator) {
+        Indicator existing = byName.putIfAbsent(name, indicator);
+        if (existing != null) {
+            return (T) existing;
+        }
+        indicators.add(indicator);
+        return indicator;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T extends Indicator> T get(String name) {
+        return (T) byName.get(name);
+    }
+
+    public double value(String name) {
+        Indicator indicator = byName.get(name);
+        return indicator == null ? Double.NaN : indicator.value();
+    }
+
+    public boolean isEmpty() {
+        return indicators.isEmpty();
+    }
+
+    public void accept(long epochSecond, double open, double high, double low, double close, long volume) {
+        for (int i = 0; i < indicators.size(); i++) {
+            indicators.get(i).accept(epochSecond, open, high, low, close, volume);
+        }
+    }
+
+    /**
+     * Feeds a bar; a missing open is read as the close.
+     */
+    public void accept(CandleBar bar) {
+        accept(bar.epochSecond(), bar.openOrClose(), bar.high(), bar.low(), bar.close(), bar.volume());
+    }
+
+    public void reset() {
+        for (int i = 0; i < indicators.size(); i++) {
+            indicators.get(i).reset();
+        }
+    }
+}
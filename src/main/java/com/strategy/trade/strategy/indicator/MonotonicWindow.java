@@ -0,0 +1,53 @@
+package com.strategy.trade.strategy.indicator;
+
+/**
+ * Sliding-window maximum over the last {@code period} values: a deque of candidates kept in decreasing order,
+ * stored in primitive rings. Each value enters and leaves the deque once, so updates are O(1) amortised.
+ * Minimums are tracked by negating the input.
+ */
+final class MonotonicWindow {
+
+    private final int period;
+    private final double[] values;
+    private final long[] positions;
+    private int head;
+    private int size;
+    private long count;
+
+    MonotonicWindow(int period) {
+        if (period < 1) {
+            throw new IllegalArgumentException("Period must be positive: " + period);
+        }
+        this.period = period;
+        this.values = new double[period];
+        this.positions = new long[period];
+    }
+
+    void add(double value) {
+        if (size > 0 && positions[head] <= count - period) {
+            head = (head + 1) % period;
+            size--;
+        }
+        while (size > 0 && values[(head + size - 1) % period] <= value) {
+            size--;
+        }
+        int tail = (head + size) % period;
+        values[tail] = value;
+        positions[tail] = count++;
+        size++;
+    }
+
+    double max() {
+        return values[head];
+    }
+
+    boolean isFull() {
+        return count >= period;
+    }
+
+    void clear() {
+        head = 0;
+        size = 0;
+        count = 0;
+    }
+}
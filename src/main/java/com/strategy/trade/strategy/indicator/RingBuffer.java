@@ -0,0 +1,63 @@
+package com.strategy.trade.strategy.indicator;
+
+/**
+ * Fixed-size window of the last {@code capacity} values in a primitive array.
+ */
+final class RingBuffer {
+
+    private final double[] values;
+    private int next;
+    private int size;
+
+    RingBuffer(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Window must hold at least one value: " + capacity);
+        }
+        this.values = new double[capacity];
+    }
+
+    /**
+     * Appends {@code value} and returns the value it displaced, or {@code NaN} while the window is filling.
+     */
+    double push(double value) {
+        double evicted = size == values.length ? values[next] : Double.NaN;
+        values[next] = value;
+        next = next + 1 == values.length ? 0 : next + 1;
+        if (size < values.length) {
+            size++;
+        }
+        return evicted;
+    }
+
+    double sum() {
+        double sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += values[i];
+        }
+        return sum;
+    }
+
+    /**
+     * {@code true} right after the write position wrapped back to the start.
+     */
+    boolean wrapped() {
+        return next == 0 && size == values.length;
+    }
+
+    boolean isFull() {
+        return size == values.length;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int capacity() {
+        return values.length;
+    }
+
+    void clear() {
+        next = 0;
+        size = 0;
+    }
+}
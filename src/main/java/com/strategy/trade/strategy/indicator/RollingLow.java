@@ -0,0 +1,33 @@
+package com.strategy.trade.strategy.indicator;
+
+/**
+ * Lowest low of the last {@code period} bars.
+ */
+public class RollingLow implements Indicator {
+
+    private final MonotonicWindow window;
+
+    public RollingLow(int period) {
+        this.window = new MonotonicWindow(period);
+    }
+
+    @Override
+    public void accept(long epochSecond, double open, double high, double low, double close, long volume) {
+        window.add(-low);
+    }
+
+    @Override
+    public double value() {
+        return isReady() ? -window.max() : Double.NaN;
+    }
+
+    @Override
+    public boolean isReady() {
+        return window.isFull();
+    }
+
+    @Override
+    public void reset() {
+        window.clear();
+    }
+}
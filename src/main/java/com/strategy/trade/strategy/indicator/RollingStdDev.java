@@ -0,0 +1,52 @@
+package com.strategy.trade.strategy.indicator;
+
+/**
+ * Population standard deviation of the last {@code period} closes. Mean and squared deviations are updated with
+ * Welford's sliding-window form rather than a sum of squares, which loses all precision on prices around 100
+ * with cent-sized moves.
+ */
+public class RollingStdDev implements Indicator {
+
+    private final RingBuffer window;
+    private double mean;
+    private double m2;
+
+    public RollingStdDev(int period) {
+        this.window = new RingBuffer(period);
+    }
+
+    @Override
+    public void accept(long epochSecond, double open, double high, double low, double close, long volume) {
+        double evicted = window.push(close);
+        if (Double.isNaN(evicted)) {
+            double delta = close - mean;
+            mean += delta / window.size();
+            m2 += delta * (close - mean);
+        } else {
+            double previousMean = mean;
+            mean += (close - evicted) / window.capacity();
+            m2 += (close - evicted) * (close - mean + evicted - previousMean);
+        }
+    }
+
+    public double mean() {
+        return isReady() ? mean : Double.NaN;
+    }
+
+    @Override
+    public double value() {
+        return isReady() ? Math.sqrt(Math.max(0, m2) / window.capacity()) : Double.NaN;
+    }
+
+    @Override
+    public boolean isReady() {
+        return window.isFull();
+    }
+
+    @Override
+    public void reset() {
+        window.clear();
+        mean = 0;
+        m2 = 0;
+    }
+}
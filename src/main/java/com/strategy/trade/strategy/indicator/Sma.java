@@ -0,0 +1,40 @@
+package com.strategy.trade.strategy.indicator;
+
+/**
+ * Simple moving average of closes. The running sum is recomputed from the window once per wrap, which keeps
+ * the update O(1) amortised and stops floating-point drift from accumulating over long runs.
+ */
+public class Sma implements Indicator {
+
+    private final RingBuffer window;
+    private double sum;
+
+    public Sma(int period) {
+        this.window = new RingBuffer(period);
+    }
+
+    @Override
+    public void accept(long epochSecond, double open, double high, double low, double close, long volume) {
+        double evicted = window.push(close);
+        sum += Double.isNaN(evicted) ? close : close - evicted;
+        if (window.wrapped()) {
+            sum = window.sum();
+        }
+    }
+
+    @Override
+    public double value() {
+        return window.isFull() ? sum / window.capacity() : Double.NaN;
+    }
+
+    @Override
+    public boolean isReady() {
+        return window.isFull();
+    }
+
+    @Override
+    public void reset() {
+        window.clear();
+        sum = 0;
+    }
+}
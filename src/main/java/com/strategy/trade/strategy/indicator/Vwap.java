@@ -0,0 +1,44 @@
+package com.strategy.trade.strategy.indicator;
+
+/**
+ * Session-anchored volume-weighted average of the typical price {@code (high + low + close) / 3}. Restarts on
+ * the first bar of each calendar day (bar timestamps are exchange-local). Bars without volume do not move it,
+ * so close-only series never make it ready.
+ */
+public class Vwap implements Indicator {
+
+    private static final int SECONDS_PER_DAY = 86_400;
+
+    private long day = Long.MIN_VALUE;
+    private double priceVolume;
+    private double volume;
+
+    @Override
+    public void accept(long epochSecond, double open, double high, double low, double close, long volume) {
+        long barDay = Math.floorDiv(epochSecond, SECONDS_PER_DAY);
+        if (barDay != day) {
+            day = barDay;
+            priceVolume = 0;
+            this.volume = 0;
+        }
+        priceVolume += (high + low + close) / 3 * volume;
+        this.volume += volume;
+    }
+
+    @Override
+    public double value() {
+        return isReady() ? priceVolume / volume : Double.NaN;
+    }
+
+    @Override
+    public boolean isReady() {
+        return volume > 0;
+    }
+
+    @Override
+    public void reset() {
+        day = Long.MIN_VALUE;
+        priceVolume = 0;
+        volume = 0;
+    }
+}
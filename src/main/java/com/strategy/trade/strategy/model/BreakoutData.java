@@ -1,7 +1,9 @@
 package com.strategy.trade.strategy.model;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
-public record BreakoutData(BigDecimal breakoutPrice, LocalDateTime breakoutTime, BigDecimal breakoutHigh) {
+/**
+ * Breakout bar close and high, as ticks of the opening range's tick size.
+ */
+public record BreakoutData(long breakoutPrice, LocalDateTime breakoutTime, long breakoutHigh) {
 }
@@ -0,0 +1,48 @@
+package com.strategy.trade.strategy.model;
+
+import java.util.Arrays;
+
+/**
+ * Price-dependent tick sizes of an instrument, as IB reports them per market rule: {@code increments[i]} applies
+ * from {@code lowEdges[i]} up to the next edge. Edges are ascending and the first is normally zero.
+ */
+public record MarketRule(double[] lowEdges, TickSize[] increments) {
+
+    // Reg NMS: sub-penny quotes only below one dollar
+    public static final MarketRule US_EQUITIES =
+            new MarketRule(new double[]{0, 1}, new TickSize[]{TickSize.HUNDREDTH_CENT, TickSize.CENT});
+
+    public MarketRule {
+        if (lowEdges.length == 0 || lowEdges.length != increments.length) {
+            throw new IllegalArgumentException("Market rule needs one increment per edge");
+        }
+    }
+
+    public static MarketRule of(TickSize tickSize) {
+        return new MarketRule(new double[]{0}, new TickSize[]{tickSize});
+    }
+
+    public TickSize at(double price) {
+        int band = 0;
+        while (band + 1 < lowEdges.length && lowEdges[band + 1] <= price) {
+            band++;
+        }
+        return increments[band];
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof MarketRule other
+                && Arrays.equals(lowEdges, other.lowEdges) && Arrays.equals(increments, other.increments);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(lowEdges) + Arrays.hashCode(increments);
+    }
+
+    @Override
+    public String toString() {
+        return "MarketRule{lowEdges=" + Arrays.toString(lowEdges) + ", increments=" + Arrays.toString(increments) + '}';
+    }
+}
@@ -1,6 +1,15 @@
 package com.strategy.trade.strategy.model;
 
-import java.math.BigDecimal;
+/**
+ * High and low of the opening bars as counts of {@code tickSize}.
+ */
+public record OpeningRange(long high, long low, TickSize tickSize) {
 
-public record OpeningRange(BigDecimal high, BigDecimal low) {
+    public double highPrice() {
+        return tickSize.toDouble(high);
+    }
+
+    public double lowPrice() {
+        return tickSize.toDouble(low);
+    }
 }
@@ -0,0 +1,14 @@
+package com.strategy.trade.strategy.model;
+
+import java.math.BigDecimal;
+
+/**
+ * Tunable strategy inputs carried per {@link TradingContext}, so concurrent backtests of the same
+ * strategy can run with different settings.
+ */
+public record StrategyParameters(int openingRangeMinutes, int breakoutConfirmationBars, BigDecimal retestBuffer,
+                                 double stopLossRange, double takeProfitRange) {
+
+    public static final StrategyParameters DEFAULT =
+            new StrategyParameters(15, 2, new BigDecimal("0.02"), 2.0, 3.0);
+}
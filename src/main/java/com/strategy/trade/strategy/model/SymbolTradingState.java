@@ -1,6 +1,6 @@
 package com.strategy.trade.strategy.model;
 
-import com.strategy.trade.model.TwelveCandleBar;
+import com.strategy.trade.model.CandleBar;
 import com.strategy.trade.strategy.enums.TradingState;
 import lombok.Getter;
 import lombok.Setter;
@@ -19,8 +19,11 @@ public class SymbolTradingState {
     private OpeningRange openingRange;
     @Setter
     private BreakoutData breakoutData;
-    private final List<TwelveCandleBar> fiveMinuteBars = new ArrayList<>();
-    private final List<TwelveCandleBar> oneMinuteBreakoutBars = new ArrayList<>();
+    // opening high plus the retest buffer, in ticks of the opening range
+    @Setter
+    private long retestLevel;
+    private final List<CandleBar> fiveMinuteBars = new ArrayList<>();
+    private final List<CandleBar> oneMinuteBreakoutBars = new ArrayList<>();
     @Setter
     private LocalDateTime marketOpenTime;
     @Setter
@@ -35,6 +38,7 @@ public class SymbolTradingState {
         currentState = TradingState.WAITING_FOR_MARKET_OPEN;
         openingRange = null;
         breakoutData = null;
+        retestLevel = 0;
         fiveMinuteBars.clear();
         oneMinuteBreakoutBars.clear();
         marketOpenTime = null;
@@ -0,0 +1,22 @@
+package com.strategy.trade.strategy.model;
+
+import java.time.Duration;
+import java.time.Instant;
+
+public class SystemTradingClock implements TradingClock {
+
+    public static final SystemTradingClock INSTANCE = new SystemTradingClock();
+
+    private SystemTradingClock() {
+    }
+
+    @Override
+    public Instant now() {
+        return Instant.now();
+    }
+
+    @Override
+    public void sleep(Duration duration) throws InterruptedException {
+        Thread.sleep(duration.toMillis());
+    }
+}
@@ -0,0 +1,88 @@
+package com.strategy.trade.strategy.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Fixed-point price grid of one instrument. Prices are held as {@code long} counts of the increment, so the
+ * strategy compares and offsets them without allocating and every count is a valid order price. The increment
+ * is {@code units / 10^scale} (0.01 is 1/10^2, 0.05 is 5/10^2), which keeps conversions back to decimals exact.
+ * <p>
+ * Bar prices need not sit on the grid. {@link #ceil} and {@link #floor} round them so that comparing counts
+ * against a level on the grid answers the same as comparing the raw prices: {@code price > level} exactly when
+ * {@code ceil(price) > level}, and {@code price >= level} exactly when {@code floor(price) >= level}.
+ */
+public record TickSize(long units, int scale) {
+
+    public static final TickSize CENT = new TickSize(1, 2);
+    public static final TickSize HUNDREDTH_CENT = new TickSize(1, 4);
+
+    // quotients this close to a whole count are decimal prices on the grid that picked up binary rounding
+    private static final double SNAP = 1e-6;
+    private static final int MAX_SCALE = 18;
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18};
+
+    public TickSize {
+        if (units <= 0 || scale < 0 || scale > MAX_SCALE) {
+            throw new IllegalArgumentException("Invalid tick size " + units + "e-" + scale);
+        }
+    }
+
+    public static TickSize of(BigDecimal increment) {
+        BigDecimal stripped = increment.stripTrailingZeros();
+        if (stripped.scale() < 0) {
+            stripped = stripped.setScale(0);
+        }
+        return new TickSize(stripped.unscaledValue().longValueExact(), stripped.scale());
+    }
+
+    public static TickSize of(double increment) {
+        return of(BigDecimal.valueOf(increment));
+    }
+
+    public double increment() {
+        return units / POWERS_OF_TEN[scale];
+    }
+
+    /**
+     * Largest count at or below {@code price}.
+     */
+    public long floor(double price) {
+        double ticks = quotient(price);
+        double nearest = Math.rint(ticks);
+        return (long) (Math.abs(ticks - nearest) <= SNAP ? nearest : Math.floor(ticks));
+    }
+
+    /**
+     * Smallest count at or above {@code price}.
+     */
+    public long ceil(double price) {
+        double ticks = quotient(price);
+        double nearest = Math.rint(ticks);
+        return (long) (Math.abs(ticks - nearest) <= SNAP ? nearest : Math.ceil(ticks));
+    }
+
+    public long round(double price) {
+        return Math.round(quotient(price));
+    }
+
+    public long ticks(BigDecimal price, RoundingMode roundingMode) {
+        return price.movePointRight(scale).divide(BigDecimal.valueOf(units), 0, roundingMode).longValueExact();
+    }
+
+    /**
+     * Nearest double to the exact price; the product is a whole number, so only the division rounds.
+     */
+    public double toDouble(long ticks) {
+        return (ticks * units) / POWERS_OF_TEN[scale];
+    }
+
+    public BigDecimal toBigDecimal(long ticks) {
+        return BigDecimal.valueOf(ticks * units, scale);
+    }
+
+    private double quotient(double price) {
+        return price * POWERS_OF_TEN[scale] / units;
+    }
+}
@@ -0,0 +1,21 @@
+package com.strategy.trade.strategy.model;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Time source for strategies. Live trading uses the wall clock; backtests plug in a virtual clock,
+ * so the same strategy code waits for real minutes in one mode and for simulated minutes in the other.
+ */
+public interface TradingClock {
+
+    Instant now();
+
+    void sleep(Duration duration) throws InterruptedException;
+
+    default LocalDateTime localNow() {
+        return LocalDateTime.ofInstant(now(), ZoneId.systemDefault());
+    }
+}
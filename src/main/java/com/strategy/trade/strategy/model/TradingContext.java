@@ -1,11 +1,14 @@
 package com.strategy.trade.strategy.model;
 
 import com.strategy.trade.backtest.*;
+import com.strategy.trade.backtest.portfolio.PortfolioAccount;
 import com.strategy.trade.backtest.series.DoubleSeries;
 import com.strategy.trade.strategy.enums.StrategyMode;
+import com.strategy.trade.strategy.indicator.Indicators;
+import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Data;
-import org.springframework.beans.factory.annotation.Value;
+import lombok.Setter;
 
 import java.math.BigDecimal;
 import java.time.Instant;
@@ -16,7 +19,7 @@ import java.util.List;
 @Builder
 public class TradingContext {
     Instant instant;
-    Double currentPrice;
+    double currentPrice;
     List<String> instruments;
 
     public DoubleSeries profitLoss = new DoubleSeries("pl");
@@ -27,11 +30,15 @@ public class TradingContext {
     private String date;
     private SymbolTradingState state;
     private StrategyMode mode;
-    @Value("${trading.default.stop-loss-range:2.0}")
-    private double defaultStopLossRange;
-
-    @Value("${trading.default.take-profit-range:3.0}")
-    private double defaultTakeProfitRange;
+    private StrategyParameters parameters;
+    private TradingClock clock;
+    // shared cash/margin pool when this context is one symbol of a portfolio backtest
+    private PortfolioAccount account;
+    // created with the context so concurrent readers never race a lazy initialisation
+    @Builder.Default
+    private final Indicators indicators = new Indicators();
+    // tick sizes of the symbol; prices in the strategy state are counts of these
+    private MarketRule marketRule;
 
 
     double initialFunds;
@@ -46,92 +53,141 @@ public class TradingContext {
     List<Order> orders = new ArrayList<>();
     List<ComplexOrder> complexOrders = new ArrayList<>();
 
+    // Running aggregates over open orders, maintained by order()/complexOrder()/close() so that
+    // mark-to-market is O(1) per tick: sum(amount * (price - open)) == netQuantity * price - costBasis
+    @Setter(AccessLevel.NONE)
+    int netQuantity;
+    @Setter(AccessLevel.NONE)
+    double costBasis;
+    @Setter(AccessLevel.NONE)
+    double grossExposure;
+    @Setter(AccessLevel.NONE)
+    int complexNetQuantity;
+    @Setter(AccessLevel.NONE)
+    double complexCostBasis;
+
     public double getPL() {
-        return closedPl + orders.stream().mapToDouble(o -> o.calculatePl(getLastPrice()))
-                .sum() - commissions;
+        return closedPl + getOpenPL() - commissions;
     }
 
-    public double onTickPL() {
-        if (complexOrders.isEmpty()) {
-            return 0;
-        }
-        double totalPL = 0.0;
-        ComplexOrder order = complexOrders.getFirst();
-        boolean shouldClose = false;
-        double exitPrice = currentPrice;
-        double entryPrice = order.getOpenPrice();
-
-        // Check stop loss
-        if (order.getStopLossPrice() != 0) {
-            double stopPrice = order.getStopLossPrice();
-            if (currentPrice <= stopPrice) {
-                shouldClose = true;
-                exitPrice = stopPrice;
-            }
-        }
-
-        // Check take profit
-        if (order.getTakeProfitPrice() != 0 && !shouldClose) {
-            double takeProfitPrice = order.getTakeProfitPrice();
-            if (currentPrice >= takeProfitPrice) {
-                shouldClose = true;
-                exitPrice = takeProfitPrice;
-            }
-        }
-
-        // Calculate P&L if position should be closed
-        if (shouldClose) {
-            double pl = (exitPrice - entryPrice) * order.getAmount();
-            totalPL += pl;
-        }
+    public double getOpenPL() {
+        return netQuantity * getLastPrice() - costBasis;
+    }
 
-    return totalPL - commissions;
+    public double getMarginUsed() {
+        return grossExposure == 0 ? 0 : grossExposure / leverage;
     }
 
     public double getComplexPL() {
-        return closedPl + complexOrders.stream().mapToDouble(o -> o.calculatePl(getLastPrice()))
-                .sum() - commissions;
+        return closedPl + complexNetQuantity * getLastPrice() - complexCostBasis - commissions;
     }
 
     public double getAvailableFunds() {
-        return getNetValue() - orders.stream().mapToDouble(t -> Math.abs(t.getAmount()) * t.getOpenPrice() / leverage).sum();
+        return account != null ? account.getAvailableFunds() : getNetValue() - getMarginUsed();
     }
 
     public double getNetValue() {
         return initialFunds + getPL();
     }
 
+    public StrategyParameters getParameters() {
+        return parameters != null ? parameters : StrategyParameters.DEFAULT;
+    }
+
+    public TradingClock getClock() {
+        return clock != null ? clock : SystemTradingClock.INSTANCE;
+    }
+
+    public MarketRule getMarketRule() {
+        return marketRule != null ? marketRule : MarketRule.US_EQUITIES;
+    }
+
     public double getLastPrice() {
         return currentPrice;
     }
 
+    /**
+     * Moves the current price and, in a portfolio backtest, reports the mark-to-market change of this
+     * symbol's open quantity to the shared account.
+     */
+    public void markPrice(double price) {
+        if (account != null) {
+            account.onMark(netQuantity * (price - currentPrice));
+        }
+        currentPrice = price;
+    }
+
     public Order order(String instrument, boolean buy, int amount) {
         double lastPrice = getLastPrice();
         SimpleOrder order = new SimpleOrder(orderId++, instrument, getInstant(), lastPrice,
                 amount * (buy ? 1 : -1));
         orders.add(order);
-
-        commissions += calculateCommission(order);
+        netQuantity += order.getAmount();
+        costBasis += order.getAmount() * order.getOpenPrice();
+        double exposure = Math.abs(order.getAmount()) * order.getOpenPrice();
+        grossExposure += exposure;
+
+        double commission = calculateCommission(order);
+        commissions += commission;
+        if (account != null) {
+            account.onOpen(exposure, commission);
+        }
 
         return order;
     }
 
     public Order complexOrder(String instrument, int amount, BigDecimal price) {
-        ComplexOrder order = new ComplexOrder(orderId++, instrument, getInstant(), price.doubleValue(), amount);
+        return complexOrder(instrument, amount, price.doubleValue());
+    }
+
+    public Order complexOrder(String instrument, int amount, double openPrice) {
+        StrategyParameters params = getParameters();
+        // the stop sits on the adverse side of the entry: below it for longs, above it for shorts
+        int sign = amount >= 0 ? 1 : -1;
+        ComplexOrder order = new ComplexOrder(orderId++, instrument, getInstant(), openPrice, amount,
+                openPrice - sign * params.stopLossRange(), openPrice + sign * params.takeProfitRange());
         complexOrders.add(order);
-        commissions += calculateCommission(order);
+        complexNetQuantity += order.getAmount();
+        complexCostBasis += order.getAmount() * order.getOpenPrice();
+        double commission = calculateCommission(order);
+        commissions += commission;
+        if (account != null) {
+            account.onOpen(0, commission);
+        }
 
         return order;
     }
 
     public ClosedOrder close(Order order) {
+        return close(order, getLastPrice());
+    }
+
+    public ClosedOrder close(Order order, double price) {
+        return close(order, price, ExitReason.MARKET);
+    }
+
+    public ClosedOrder close(Order order, double price, ExitReason exitReason) {
         SimpleOrder simpleOrder = (SimpleOrder) order;
-        orders.remove(simpleOrder);
-        double price = getLastPrice();
-        SimpleClosedOrder closedOrder = new SimpleClosedOrder(simpleOrder, price, getInstant());
+        boolean marked = orders.remove(simpleOrder);
+        double exposure = Math.abs(simpleOrder.getAmount()) * simpleOrder.getOpenPrice();
+        if (marked) {
+            netQuantity -= simpleOrder.getAmount();
+            costBasis -= simpleOrder.getAmount() * simpleOrder.getOpenPrice();
+            grossExposure -= exposure;
+        } else if (simpleOrder instanceof ComplexOrder complexOrder && complexOrders.remove(complexOrder)) {
+            complexNetQuantity -= complexOrder.getAmount();
+            complexCostBasis -= complexOrder.getAmount() * complexOrder.getOpenPrice();
+        }
+        SimpleClosedOrder closedOrder = new SimpleClosedOrder(simpleOrder, price, getInstant(), exitReason);
         closedOrders.add(closedOrder);
         closedPl += closedOrder.getPl();
-        commissions += calculateCommission(order);
+        double commission = calculateCommission(order);
+        commissions += commission;
+        if (account != null && marked) {
+            account.onClose(simpleOrder.calculatePl(currentPrice), closedOrder.getPl(), exposure, commission);
+        } else if (account != null) {
+            account.onRealize(closedOrder.getPl(), commission);
+        }
 
         return closedOrder;
     }
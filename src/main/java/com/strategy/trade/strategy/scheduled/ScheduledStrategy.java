@@ -1,5 +1,6 @@
 package com.strategy.trade.strategy.scheduled;
 
+import com.strategy.trade.service.impl.MarketRuleTracker;
 import com.strategy.trade.strategy.AsyncTradingStrategy;
 import com.strategy.trade.strategy.enums.StrategyMode;
 import com.strategy.trade.strategy.model.SymbolTradingState;
@@ -34,6 +35,9 @@ public class ScheduledStrategy {
     @Qualifier("twelveDataStrategy")
     private AsyncTradingStrategy asyncOrbStrategy;
 
+    @Autowired
+    private MarketRuleTracker marketRuleTracker;
+
     //@Scheduled(cron = "0 56 16 * * MON-FRI", zone = "GMT+3") // Every 5 minutes from 9:30-9:44
     //@Scheduled(cron = "0 56 16 * * MON-FRI")
     //@Scheduled(cron = "0 1-6/5 17 * * MON-FRI")
@@ -46,6 +50,7 @@ public class ScheduledStrategy {
                             .symbol(symbol)
                             .state(new SymbolTradingState())
                             .mode(StrategyMode.LIVE)
+                            .marketRule(marketRuleTracker.forSymbol(symbol))
                             .build();
                     return asyncOrbStrategy.startStrategy(context);
                 })
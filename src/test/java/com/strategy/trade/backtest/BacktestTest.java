@@ -1,9 +1,11 @@
 package com.strategy.trade.backtest;
 
 import com.strategy.trade.backtest.series.DoubleSeries;
+import com.strategy.trade.model.CandleBar;
 import com.strategy.trade.backtest.series.TimeSeries;
 import com.strategy.trade.strategy.AsyncTradingStrategy;
 import com.strategy.trade.strategy.enums.StrategyMode;
+import com.strategy.trade.strategy.indicator.Sma;
 import com.strategy.trade.strategy.model.TradingContext;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -19,6 +21,7 @@ import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Iterator;
@@ -26,6 +29,7 @@ import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
@@ -103,12 +107,9 @@ class BacktestTest {
      * Configures mock price series with iterator behavior
      */
     private void configureMockPriceSeries(double... prices) {
-        List<TimeSeries.Entry<Double>> entries = new ArrayList<>();
-        for (int i = 0; i < prices.length; i++) {
-            entries.add(createPriceEntry(prices[i], BASE_TIME.plusSeconds(i * 60)));
-        }
+        DoubleSeries series = createTestPriceSeries(prices);
 
-        when(mockPriceSeries.iterator()).thenReturn(entries.iterator());
+        when(mockPriceSeries.cursor()).thenReturn(series.cursor());
         when(mockPriceSeries.size()).thenReturn(prices.length);
         when(mockPriceSeries.isEmpty()).thenReturn(prices.length == 0);
     }
@@ -421,7 +422,7 @@ class BacktestTest {
                     () -> assertThat(backtest.getStrategy()).isNull(), // not set in constructor
                     () -> assertThat(backtest.getContext()).isNull(), // not set in constructor
                     () -> assertThat(backtest.getResult()).isNull(), // not set in constructor
-                    () -> assertThat(backtest.getPriceIterator()).isNull() // not set in constructor
+                    () -> assertThat(backtest.getPriceCursor()).isNull() // not set in constructor
             );
         }
 
@@ -612,8 +613,8 @@ class BacktestTest {
         }
 
         @Test
-        @DisplayName("Should initialize price iterator from price series")
-        void shouldInitializePriceIteratorFromPriceSeries() {
+        @DisplayName("Should initialize price cursor from price series")
+        void shouldInitializePriceCursorFromPriceSeries() {
             // Given
             configureMockPriceSeries(100.0, 101.0, 99.0, 102.0);
             AsyncTradingStrategy strategy = createMockStrategy();
@@ -622,8 +623,8 @@ class BacktestTest {
             backtest.initialize(strategy);
 
             // Then
-            assertThat(backtest.getPriceIterator()).isNotNull();
-            verify(mockPriceSeries).iterator();
+            assertThat(backtest.getPriceCursor()).isNotNull();
+            verify(mockPriceSeries).cursor();
         }
 
         @Test
@@ -678,7 +679,7 @@ class BacktestTest {
             assertAll("Null strategy handling",
                     () -> assertThat(backtest.getStrategy()).isNull(),
                     () -> assertThat(backtest.getContext()).isNotNull(),
-                    () -> assertThat(backtest.getPriceIterator()).isNotNull()
+                    () -> assertThat(backtest.getPriceCursor()).isNotNull()
             );
         }
 
@@ -723,7 +724,7 @@ class BacktestTest {
             assertAll("Thread.sleep handling",
                     () -> assertThat(backtest.getStrategy()).isEqualTo(strategy),
                     () -> assertThat(backtest.getContext()).isNotNull(),
-                    () -> assertThat(backtest.getPriceIterator()).isNotNull(),
+                    () -> assertThat(backtest.getPriceCursor()).isNotNull(),
                     () -> assertThat(backtest.getContext().getCurrentPrice()).isEqualTo(100.0)
             );
 
@@ -777,7 +778,7 @@ class BacktestTest {
 
                 // Then
                 assertThat(result).isTrue();
-                verify(mockPriceSeries, atLeast(2)).iterator(); // Called in initialize and nextStep
+                verify(mockPriceSeries).cursor(); // Cursor is created once in initialize
             }
 
             @Test
@@ -1152,7 +1153,7 @@ class BacktestTest {
                 assertAll("Initialize method call verification",
                         () -> assertThat(testBacktest.getStrategy()).isEqualTo(strategy),
                         () -> assertThat(testBacktest.getContext()).isNotNull(),
-                        () -> assertThat(testBacktest.getPriceIterator()).isNotNull(),
+                        () -> assertThat(testBacktest.getPriceCursor()).isNotNull(),
                         () -> assertThat(result).isNotNull()
                 );
 
@@ -2509,4 +2510,150 @@ class BacktestTest {
 
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    @DisplayName("Bar Matching Tests")
+    class BarMatchingTests {
+
+        private final double[] closes = {100.0, 100.5, 101.0};
+
+        // places one long bracket (stop 98, target 103 with the default parameters) on the first bar
+        private AsyncTradingStrategy bracketOnFirstBar() {
+            AsyncTradingStrategy strategy = mock(AsyncTradingStrategy.class);
+            when(strategy.startStrategy(any(TradingContext.class)))
+                    .thenReturn(CompletableFuture.completedFuture(null));
+            when(strategy.onTick(any(TradingContext.class))).thenAnswer(invocation -> {
+                TradingContext context = invocation.getArgument(0);
+                if (context.getComplexOrders().isEmpty() && context.getClosedOrders().isEmpty()) {
+                    context.complexOrder(DEFAULT_SYMBOL, 100, context.getCurrentPrice());
+                }
+                return CompletableFuture.completedFuture(new ArrayList<>());
+            });
+            return strategy;
+        }
+
+        private List<CandleBar> bars() {
+            return List.of(
+                    new CandleBar(BASE_TIME.getEpochSecond(), 100.0, 100.0, 100.0, 100.0, 10),
+                    new CandleBar(BASE_TIME.getEpochSecond() + 60, 100.2, 103.5, 99.8, 100.5, 10),
+                    new CandleBar(BASE_TIME.getEpochSecond() + 120, 100.5, 101.2, 100.4, 101.0, 10));
+        }
+
+        @Test
+        @DisplayName("Should fill a bracket leg touched by the bar high even though the close stays inside")
+        void shouldMatchBracketsAgainstBarRange() {
+            Backtest testBacktest = new Backtest(DEFAULT_DEPOSIT, createTestPriceSeries(closes), DEFAULT_SYMBOL,
+                    bars());
+
+            Backtest.Result result = testBacktest.run(bracketOnFirstBar());
+
+            assertThat(result.getOrders()).hasSize(1);
+            assertThat(result.getOrders().getFirst().getClosePrice()).isEqualTo(103.0);
+            assertThat(result.getOrders().getFirst().getExitReason()).isEqualTo(ExitReason.TAKE_PROFIT);
+        }
+
+        @Test
+        @DisplayName("Should only see closes without bars and close the bracket at the end")
+        void shouldMatchClosesWithoutBars() {
+            Backtest testBacktest = new Backtest(DEFAULT_DEPOSIT, createTestPriceSeries(closes), DEFAULT_SYMBOL);
+
+            Backtest.Result result = testBacktest.run(bracketOnFirstBar());
+
+            assertThat(result.getOrders()).hasSize(1);
+            assertThat(result.getOrders().getFirst().getClosePrice()).isEqualTo(101.0);
+            assertThat(result.getOrders().getFirst().getExitReason()).isEqualTo(ExitReason.MARKET);
+        }
+
+        @Test
+        @DisplayName("Should reject bars that do not line up with the prices")
+        void shouldRejectMisalignedBars() {
+            DoubleSeries prices = createTestPriceSeries(closes);
+            List<CandleBar> bars = bars().subList(0, 2);
+
+            assertThatThrownBy(() -> new Backtest(DEFAULT_DEPOSIT, prices, DEFAULT_SYMBOL, bars))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Indicator Feed Tests")
+    class IndicatorFeedTests {
+
+        private static final int PERIOD = 3;
+
+        // registers an SMA on start and does nothing else, so the backtest loop is the only feed
+        private AsyncTradingStrategy smaStrategy() {
+            AsyncTradingStrategy strategy = mock(AsyncTradingStrategy.class);
+            when(strategy.startStrategy(any(TradingContext.class))).thenAnswer(invocation -> {
+                TradingContext context = invocation.getArgument(0);
+                context.getIndicators().register("sma", new Sma(PERIOD));
+                return CompletableFuture.completedFuture(context);
+            });
+            when(strategy.onTick(any(TradingContext.class)))
+                    .thenReturn(CompletableFuture.completedFuture(new ArrayList<>()));
+            return strategy;
+        }
+
+        @Test
+        @DisplayName("Should feed every bar to registered indicators exactly once")
+        void shouldFeedEveryBarOnce() {
+            Backtest testBacktest = new Backtest(DEFAULT_DEPOSIT,
+                    createTestPriceSeries(100.0, 101.0, 102.0, 103.0, 104.0), DEFAULT_SYMBOL);
+
+            testBacktest.run(smaStrategy());
+
+            // (102 + 103 + 104) / 3; a second feed per bar would give (103 + 104 + 104) / 3
+            assertThat(testBacktest.getContext().getIndicators().value("sma")).isEqualTo(103.0);
+        }
+
+        @Test
+        @DisplayName("Should feed the bar closes when the backtest matches against full bars")
+        void shouldFeedBarsOnce() {
+            List<CandleBar> bars = List.of(
+                    new CandleBar(BASE_TIME.getEpochSecond(), 99.0, 100.5, 98.5, 100.0, 10),
+                    new CandleBar(BASE_TIME.getEpochSecond() + 60, 100.0, 101.5, 99.5, 101.0, 10),
+                    new CandleBar(BASE_TIME.getEpochSecond() + 120, 101.0, 102.5, 100.5, 102.0, 10),
+                    new CandleBar(BASE_TIME.getEpochSecond() + 180, 102.0, 106.5, 101.5, 106.0, 10));
+            Backtest testBacktest = new Backtest(DEFAULT_DEPOSIT,
+                    createTestPriceSeries(100.0, 101.0, 102.0, 106.0), DEFAULT_SYMBOL, bars);
+
+            testBacktest.run(smaStrategy());
+
+            assertThat(testBacktest.getContext().getIndicators().value("sma")).isEqualTo(103.0);
+        }
+    }
+
+    @Nested
+    @DisplayName("Virtual Clock Tests")
+    class VirtualClockTests {
+
+        @Test
+        @DisplayName("Should start the clock at the session open so opening-range sleeps stay behind the first bar")
+        void shouldAnchorClockAtSessionOpen() {
+            // minute data that starts at 09:46, after a 15 minute opening range
+            Instant firstBar = BASE_TIME.plusSeconds(16 * 60);
+            DoubleSeries prices = new DoubleSeries(List.of(
+                    new TimeSeries.Entry<>(100.0, firstBar),
+                    new TimeSeries.Entry<>(101.0, firstBar.plusSeconds(60))), DEFAULT_SYMBOL);
+            List<Instant> starts = new ArrayList<>();
+            List<Instant> ticks = new ArrayList<>();
+            AsyncTradingStrategy strategy = mock(AsyncTradingStrategy.class);
+            when(strategy.startStrategy(any(TradingContext.class))).thenAnswer(invocation -> {
+                TradingContext context = invocation.getArgument(0);
+                starts.add(context.getClock().now());
+                // two waits between the three five-minute opening-range bars, like the ORB strategy
+                context.getClock().sleep(Duration.ofMinutes(10));
+                return CompletableFuture.completedFuture(context);
+            });
+            when(strategy.onTick(any(TradingContext.class))).thenAnswer(invocation -> {
+                ticks.add(invocation.<TradingContext>getArgument(0).getClock().now());
+                return CompletableFuture.completedFuture(new ArrayList<>());
+            });
+
+            new Backtest(DEFAULT_DEPOSIT, prices, DEFAULT_SYMBOL).run(strategy);
+
+            assertThat(starts).containsExactly(BASE_TIME);
+            assertThat(ticks).containsExactly(firstBar, firstBar.plusSeconds(60));
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.strategy.trade.backtest.event;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("SimulationKernel Unit Tests")
+class SimulationKernelTest {
+
+    private SimulationKernel kernel;
+    private List<String> dispatched;
+
+    @BeforeEach
+    void setUp() {
+        kernel = new SimulationKernel(new VirtualClock());
+        dispatched = new ArrayList<>();
+    }
+
+    private SimulationEvent schedule(long epochNanos, String name) {
+        return kernel.schedule(epochNanos, EventType.BAR,
+                () -> dispatched.add(name + "@" + kernel.getClock().getEpochNanos()));
+    }
+
+    @Test
+    @DisplayName("Should dispatch events in timestamp order, ties in scheduling order")
+    void shouldDispatchInTimestampOrder() {
+        schedule(300, "c");
+        schedule(100, "a");
+        schedule(200, "b1");
+        schedule(200, "b2");
+
+        kernel.run();
+
+        assertThat(dispatched).containsExactly("a@100", "b1@200", "b2@200", "c@300");
+        assertThat(kernel.isEmpty()).isTrue();
+        assertThat(kernel.step()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should advance the clock to each event before it runs")
+    void shouldAdvanceClockPerEvent() {
+        schedule(1_000, "first");
+        schedule(5_000, "second");
+
+        assertThat(kernel.step()).isNotNull();
+        assertThat(kernel.getClock().getEpochNanos()).isEqualTo(1_000);
+        kernel.step();
+        assertThat(kernel.getClock().getEpochNanos()).isEqualTo(5_000);
+        assertThat(dispatched).containsExactly("first@1000", "second@5000");
+    }
+
+    @Test
+    @DisplayName("Should run only events due by the given time")
+    void shouldRunUntilTime() {
+        schedule(100, "a");
+        schedule(200, "b");
+        schedule(201, "c");
+
+        kernel.runUntil(200);
+
+        assertThat(dispatched).containsExactly("a@100", "b@200");
+        assertThat(kernel.isEmpty()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should not dispatch cancelled events and allow rescheduling the same instance")
+    void shouldCancelAndReschedule() {
+        SimulationEvent event = schedule(100, "moved");
+        schedule(200, "fixed");
+
+        assertThat(kernel.cancel(event)).isTrue();
+        kernel.schedule(event, 300);
+        kernel.run();
+
+        assertThat(dispatched).containsExactly("fixed@200", "moved@300");
+        assertThat(kernel.cancel(event)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should never move the clock backwards")
+    void shouldKeepClockMonotonic() {
+        kernel.getClock().sleep(Duration.ofNanos(500));
+        schedule(100, "late");
+
+        kernel.run();
+
+        assertThat(dispatched).containsExactly("late@500");
+        assertThat(kernel.getClock().getEpochNanos()).isEqualTo(500);
+    }
+
+    @Test
+    @DisplayName("Should let a sleeping event move time without blocking")
+    void shouldSleepOnVirtualTime() {
+        kernel.schedule(1_000, EventType.BAR, () -> kernel.getClock().sleep(Duration.ofMinutes(5)));
+        schedule(2_000, "next");
+
+        kernel.step();
+
+        assertThat(kernel.getClock().getEpochNanos()).isEqualTo(1_000 + Duration.ofMinutes(5).toNanos());
+        assertThat(kernel.getClock().now().toEpochMilli()).isEqualTo(300_000);
+        assertThat(kernel.stepUntil(EventType.BAR)).isTrue();
+        assertThat(dispatched).containsExactly("next@" + (1_000 + Duration.ofMinutes(5).toNanos()));
+    }
+}
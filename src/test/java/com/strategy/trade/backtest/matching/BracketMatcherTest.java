@@ -0,0 +1,130 @@
+package com.strategy.trade.backtest.matching;
+
+import com.strategy.trade.backtest.ClosedOrder;
+import com.strategy.trade.backtest.ExitReason;
+import com.strategy.trade.backtest.Order;
+import com.strategy.trade.strategy.model.StrategyParameters;
+import com.strategy.trade.strategy.model.TradingContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("BracketMatcher Unit Tests")
+class BracketMatcherTest {
+
+    // long brackets: stop = open - 2, target = open + 3
+    private static final StrategyParameters PARAMETERS =
+            new StrategyParameters(15, 2, new BigDecimal("0.02"), 2.0, 3.0);
+
+    private TradingContext context;
+
+    @BeforeEach
+    void setUp() {
+        context = TradingContext.builder()
+                .initialFunds(10000)
+                .leverage(1)
+                .parameters(PARAMETERS)
+                .orders(new ArrayList<>())
+                .complexOrders(new ArrayList<>())
+                .closedOrders(new ArrayList<>())
+                .build();
+    }
+
+    private ClosedOrder lastClosed() {
+        return context.getClosedOrders().getLast();
+    }
+
+    @Test
+    @DisplayName("Should leave bracket open when bar stays inside both levels")
+    void shouldLeaveBracketOpenInsideRange() {
+        context.complexOrder("AAPL", 100, BigDecimal.valueOf(100));
+
+        int fills = new BracketMatcher().match(context, 100, 102.5, 98.5);
+
+        assertThat(fills).isZero();
+        assertThat(context.getComplexOrders()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should fill target at its level and realize profit")
+    void shouldFillTargetAtLevel() {
+        context.complexOrder("AAPL", 100, BigDecimal.valueOf(100));
+
+        new BracketMatcher().match(context, 101, 103.5, 100.5);
+
+        assertThat(context.getComplexOrders()).isEmpty();
+        assertThat(lastClosed().getClosePrice()).isEqualTo(103.0);
+        assertThat(context.getClosedPl()).isEqualTo(300.0);
+    }
+
+    @Test
+    @DisplayName("Should fill at the open when bar gaps through the stop")
+    void shouldFillAtOpenOnGapThroughStop() {
+        context.complexOrder("AAPL", 100, BigDecimal.valueOf(100));
+
+        new BracketMatcher().match(context, 96, 97, 95);
+
+        assertThat(lastClosed().getClosePrice()).isEqualTo(96.0);
+        assertThat(context.getClosedPl()).isEqualTo(-400.0);
+    }
+
+    @Test
+    @DisplayName("Should resolve same-bar ambiguity according to policy")
+    void shouldResolveAmbiguityByPolicy() {
+        context.complexOrder("AAPL", 100, BigDecimal.valueOf(100));
+        new BracketMatcher(AmbiguityPolicy.STOP_FIRST).match(context, 100, 104, 97);
+        assertThat(lastClosed().getClosePrice()).isEqualTo(98.0);
+
+        context.complexOrder("AAPL", 100, BigDecimal.valueOf(100));
+        new BracketMatcher(AmbiguityPolicy.TARGET_FIRST).match(context, 100, 104, 97);
+        assertThat(lastClosed().getClosePrice()).isEqualTo(103.0);
+
+        context.complexOrder("AAPL", 100, BigDecimal.valueOf(100));
+        new BracketMatcher(AmbiguityPolicy.NEAREST_TO_OPEN).match(context, 102.5, 104, 97);
+        assertThat(lastClosed().getClosePrice()).isEqualTo(103.0);
+    }
+
+    @Test
+    @DisplayName("Should mirror the rules for short brackets")
+    void shouldMirrorRulesForShortBrackets() {
+        // short: stop at 102, target at 97
+        context.complexOrder("AAPL", -100, BigDecimal.valueOf(100));
+
+        new BracketMatcher().match(context, 100, 101, 96.5);
+
+        assertThat(lastClosed().getClosePrice()).isEqualTo(97.0);
+        assertThat(context.getClosedPl()).isEqualTo(300.0);
+    }
+
+    @Test
+    @DisplayName("Should record which leg filled, for long and short brackets")
+    void shouldRecordExitReason() {
+        context.complexOrder("AAPL", 100, BigDecimal.valueOf(100));
+        new BracketMatcher().match(context, 100, 101, 97.5);
+        assertThat(lastClosed().getExitReason()).isEqualTo(ExitReason.STOP_LOSS);
+
+        context.complexOrder("AAPL", 100, BigDecimal.valueOf(100));
+        new BracketMatcher().match(context, 104, 105, 103.5);
+        assertThat(lastClosed().getExitReason()).isEqualTo(ExitReason.TAKE_PROFIT);
+        assertThat(lastClosed().getClosePrice()).isEqualTo(104.0);
+
+        // short: stop at 102, target at 97; a gap up through the stop fills at the open
+        context.complexOrder("AAPL", -100, BigDecimal.valueOf(100));
+        new BracketMatcher().match(context, 102.5, 103, 101);
+        assertThat(lastClosed().getExitReason()).isEqualTo(ExitReason.STOP_LOSS);
+        assertThat(lastClosed().getClosePrice()).isEqualTo(102.5);
+
+        context.complexOrder("AAPL", -100, BigDecimal.valueOf(100));
+        new BracketMatcher().match(context, 99, 99.5, 96.8);
+        assertThat(lastClosed().getExitReason()).isEqualTo(ExitReason.TAKE_PROFIT);
+
+        Order order = context.complexOrder("AAPL", 100, BigDecimal.valueOf(100));
+        context.close(order);
+        assertThat(lastClosed().getExitReason()).isEqualTo(ExitReason.MARKET);
+    }
+}
@@ -0,0 +1,133 @@
+package com.strategy.trade.backtest.montecarlo;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+@DisplayName("MonteCarloSimulation Unit Tests")
+class MonteCarloSimulationTest {
+
+    private final ForkJoinPool pool = new ForkJoinPool(2);
+    private final MonteCarloSimulation simulation = new MonteCarloSimulation(pool);
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should report nearest-rank percentiles")
+    void shouldReportNearestRankPercentiles() {
+        double[] samples = new double[20];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = samples.length - i;
+        }
+
+        Distribution distribution = Distribution.of(samples);
+
+        assertThat(distribution.mean()).isEqualTo(10.5);
+        assertThat(distribution.min()).isEqualTo(1);
+        assertThat(distribution.p5()).isEqualTo(1);
+        assertThat(distribution.p25()).isEqualTo(5);
+        assertThat(distribution.p50()).isEqualTo(10);
+        assertThat(distribution.p75()).isEqualTo(15);
+        assertThat(distribution.p95()).isEqualTo(19);
+        assertThat(distribution.max()).isEqualTo(20);
+    }
+
+    @Test
+    @DisplayName("Should use the only sample for every percentile")
+    void shouldHandleSingleSample() {
+        Distribution distribution = Distribution.of(new double[]{7});
+
+        assertThat(distribution.p5()).isEqualTo(7);
+        assertThat(distribution.p95()).isEqualTo(7);
+        assertThat(Distribution.of(new double[0]).p50()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should replay identical trades to the same equity on every path")
+    void shouldReplayConstantTrades() {
+        double[] winners = {10, 10, 10, 10};
+        MonteCarloResult winning = simulation.run(winners, 1000, 50, 0.5, 1);
+
+        assertThat(winning.paths()).isEqualTo(50);
+        assertThat(winning.trades()).isEqualTo(4);
+        assertThat(winning.finalEquity().min()).isEqualTo(1040);
+        assertThat(winning.finalEquity().max()).isEqualTo(1040);
+        assertThat(winning.maxDrawdown().max()).isZero();
+        assertThat(winning.riskOfRuin()).isZero();
+
+        double[] losers = {-250, -250, -250, -250};
+        MonteCarloResult losing = simulation.run(losers, 1000, 50, 0.5, 1);
+
+        assertThat(losing.ruinLevel()).isEqualTo(500);
+        assertThat(losing.finalEquity().p50()).isZero();
+        assertThat(losing.maxDrawdown().p50()).isCloseTo(1.0, within(1e-12));
+        assertThat(losing.riskOfRuin()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should reproduce the same distribution for the same seed")
+    void shouldReproduceForSeed() {
+        double[] pls = {120, -80, 45, -30, 200, -150, 10, -5};
+
+        MonteCarloResult first = simulation.run(pls, 10000, 1000, 0.1, 42);
+        MonteCarloResult second = simulation.run(pls, 10000, 1000, 0.1, 42);
+        MonteCarloResult other = simulation.run(pls, 10000, 1000, 0.1, 43);
+
+        assertThat(second).isEqualTo(first);
+        assertThat(other.finalEquity()).isNotEqualTo(first.finalEquity());
+        assertThat(first.finalEquity().mean()).isCloseTo(10000 + 110, within(60.0));
+    }
+
+    @Test
+    @DisplayName("Should reproduce the same distribution for the same seed on any pool size")
+    void shouldReproduceAcrossPoolSizes() {
+        double[] pls = {120, -80, 45, -30, 200, -150, 10, -5};
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool wide = new ForkJoinPool(7);
+        try {
+            MonteCarloResult one = new MonteCarloSimulation(single).run(pls, 10000, 1000, 0.1, 42);
+            MonteCarloResult seven = new MonteCarloSimulation(wide).run(pls, 10000, 1000, 0.1, 42);
+
+            assertThat(seven).isEqualTo(one);
+            assertThat(simulation.run(pls, 10000, 1000, 0.1, 42)).isEqualTo(one);
+        } finally {
+            single.shutdown();
+            wide.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject a run without paths or with a ruin fraction outside (0, 1]")
+    void shouldRejectInvalidArguments() {
+        double[] pls = {10, -5};
+
+        assertThatThrownBy(() -> simulation.run(pls, 1000, 0, 0.5, 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> simulation.run(pls, 1000, 10, 0, 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> simulation.run(pls, 1000, 10, 1.5, 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> simulation.run(pls, 1000, 10, Double.NaN, 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(simulation.run(pls, 1000, 10, 1, 1).ruinLevel()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should leave equity untouched without trades")
+    void shouldHandleNoTrades() {
+        MonteCarloResult result = simulation.run(new double[0], 1000, 10, 0.5, 1);
+
+        assertThat(result.finalEquity().min()).isEqualTo(1000);
+        assertThat(result.finalEquity().max()).isEqualTo(1000);
+        assertThat(result.riskOfRuin()).isZero();
+    }
+}
@@ -0,0 +1,129 @@
+package com.strategy.trade.backtest.portfolio;
+
+import com.strategy.trade.backtest.series.DoubleSeries;
+import com.strategy.trade.strategy.AsyncTradingStrategy;
+import com.strategy.trade.strategy.enums.StrategyDataSource;
+import com.strategy.trade.strategy.enums.StrategyType;
+import com.strategy.trade.strategy.model.TradingContext;
+import com.ib.client.Order;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@DisplayName("PortfolioBacktest Unit Tests")
+class PortfolioBacktestTest {
+
+    private static final Instant BASE_TIME = Instant.parse("2024-01-01T09:30:00Z");
+    private static final double COMMISSION = 1 + 10 * 0.005;
+
+    private final List<String> dispatched = new ArrayList<>();
+
+    // prices one minute apart starting at the given minute
+    private static DoubleSeries series(String name, int firstMinute, int step, double... prices) {
+        DoubleSeries series = new DoubleSeries(name);
+        for (int i = 0; i < prices.length; i++) {
+            series.add(prices[i], BASE_TIME.plusSeconds(60L * (firstMinute + i * step)));
+        }
+        return series;
+    }
+
+    @Test
+    @DisplayName("Should dispatch bars in timestamp order to each symbol's strategy against one account")
+    void shouldRunSymbolsAgainstSharedAccount() {
+        PortfolioBacktest backtest = new PortfolioBacktest(10000, List.of(
+                series("AAPL", 0, 2, 100, 102, 104),
+                series("MSFT", 1, 2, 50, 49, 48)));
+
+        PortfolioBacktest.Result result = backtest.run(symbol -> new BuyOnFirstTick(10));
+
+        assertThat(dispatched).containsExactly(
+                "AAPL:100.0", "MSFT:50.0", "AAPL:102.0", "MSFT:49.0", "AAPL:104.0", "MSFT:48.0");
+        assertThat(result.getSymbolPl()).containsEntry("AAPL", 40.0).containsEntry("MSFT", -20.0);
+        assertThat(result.getPl()).isCloseTo(20, within(1e-9));
+        assertThat(result.getFinalValue()).isCloseTo(10020, within(1e-9));
+        assertThat(result.getCommissions()).isCloseTo(4 * COMMISSION, within(1e-9));
+        assertThat(result.getOrders()).hasSize(2);
+        assertThat(result.getFundsHistory().size()).isEqualTo(6);
+        assertThat(backtest.getAccount().getGrossExposure()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should record one funds point per timestamp once every symbol at it has traded")
+    void shouldRecordFundsPerTimestamp() {
+        PortfolioBacktest backtest = new PortfolioBacktest(10000, List.of(
+                series("AAPL", 0, 1, 100, 102, 104),
+                series("MSFT", 0, 1, 50, 49, 48)));
+
+        PortfolioBacktest.Result result = backtest.run(symbol -> new BuyOnFirstTick(10));
+
+        assertThat(dispatched).hasSize(6);
+        DoubleSeries funds = result.getFundsHistory();
+        assertThat(funds.size()).isEqualTo(3);
+        // both opening buys are already reflected in the first point
+        assertThat(funds.getValue(0)).isCloseTo(10000 - 1000 - 500 - 2 * COMMISSION, within(1e-9));
+    }
+
+    @Test
+    @DisplayName("Should stop once the shared account runs out of funds")
+    void shouldStopWhenFundsRunOut() {
+        PortfolioBacktest backtest = new PortfolioBacktest(1000, List.of(
+                series("AAPL", 0, 2, 100, 102, 104),
+                series("MSFT", 1, 2, 50, 49, 48)));
+
+        PortfolioBacktest.Result result = backtest.run(symbol -> new BuyOnFirstTick(20));
+
+        // 20 AAPL at 100 needs 2000 of margin from a 1000 pool, so the next bar ends the run
+        assertThat(dispatched).containsExactly("AAPL:100.0");
+        assertThat(result.getFundsHistory().size()).isEqualTo(2);
+        assertThat(result.getFundsHistory().getValue(1)).isNegative();
+        assertThat(result.getOrders()).hasSize(1);
+        assertThat(result.getSymbolPl()).containsEntry("MSFT", 0.0);
+    }
+
+    private class BuyOnFirstTick implements AsyncTradingStrategy {
+
+        private final int quantity;
+        private boolean bought;
+
+        BuyOnFirstTick(int quantity) {
+            this.quantity = quantity;
+        }
+
+        @Override
+        public StrategyType getStrategyType() {
+            return StrategyType.ORB;
+        }
+
+        @Override
+        public StrategyDataSource getStrategyDataSource() {
+            return StrategyDataSource.CSV;
+        }
+
+        @Override
+        public void setStrategyDataSource(StrategyDataSource strategyDataSource) {
+        }
+
+        @Override
+        public CompletableFuture<TradingContext> startStrategy(TradingContext context) {
+            return CompletableFuture.completedFuture(context);
+        }
+
+        @Override
+        public CompletableFuture<List<Order>> onTick(TradingContext context) {
+            dispatched.add(context.getSymbol() + ":" + context.getLastPrice());
+            if (!bought) {
+                bought = true;
+                context.order(context.getSymbol(), true, quantity);
+            }
+            return CompletableFuture.completedFuture(Collections.emptyList());
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.strategy.trade.backtest.portfolio;
+
+import com.strategy.trade.backtest.series.DoubleSeries;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("TimestampMerge Unit Tests")
+class TimestampMergeTest {
+
+    private static final Instant BASE_TIME = Instant.parse("2024-01-01T09:30:00Z");
+
+    // each pair is a minute offset and a value
+    private static DoubleSeries series(String name, double... minutesAndValues) {
+        DoubleSeries series = new DoubleSeries(name);
+        for (int i = 0; i < minutesAndValues.length; i += 2) {
+            series.add(minutesAndValues[i + 1], BASE_TIME.plusSeconds((long) minutesAndValues[i] * 60));
+        }
+        return series;
+    }
+
+    private static List<String> drain(TimestampMerge merge) {
+        List<String> merged = new ArrayList<>();
+        int index;
+        while ((index = merge.next()) >= 0) {
+            merged.add(index + ":" + merge.cursor(index).value());
+        }
+        return merged;
+    }
+
+    @Test
+    @DisplayName("Should merge series in timestamp order, ties by series index")
+    void shouldMergeInTimestampOrder() {
+        TimestampMerge merge = new TimestampMerge(List.of(
+                series("A", 0, 1.0, 2, 2.0, 4, 3.0),
+                series("B", 1, 10.0, 2, 20.0, 5, 30.0),
+                series("C", 2, 100.0)));
+
+        assertThat(drain(merge)).containsExactly(
+                "0:1.0", "1:10.0", "0:2.0", "1:20.0", "2:100.0", "0:3.0", "1:30.0");
+        assertThat(merge.next()).isEqualTo(-1);
+    }
+
+    @Test
+    @DisplayName("Should skip empty series and read descending series in ascending order")
+    void shouldHandleEmptyAndDescendingSeries() {
+        TimestampMerge merge = new TimestampMerge(List.of(
+                new DoubleSeries("EMPTY"),
+                series("DESC", 1, 1.0, 3, 3.0).toDescending(),
+                series("ASC", 2, 2.0)));
+
+        assertThat(drain(merge)).containsExactly("1:1.0", "2:2.0", "1:3.0");
+    }
+
+    @Test
+    @DisplayName("Should return nothing when every series is empty")
+    void shouldHandleNoElements() {
+        TimestampMerge merge = new TimestampMerge(List.of(new DoubleSeries("A"), new DoubleSeries("B")));
+
+        assertThat(merge.next()).isEqualTo(-1);
+    }
+}
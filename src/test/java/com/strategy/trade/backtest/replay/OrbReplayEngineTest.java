@@ -0,0 +1,190 @@
+package com.strategy.trade.backtest.replay;
+
+import com.strategy.trade.model.CandleBar;
+import com.strategy.trade.model.enums.TimeFrame;
+import com.strategy.trade.service.OrderTracker;
+import com.strategy.trade.service.csv.CsvService;
+import com.strategy.trade.service.impl.PositionTracker;
+import com.strategy.trade.strategy.enums.TradingState;
+import com.strategy.trade.strategy.model.StrategyParameters;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OrbReplayEngine Unit Tests")
+class OrbReplayEngineTest {
+
+    private static final String SYMBOL = "AAPL";
+    private static final String DATE = "2025-01-06";
+    // entry one tick above the 101.00 opening high, 100 shares, stop 2.00 below and target 3.00 above
+    private static final double ENTRY = 101.01;
+    private static final double COMMISSIONS = 2 * (1 + 100 * 0.005);
+
+    @Mock
+    private CsvService csvService;
+
+    @Mock
+    private OrderTracker orderTracker;
+
+    @Mock
+    private PositionTracker positionTracker;
+
+    private ForkJoinPool pool;
+    private OrbReplayEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        pool = new ForkJoinPool(1);
+        engine = new OrbReplayEngine(pool, csvService, orderTracker, positionTracker);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    private static CandleBar bar(LocalTime time, double open, double high, double low, double close) {
+        return CandleBar.of(LocalDate.parse(DATE).atTime(time), open, high, low, close, 1_000);
+    }
+
+    // 15-minute opening range of 99.00 - 101.00 from three 5-minute bars
+    private static List<CandleBar> openingRange() {
+        return List.of(
+                bar(LocalTime.of(9, 30), 100.0, 100.5, 99.5, 100.2),
+                bar(LocalTime.of(9, 35), 100.2, 101.0, 99.0, 100.6),
+                bar(LocalTime.of(9, 40), 100.6, 100.8, 99.2, 100.7));
+    }
+
+    // no breakout, a breakout confirmed by two closes above the high, then a retest holding above 101.02
+    private static List<CandleBar> setupThenSession(CandleBar... session) {
+        List<CandleBar> bars = new ArrayList<>(List.of(
+                bar(LocalTime.of(9, 45), 100.7, 100.95, 100.5, 100.9),
+                bar(LocalTime.of(9, 46), 100.9, 101.25, 100.95, 101.2),
+                bar(LocalTime.of(9, 47), 101.2, 101.35, 101.1, 101.3),
+                bar(LocalTime.of(9, 48), 101.3, 101.4, 101.05, 101.1)));
+        bars.addAll(List.of(session));
+        return bars;
+    }
+
+    private Map<TimeFrame, List<CandleBar>> day(List<CandleBar> oneMinute) {
+        return Map.of(TimeFrame.FIVE_MIN, openingRange(), TimeFrame.ONE_MIN, oneMinute);
+    }
+
+    @Test
+    @DisplayName("Should enter on the retest and exit at the take profit")
+    void shouldExitAtTakeProfit() {
+        DayOutcome outcome = engine.replayDay(SYMBOL, DATE, day(setupThenSession(
+                bar(LocalTime.of(9, 49), 101.1, 102.0, 100.5, 101.8),
+                bar(LocalTime.of(9, 50), 101.8, 104.5, 101.5, 104.2),
+                bar(LocalTime.of(9, 51), 104.2, 104.6, 104.0, 104.4))), StrategyParameters.DEFAULT);
+
+        assertThat(outcome.finalState()).isEqualTo(TradingState.SETUP_COMPLETE);
+        assertThat(outcome.breakout()).isTrue();
+        assertThat(outcome.retest()).isTrue();
+        assertThat(outcome.openingHigh()).isEqualTo(101.0);
+        assertThat(outcome.openingLow()).isEqualTo(99.0);
+        assertThat(outcome.entryPrice()).isCloseTo(ENTRY, within(1e-9));
+        assertThat(outcome.exitPrice()).isCloseTo(ENTRY + 3.0, within(1e-9));
+        assertThat(outcome.exitReason()).isEqualTo("TAKE_PROFIT");
+        assertThat(outcome.pl()).isCloseTo(300 - COMMISSIONS, within(1e-6));
+        assertThat(outcome.barsReplayed()).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("Should exit at the stop loss")
+    void shouldExitAtStopLoss() {
+        DayOutcome outcome = engine.replayDay(SYMBOL, DATE, day(setupThenSession(
+                bar(LocalTime.of(9, 49), 101.1, 101.2, 98.5, 98.8))), StrategyParameters.DEFAULT);
+
+        assertThat(outcome.exitPrice()).isCloseTo(ENTRY - 2.0, within(1e-9));
+        assertThat(outcome.exitReason()).isEqualTo("STOP_LOSS");
+        assertThat(outcome.pl()).isCloseTo(-200 - COMMISSIONS, within(1e-6));
+    }
+
+    @Test
+    @DisplayName("Should close at the last bar when neither leg is reached")
+    void shouldCloseAtSessionEnd() {
+        DayOutcome outcome = engine.replayDay(SYMBOL, DATE, day(setupThenSession(
+                bar(LocalTime.of(9, 49), 101.1, 101.6, 100.4, 101.5))), StrategyParameters.DEFAULT);
+
+        assertThat(outcome.exitPrice()).isEqualTo(101.5);
+        assertThat(outcome.exitReason()).isEqualTo("SESSION_END");
+        assertThat(outcome.barsReplayed()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should report a day without a breakout as untraded")
+    void shouldReportDayWithoutBreakout() {
+        DayOutcome outcome = engine.replayDay(SYMBOL, DATE, day(List.of(
+                bar(LocalTime.of(9, 45), 100.7, 100.95, 100.5, 100.9),
+                bar(LocalTime.of(9, 46), 100.9, 101.2, 100.4, 100.6))), StrategyParameters.DEFAULT);
+
+        assertThat(outcome.finalState()).isEqualTo(TradingState.MONITORING_FOR_BREAKOUT);
+        assertThat(outcome.breakout()).isFalse();
+        assertThat(outcome.retest()).isFalse();
+        assertThat(outcome.exitReason()).isNull();
+        assertThat(outcome.pl()).isZero();
+        assertThat(outcome.barsReplayed()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should aggregate replayed days in date order and count days without data")
+    void shouldAggregateDays() {
+        lenient().when(csvService.readBars(eq(SYMBOL), eq(TimeFrame.FIVE_MIN), anyString())).thenReturn(List.of());
+        lenient().when(csvService.readBars(eq(SYMBOL), eq(TimeFrame.ONE_MIN), anyString())).thenReturn(List.of());
+        lenient().when(csvService.readBars(SYMBOL, TimeFrame.FIVE_MIN, DATE)).thenReturn(openingRange());
+        lenient().when(csvService.readBars(SYMBOL, TimeFrame.ONE_MIN, DATE)).thenReturn(setupThenSession(
+                bar(LocalTime.of(9, 49), 101.1, 101.2, 98.5, 98.8)));
+
+        ReplayReport report = engine.run(SYMBOL, List.of("2025-01-07", DATE), StrategyParameters.DEFAULT);
+
+        assertThat(report.days()).extracting(DayOutcome::date).containsExactly(DATE, "2025-01-07");
+        assertThat(report.tradingDays()).isEqualTo(2);
+        assertThat(report.daysWithData()).isEqualTo(1);
+        assertThat(report.failedDays()).isZero();
+        assertThat(report.breakouts()).isEqualTo(1);
+        assertThat(report.retests()).isEqualTo(1);
+        assertThat(report.wins()).isZero();
+        assertThat(report.losses()).isEqualTo(1);
+        assertThat(report.totalPl()).isCloseTo(-200 - COMMISSIONS, within(1e-6));
+    }
+
+    @Test
+    @DisplayName("Should keep a day whose replay fails in the report with its error")
+    void shouldReportFailedDays() {
+        lenient().when(csvService.readBars(SYMBOL, TimeFrame.FIVE_MIN, DATE)).thenReturn(openingRange());
+        lenient().when(csvService.readBars(SYMBOL, TimeFrame.ONE_MIN, DATE)).thenReturn(setupThenSession(
+                bar(LocalTime.of(9, 49), 101.1, 101.2, 98.5, 98.8)));
+        lenient().when(csvService.readBars(eq(SYMBOL), eq(TimeFrame.FIVE_MIN), eq("2025-01-07")))
+                .thenThrow(new IllegalStateException("corrupt export"));
+
+        ReplayReport report = engine.run(SYMBOL, List.of("2025-01-07", DATE), StrategyParameters.DEFAULT);
+
+        assertThat(report.tradingDays()).isEqualTo(2);
+        assertThat(report.failedDays()).isEqualTo(1);
+        assertThat(report.daysWithData()).isEqualTo(1);
+        DayOutcome failed = report.days().getLast();
+        assertThat(failed.date()).isEqualTo("2025-01-07");
+        assertThat(failed.failed()).isTrue();
+        assertThat(failed.error()).isEqualTo("IllegalStateException: corrupt export");
+        assertThat(report.totalPl()).isCloseTo(-200 - COMMISSIONS, within(1e-6));
+    }
+}
@@ -0,0 +1,130 @@
+package com.strategy.trade.backtest.series;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("DoubleSeries Unit Tests")
+class DoubleSeriesTest {
+
+    private static final Instant BASE_TIME = Instant.parse("2024-01-01T09:30:00Z");
+
+    private DoubleSeries createSeries(double... prices) {
+        DoubleSeries series = new DoubleSeries("AAPL", 1);
+        for (int i = 0; i < prices.length; i++) {
+            series.add(prices[i], BASE_TIME.plusSeconds(i * 60L));
+        }
+        return series;
+    }
+
+    @Test
+    @DisplayName("Should grow beyond initial capacity on append")
+    void shouldGrowBeyondInitialCapacity() {
+        DoubleSeries series = createSeries(100.0, 101.0, 102.0, 103.0, 104.0);
+
+        assertThat(series.size()).isEqualTo(5);
+        assertThat(series.getValue(4)).isEqualTo(104.0);
+        assertThat(series.getInstant(4)).isEqualTo(BASE_TIME.plusSeconds(240));
+    }
+
+    @Test
+    @DisplayName("Should walk all elements with cursor")
+    void shouldWalkAllElementsWithCursor() {
+        DoubleSeries series = createSeries(100.0, 101.0, 99.0);
+        DoubleSeries.Cursor cursor = series.cursor();
+
+        double sum = 0;
+        int count = 0;
+        while (cursor.next()) {
+            sum += cursor.value();
+            assertThat(cursor.epochNanos()).isEqualTo(DoubleSeries.toEpochNanos(BASE_TIME.plusSeconds(count * 60L)));
+            count++;
+        }
+
+        assertThat(count).isEqualTo(3);
+        assertThat(sum).isEqualTo(300.0);
+        assertThat(cursor.next()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should keep list based API as adapter")
+    void shouldKeepListBasedApiAsAdapter() {
+        DoubleSeries series = new DoubleSeries(List.of(
+                new TimeSeries.Entry<>(100.0, BASE_TIME),
+                new TimeSeries.Entry<>(101.0, BASE_TIME.plusSeconds(60))), "AAPL");
+
+        assertThat(series.getData()).containsExactly(
+                new TimeSeries.Entry<>(100.0, BASE_TIME),
+                new TimeSeries.Entry<>(101.0, BASE_TIME.plusSeconds(60)));
+        assertThat(series.stream().mapToDouble(TimeSeries.Entry::getItem).sum()).isEqualTo(201.0);
+        assertThat(series.map(v -> v * 2).get(1).getItem()).isEqualTo(202.0);
+        assertThatThrownBy(() -> series.getData().add(new TimeSeries.Entry<>(1.0, BASE_TIME)))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    @DisplayName("Should reverse descending series into ascending order")
+    void shouldReverseDescendingSeries() {
+        DoubleSeries descending = createSeries(100.0, 101.0, 102.0).reverse();
+
+        DoubleSeries ascending = descending.toAscending();
+
+        assertThat(descending.isAscending()).isFalse();
+        assertThat(ascending.isAscending()).isTrue();
+        assertThat(ascending.getValue(0)).isEqualTo(100.0);
+        assertThat(ascending.getName()).isEqualTo("AAPL");
+    }
+
+    @Test
+    @DisplayName("Should round trip instants through epoch nanos")
+    void shouldRoundTripInstantsThroughEpochNanos() {
+        Instant instant = Instant.parse("1969-12-31T23:59:59.250Z");
+
+        assertThat(DoubleSeries.ofEpochNanos(DoubleSeries.toEpochNanos(instant))).isEqualTo(instant);
+    }
+
+    @Test
+    @DisplayName("Should slice by instant without copying and find indices by binary search")
+    void shouldSliceByInstant() {
+        DoubleSeries series = createSeries(100.0, 101.0, 102.0, 103.0, 104.0);
+
+        DoubleSeries slice = series.slice(BASE_TIME.plusSeconds(60), BASE_TIME.plusSeconds(200));
+
+        assertThat(slice.size()).isEqualTo(3);
+        assertThat(slice.getValue(0)).isEqualTo(101.0);
+        assertThat(slice.getValue(2)).isEqualTo(103.0);
+        assertThat(slice.values).isSameAs(series.values);
+        assertThat(series.indexAtOrBefore(BASE_TIME.plusSeconds(119))).isEqualTo(1);
+        assertThat(series.indexAtOrBefore(BASE_TIME.minusSeconds(1))).isEqualTo(-1);
+        assertThat(series.indexAtOrAfter(BASE_TIME.plusSeconds(119))).isEqualTo(2);
+        assertThat(series.indexAtOrAfter(BASE_TIME.plusSeconds(241))).isEqualTo(-1);
+        assertThatThrownBy(() -> slice.add(1.0, 0L)).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    @DisplayName("Should compose reversed views and slices over descending data")
+    void shouldComposeReversedViews() {
+        DoubleSeries descending = createSeries(100.0, 101.0, 102.0, 103.0, 104.0).reverse();
+
+        DoubleSeries slice = descending.slice(BASE_TIME.plusSeconds(60), BASE_TIME.plusSeconds(200));
+        DoubleSeries ascending = slice.toAscending();
+        DoubleSeries.Cursor cursor = ascending.cursor();
+        double sum = 0;
+        while (cursor.next()) {
+            sum += cursor.value();
+        }
+
+        assertThat(slice.getValue(0)).isEqualTo(103.0);
+        assertThat(slice.getValue(2)).isEqualTo(101.0);
+        assertThat(ascending.getValue(0)).isEqualTo(101.0);
+        assertThat(ascending.slice(1, 3).getValue(1)).isEqualTo(103.0);
+        assertThat(descending.indexAtOrBefore(BASE_TIME.plusSeconds(119))).isEqualTo(3);
+        assertThat(sum).isEqualTo(306.0);
+        assertThat(ascending.copy().isAscending()).isTrue();
+    }
+}
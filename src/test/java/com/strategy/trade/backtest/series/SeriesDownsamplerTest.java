@@ -0,0 +1,64 @@
+package com.strategy.trade.backtest.series;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@DisplayName("SeriesDownsampler Unit Tests")
+class SeriesDownsamplerTest {
+
+    private static DoubleSeries sine(int size) {
+        DoubleSeries series = new DoubleSeries("pl", size);
+        for (int i = 0; i < size; i++) {
+            series.add(Math.sin(i / 50.0) * 100 + (i == 777 ? 1000 : 0), i * 60_000_000_000L);
+        }
+        return series;
+    }
+
+    @Test
+    @DisplayName("Should keep endpoints and requested resolution with LTTB")
+    void shouldKeepEndpointsWithLttb() {
+        DoubleSeries series = sine(10_000);
+        List<Long> times = new ArrayList<>();
+        List<Double> values = new ArrayList<>();
+
+        SeriesDownsampler.lttb(series, 200, (t, v) -> {
+            times.add(t);
+            values.add(v);
+        });
+
+        assertThat(times).hasSize(200).isSorted();
+        assertThat(times.getFirst()).isEqualTo(series.getEpochNanos(0));
+        assertThat(times.getLast()).isEqualTo(series.getEpochNanos(9_999));
+        assertThat(values).contains(series.getValue(777));
+    }
+
+    @Test
+    @DisplayName("Should keep every bucket extreme with min/max")
+    void shouldKeepExtremesWithMinMax() {
+        DoubleSeries series = sine(10_000);
+        List<Double> values = new ArrayList<>();
+
+        SeriesDownsampler.minMax(series, 100, (t, v) -> values.add(v));
+
+        assertThat(values).hasSizeLessThanOrEqualTo(200).contains(series.getValue(777));
+        assertThat(values.stream().mapToDouble(Double::doubleValue).min().orElseThrow())
+                .isCloseTo(-100.0, within(0.01));
+    }
+
+    @Test
+    @DisplayName("Should pass small series through unchanged")
+    void shouldPassSmallSeriesThrough() {
+        DoubleSeries series = sine(10);
+        List<Double> values = new ArrayList<>();
+
+        SeriesDownsampler.downsample(series, 1000, DownsampleMethod.LTTB, (t, v) -> values.add(v));
+
+        assertThat(values).hasSize(10);
+    }
+}
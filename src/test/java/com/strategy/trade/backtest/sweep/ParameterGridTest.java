@@ -0,0 +1,54 @@
+package com.strategy.trade.backtest.sweep;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("ParameterGrid Unit Tests")
+class ParameterGridTest {
+
+    @Test
+    @DisplayName("Should build the cartesian product of all axes")
+    void shouldBuildCartesianProduct() {
+        ParameterGrid grid = new ParameterGrid();
+        grid.setLeverages(List.of(1.0, 2.0));
+        grid.setOpeningRangeMinutes(List.of(5, 15, 30));
+        grid.setStopLossRanges(List.of(1.0, 2.0));
+
+        List<ParameterGrid.Combination> combinations = grid.combinations();
+
+        assertThat(combinations).hasSize(12);
+        assertThat(combinations).extracting(combination -> combination.parameters().openingRangeMinutes())
+                .containsOnly(5, 15, 30);
+        assertThat(combinations.get(0).deposit()).isEqualTo(20000.0);
+        assertThat(combinations.get(0).parameters().takeProfitRange()).isEqualTo(3.0);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 3, 7, 12, -5})
+    @DisplayName("Should reject opening ranges that are not whole 5-minute bars")
+    void shouldRejectPartialOpeningRanges(int minutes) {
+        ParameterGrid grid = new ParameterGrid();
+        grid.setOpeningRangeMinutes(List.of(15, minutes));
+
+        assertThatThrownBy(grid::validate)
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining(String.valueOf(minutes));
+        assertThatThrownBy(grid::combinations).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should reject an empty axis")
+    void shouldRejectEmptyAxis() {
+        ParameterGrid grid = new ParameterGrid();
+        grid.setTakeProfitRanges(List.of());
+
+        assertThatThrownBy(grid::validate).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,130 @@
+package com.strategy.trade.backtest.sweep;
+
+import com.strategy.trade.backtest.series.DoubleSeries;
+import com.strategy.trade.strategy.AsyncTradingStrategy;
+import com.strategy.trade.strategy.enums.StrategyDataSource;
+import com.strategy.trade.strategy.enums.StrategyType;
+import com.strategy.trade.strategy.model.TradingContext;
+import com.ib.client.Order;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("ParameterSweep Unit Tests")
+class ParameterSweepTest {
+
+    private static final Instant BASE_TIME = Instant.parse("2025-09-05T13:30:00Z");
+
+    private final ForkJoinPool pool = new ForkJoinPool(2);
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    private static DoubleSeries risingPrices() {
+        DoubleSeries prices = new DoubleSeries("AAPL");
+        for (int i = 0; i < 5; i++) {
+            prices.add(100.0 + i, BASE_TIME.plusSeconds(60L * i));
+        }
+        return prices;
+    }
+
+    @Test
+    @DisplayName("Should rank runs by profit, best first")
+    void shouldRankRunsByProfit() {
+        ParameterGrid grid = new ParameterGrid();
+        grid.setSymbol("AAPL");
+        grid.setOpeningRangeMinutes(List.of(15, 30, 5));
+
+        List<SweepResult> results = new ParameterSweep(pool).run(grid, risingPrices(), BuyOnFirstTick::new);
+
+        assertThat(results).extracting(SweepResult::rank).containsExactly(1, 2, 3);
+        assertThat(results).extracting(result -> result.parameters().openingRangeMinutes())
+                .containsExactly(30, 15, 5);
+        assertThat(results).extracting(SweepResult::pl).isSortedAccordingTo((a, b) -> Double.compare(b, a));
+        assertThat(results).allSatisfy(result -> assertThat(result.trades()).isEqualTo(1));
+    }
+
+    @Test
+    @DisplayName("Should report a failing run after the ranked ones instead of dropping it")
+    void shouldReportFailedRuns() {
+        ParameterGrid grid = new ParameterGrid();
+        grid.setSymbol("AAPL");
+        grid.setOpeningRangeMinutes(List.of(15, 30, 5));
+
+        List<SweepResult> results = new ParameterSweep(pool).run(grid, risingPrices(), FailsOnThirtyMinutes::new);
+
+        assertThat(results).hasSize(3);
+        assertThat(results).extracting(SweepResult::rank).containsExactly(1, 2, 0);
+        assertThat(results).extracting(SweepResult::failed).containsExactly(false, false, true);
+        SweepResult failed = results.getLast();
+        assertThat(failed.parameters().openingRangeMinutes()).isEqualTo(30);
+        assertThat(failed.error()).isEqualTo("IllegalStateException: no bars for 30 minutes");
+    }
+
+    @Test
+    @DisplayName("Should reject an invalid grid before running anything")
+    void shouldRejectInvalidGrid() {
+        ParameterGrid grid = new ParameterGrid();
+        grid.setOpeningRangeMinutes(List.of(15, 4));
+
+        assertThatThrownBy(() -> new ParameterSweep(pool).run(grid, risingPrices(), () -> {
+            throw new AssertionError("Unexpected run");
+        })).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static class FailsOnThirtyMinutes extends BuyOnFirstTick {
+
+        @Override
+        public CompletableFuture<TradingContext> startStrategy(TradingContext context) {
+            if (context.getParameters().openingRangeMinutes() == 30) {
+                throw new IllegalStateException("no bars for 30 minutes");
+            }
+            return super.startStrategy(context);
+        }
+    }
+
+    // buys once, sized by the opening range, so larger ranges earn more on rising prices
+    private static class BuyOnFirstTick implements AsyncTradingStrategy {
+
+        private boolean bought;
+
+        @Override
+        public StrategyType getStrategyType() {
+            return StrategyType.ORB;
+        }
+
+        @Override
+        public StrategyDataSource getStrategyDataSource() {
+            return StrategyDataSource.CSV;
+        }
+
+        @Override
+        public void setStrategyDataSource(StrategyDataSource strategyDataSource) {
+        }
+
+        @Override
+        public CompletableFuture<TradingContext> startStrategy(TradingContext context) {
+            return CompletableFuture.completedFuture(context);
+        }
+
+        @Override
+        public CompletableFuture<List<Order>> onTick(TradingContext context) {
+            if (!bought) {
+                bought = true;
+                context.order(context.getSymbol(), true, context.getParameters().openingRangeMinutes());
+            }
+            return CompletableFuture.completedFuture(Collections.emptyList());
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.strategy.trade.backtest.walkforward;
+
+import com.strategy.trade.backtest.replay.DayOutcome;
+import com.strategy.trade.backtest.replay.OrbReplayEngine;
+import com.strategy.trade.strategy.enums.TradingState;
+import com.strategy.trade.strategy.model.StrategyParameters;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("WalkForwardOptimizer Unit Tests")
+class WalkForwardOptimizerTest {
+
+    private static final String SYMBOL = "AAPL";
+    private static final StrategyParameters EARLY = new StrategyParameters(15, 2, new BigDecimal("0.02"), 2.0, 3.0);
+    private static final StrategyParameters LATE = new StrategyParameters(30, 2, new BigDecimal("0.02"), 2.0, 3.0);
+    // 2025-01-01 .. 2025-01-07, day index = day of month - 1
+    private static final List<String> DATES = List.of(
+            "2025-01-01", "2025-01-02", "2025-01-03", "2025-01-04", "2025-01-05", "2025-01-06", "2025-01-07");
+
+    @Mock
+    private OrbReplayEngine replayEngine;
+
+    private ForkJoinPool pool;
+    private WalkForwardOptimizer optimizer;
+
+    @BeforeEach
+    void setUp() {
+        pool = new ForkJoinPool(2);
+        optimizer = new WalkForwardOptimizer(pool, replayEngine);
+        lenient().when(replayEngine.loadDay(eq(SYMBOL), anyString())).thenReturn(Map.of());
+        // EARLY earns 1 a day on the first four days and loses 1 after; LATE loses 1 on two days, then earns 2
+        lenient().when(replayEngine.replayDay(eq(SYMBOL), anyString(), any(), any())).thenAnswer(invocation -> {
+            String date = invocation.getArgument(1);
+            StrategyParameters parameters = invocation.getArgument(3);
+            int day = LocalDate.parse(date).getDayOfMonth() - 1;
+            double pl = parameters == EARLY ? (day < 4 ? 1 : -1) : (day < 2 ? -1 : 2);
+            return new DayOutcome(date, TradingState.SETUP_COMPLETE, true, true, 0, 0, 0, 0, null, pl, 1);
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should roll windows forward by the out-of-sample length and pick the best in-sample candidate")
+    void shouldSplitWindowsAndPickBestCandidate() {
+        WalkForwardResult result = optimizer.run(SYMBOL, DATES, List.of(EARLY, LATE), 3, 2, 1000);
+
+        assertThat(result.windows()).hasSize(2);
+        WindowResult first = result.windows().get(0);
+        assertThat(first.inSampleFrom()).isEqualTo("2025-01-01");
+        assertThat(first.inSampleTo()).isEqualTo("2025-01-03");
+        assertThat(first.outOfSampleFrom()).isEqualTo("2025-01-04");
+        assertThat(first.outOfSampleTo()).isEqualTo("2025-01-05");
+        assertThat(first.parameters()).isEqualTo(EARLY);
+        assertThat(first.inSamplePl()).isEqualTo(3);
+        assertThat(first.outOfSamplePl()).isZero();
+
+        WindowResult second = result.windows().get(1);
+        assertThat(second.inSampleFrom()).isEqualTo("2025-01-03");
+        assertThat(second.outOfSampleTo()).isEqualTo("2025-01-07");
+        assertThat(second.parameters()).isEqualTo(LATE);
+        assertThat(second.inSamplePl()).isEqualTo(6);
+        assertThat(second.outOfSamplePl()).isEqualTo(4);
+
+        assertThat(result.outOfSamplePl()).isEqualTo(4);
+        assertThat(result.equityCurve().size()).isEqualTo(4);
+        assertThat(result.equityCurve().getValue(0)).isEqualTo(1001);
+        assertThat(result.equityCurve().getValue(3)).isEqualTo(1004);
+    }
+
+    @Test
+    @DisplayName("Should run no window when the days do not fill one in-sample and one out-of-sample span")
+    void shouldRunNoWindowOnShortHistory() {
+        WalkForwardResult result = optimizer.run(SYMBOL, DATES.subList(0, 4), List.of(EARLY), 3, 2, 1000);
+
+        assertThat(result.windows()).isEmpty();
+        assertThat(result.outOfSamplePl()).isZero();
+        assertThat(result.equityCurve().size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should reject non-positive window lengths")
+    void shouldRejectNonPositiveWindows() {
+        assertThatThrownBy(() -> optimizer.run(SYMBOL, DATES, List.of(EARLY), 0, 2, 1000))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> optimizer.run(SYMBOL, DATES, List.of(EARLY), 3, 0, 1000))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,35 @@
+package com.strategy.trade.redis;
+
+import com.strategy.trade.model.CandleBar;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("CandleBarSerializer Unit Tests")
+class CandleBarSerializerTest {
+
+    private final CandleBarSerializer serializer = new CandleBarSerializer();
+
+    @Test
+    @DisplayName("Should round trip a bar, including a missing open")
+    void shouldRoundTripBar() {
+        CandleBar bar = new CandleBar(CandleBar.epochSecond("2024-03-01 09:30:00"), Double.NaN, 181.2, 180.4,
+                180.9, 1_250_000);
+
+        byte[] bytes = serializer.serialize(bar);
+
+        assertThat(bytes).hasSize(CandleBarSerializer.RECORD_BYTES);
+        assertThat(serializer.deserialize(bytes)).isEqualTo(bar);
+    }
+
+    @Test
+    @DisplayName("Should reject records of another length")
+    void shouldRejectOtherLengths() {
+        assertThatThrownBy(() -> serializer.deserialize(new byte[]{CandleBarSerializer.VERSION, 1, 2}))
+                .isInstanceOf(SerializationException.class);
+        assertThat(serializer.deserialize(null)).isNull();
+    }
+}
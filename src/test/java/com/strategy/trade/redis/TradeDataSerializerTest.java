@@ -0,0 +1,70 @@
+package com.strategy.trade.redis;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.strategy.trade.model.TradeData;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("TradeDataSerializer Unit Tests")
+class TradeDataSerializerTest {
+
+    private final TradeDataSerializer serializer = new TradeDataSerializer();
+
+    @Test
+    @DisplayName("Should round trip a trade in a fixed number of bytes")
+    void shouldRoundTripTrade() {
+        TradeData trade = new TradeData("AAPL", 150.5, 1_700_000_000_123L, 12.0);
+
+        byte[] bytes = serializer.serialize(trade);
+        TradeData decoded = serializer.deserialize(bytes);
+
+        assertThat(bytes).hasSize(TradeDataSerializer.FIXED_BYTES + 4);
+        assertThat(decoded.getSymbol()).isEqualTo("AAPL");
+        assertThat(decoded.getPrice()).isEqualTo(150.5);
+        assertThat(decoded.getTimestamp()).isEqualTo(1_700_000_000_123L);
+        assertThat(decoded.getVolume()).isEqualTo(12.0);
+        assertThat(serializer.serialize(decoded)).isEqualTo(bytes);
+    }
+
+    @Test
+    @DisplayName("Should keep missing fields null")
+    void shouldKeepNulls() {
+        TradeData decoded = serializer.deserialize(serializer.serialize(new TradeData(null, null, 5L, null)));
+
+        assertThat(decoded.getSymbol()).isNull();
+        assertThat(decoded.getPrice()).isNull();
+        assertThat(decoded.getTimestamp()).isEqualTo(5L);
+        assertThat(decoded.getVolume()).isNull();
+        assertThat(serializer.deserialize(new byte[0])).isNull();
+    }
+
+    @Test
+    @DisplayName("Should be less than half the size of the JSON form")
+    void shouldBeSmallerThanJson() throws Exception {
+        TradeData trade = new TradeData("BINANCE:BTCUSDT", 67_012.25, 1_700_000_000_123L, 0.00125);
+
+        byte[] json = new ObjectMapper().registerModule(new JavaTimeModule()).writeValueAsBytes(trade);
+
+        assertThat(serializer.serialize(trade).length).isLessThan(json.length / 2);
+    }
+
+    @Test
+    @DisplayName("Should reject truncated records and other encodings")
+    void shouldRejectMalformedRecords() {
+        byte[] bytes = serializer.serialize(new TradeData("AAPL", 150.5, 1L, 1.0));
+
+        assertThatThrownBy(() -> serializer.deserialize(Arrays.copyOf(bytes, 10)))
+                .isInstanceOf(SerializationException.class);
+        assertThatThrownBy(() -> serializer.deserialize(Arrays.copyOf(bytes, bytes.length - 1)))
+                .isInstanceOf(SerializationException.class);
+        assertThatThrownBy(() -> serializer.deserialize("{\"s\":\"AAPL\"}".getBytes()))
+                .isInstanceOf(SerializationException.class);
+    }
+}
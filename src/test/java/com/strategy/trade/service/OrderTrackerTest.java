@@ -3,6 +3,7 @@ package com.strategy.trade.service;
 import com.strategy.trade.mapper.OrderMapper;
 import com.strategy.trade.model.OrderModel;
 import com.strategy.trade.service.impl.OrderTrackerImpl;
+import com.strategy.trade.strategy.model.TickSize;
 import com.ib.client.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -10,9 +11,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
 import java.util.Collection;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -165,4 +168,20 @@ class OrderTrackerTest {
         assertEquals(limitPrice, result.lmtPrice());
         assertTrue(result.transmit());
     }
+
+    @Test
+    void createComplexBracketOrder_ShouldRoundChildPricesToTickSize() {
+        // Given
+        ReflectionTestUtils.setField(orderTracker, "defaultTakeProfitRange", 3.01);
+        TickSize nickel = TickSize.of(new BigDecimal("0.05"));
+
+        // When
+        List<Order> orders = orderTracker.createComplexBracketOrder(200, new BigDecimal("100.03"), nickel);
+
+        // Then
+        assertEquals(3, orders.size());
+        assertEquals(100.05, orders.get(1).auxPrice());
+        assertEquals(103.05, orders.get(2).lmtPrice());
+        verifyNoInteractions(client);
+    }
 }
@@ -46,6 +46,19 @@ class TimeUtilsTest {
         assertEquals(0, result.getSecond());
     }
 
+    @Test
+    void parseIbLocalTime_ShouldKeepExchangeWallClock() {
+        // Given
+        String ibTime = "20250703 09:30:00 US/Eastern";
+
+        // When
+        LocalDateTime result = TimeUtils.parseIbLocalTime(ibTime);
+
+        // Then
+        assertEquals(LocalDateTime.of(2025, 7, 3, 9, 30), result);
+        assertEquals(LocalDateTime.of(2025, 7, 3, 0, 0), TimeUtils.parseIbLocalTime("20250703"));
+    }
+
     @Test
     void parseIbTime_ShouldThrowRuntimeException_WhenInvalidFormat() {
         // Given
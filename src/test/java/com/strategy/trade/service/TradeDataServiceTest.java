@@ -6,14 +6,19 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisSetCommands;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.data.redis.core.ZSetOperations;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
 
@@ -30,46 +35,88 @@ class TradeDataServiceTest {
     private ApplicationEventPublisher eventPublisher;
 
     @Mock
-    private ValueOperations<String, TradeData> valueOperations;
+    private ZSetOperations<String, TradeData> zSetOperations;
 
     @Mock
-    private ZSetOperations<String, TradeData> zSetOperations;
+    private HashOperations<String, String, TradeData> hashOperations;
+
+    @Mock
+    private RedisConnection connection;
+
+    @Mock
+    private RedisSetCommands setCommands;
 
-    @InjectMocks
     private TradeDataService tradeDataService;
 
     private TradeData mockTradeData;
 
     @BeforeEach
     void setUp() {
+        tradeDataService = new TradeDataService(redisTemplate, eventPublisher, 60, 1000);
         mockTradeData = new TradeData();
         mockTradeData.setSymbol("AAPL");
         mockTradeData.setPrice(150.50);
         mockTradeData.setVolume(1000.0);
         mockTradeData.setTimestamp(Instant.now().toEpochMilli());
 
-        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
-        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        lenient().when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        lenient().when(redisTemplate.<String, TradeData>opsForHash()).thenReturn(hashOperations);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void runPipelinesAgainstMocks() {
+        when(redisTemplate.executePipelined(any(SessionCallback.class))).thenAnswer(invocation -> {
+            invocation.<SessionCallback<Object>>getArgument(0).execute(redisTemplate);
+            return List.of();
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private void runCallbacksAgainstConnection() {
+        when(connection.setCommands()).thenReturn(setCommands);
+        when(redisTemplate.execute(any(RedisCallback.class))).thenAnswer(invocation ->
+                invocation.<RedisCallback<?>>getArgument(0).doInRedis(connection));
+    }
+
+    // members passed to a set command, read from the recorded invocation so the byte[] varargs stay intact
+    private List<String> setMembers(String command) {
+        return mockingDetails(setCommands).getInvocations().stream()
+                .filter(invocation -> invocation.getMethod().getName().equals(command))
+                .flatMap(invocation -> Arrays.stream(invocation.getArguments()).skip(1))
+                .map(member -> new String((byte[]) member, StandardCharsets.UTF_8))
+                .toList();
+    }
+
+    private static byte[] utf8(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
     }
 
     @Test
+    @SuppressWarnings("unchecked")
     void processRealTimeTrade_ShouldStoreTradeAndPublishEvent() {
         // Given
         String symbol = "AAPL";
-        String latestKey = "trade:latest:" + symbol;
         String historyKey = "trade:history:" + symbol;
-        TradeData previousTrade = null;
-
-        when(valueOperations.get(latestKey)).thenReturn(previousTrade);
+        runPipelinesAgainstMocks();
+        runCallbacksAgainstConnection();
 
         // When
         tradeDataService.processRealTimeTrade(mockTradeData);
 
         // Then
-        verify(valueOperations).set(latestKey, mockTradeData, java.time.Duration.ofHours(24));
+        verify(hashOperations, never()).putAll(any(), any());
+        assertEquals(1, tradeDataService.flushLatestTrades());
+        verify(hashOperations).putAll("trade:latest", Map.of(symbol, mockTradeData));
+        verify(redisTemplate).expire("trade:latest", java.time.Duration.ofHours(24));
+        verify(redisTemplate).execute(any(RedisCallback.class));
+        assertEquals(List.of(symbol), setMembers("sAdd"));
+        assertEquals(0, tradeDataService.flushLatestTrades());
         verify(zSetOperations).add(historyKey, mockTradeData, mockTradeData.getTimestamp().doubleValue());
         verify(zSetOperations).removeRange(historyKey, 0, -1001);
+        verify(zSetOperations).removeRangeByScore(historyKey, Double.NEGATIVE_INFINITY,
+                mockTradeData.getTimestamp() - java.time.Duration.ofMinutes(60).toMillis() - 1);
         verify(redisTemplate).expire(historyKey, java.time.Duration.ofHours(24));
+        assertEquals(2, tradeDataService.getIngestionStats().redisRoundTrips());
 
         ArgumentCaptor<TradeUpdatedEvent> eventCaptor = ArgumentCaptor.forClass(TradeUpdatedEvent.class);
         verify(eventPublisher).publishEvent(eventCaptor.capture());
@@ -82,37 +129,91 @@ class TradeDataServiceTest {
     @Test
     void processRealTimeTrade_ShouldPublishEventWithPreviousTrade() {
         // Given
-        String symbol = "AAPL";
-        String latestKey = "trade:latest:" + symbol;
-        String historyKey = "trade:history:" + symbol;
-        
         TradeData previousTrade = new TradeData();
         previousTrade.setSymbol("AAPL");
         previousTrade.setPrice(150.00);
         previousTrade.setVolume(500.0);
         previousTrade.setTimestamp(Instant.now().minusSeconds(10).toEpochMilli());
 
-        when(valueOperations.get(latestKey)).thenReturn(previousTrade);
-
         // When
+        tradeDataService.processRealTimeTrade(previousTrade);
         tradeDataService.processRealTimeTrade(mockTradeData);
 
         // Then
         ArgumentCaptor<TradeUpdatedEvent> eventCaptor = ArgumentCaptor.forClass(TradeUpdatedEvent.class);
-        verify(eventPublisher).publishEvent(eventCaptor.capture());
-        
+        verify(eventPublisher, times(2)).publishEvent(eventCaptor.capture());
+
         TradeUpdatedEvent capturedEvent = eventCaptor.getValue();
         assertEquals(mockTradeData, capturedEvent.getTrade());
         assertEquals(previousTrade, capturedEvent.getPreviousTrade());
     }
 
+    @Test
+    void processRealTimeTrade_ShouldCountTradesButLeaveFramesToTheCaller() {
+        TradeData second = new TradeData("AAPL", 151.0, mockTradeData.getTimestamp() + 5, 1.0);
+
+        // one frame of two trades, stored one at a time
+        tradeDataService.countFrame();
+        tradeDataService.processRealTimeTrade(mockTradeData);
+        tradeDataService.processRealTimeTrade(second);
+
+        assertEquals(1, tradeDataService.getIngestionStats().frames());
+        assertEquals(2, tradeDataService.getIngestionStats().trades());
+        assertEquals(2, tradeDataService.getIngestionStats().redisRoundTrips());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void processRealTimeTrades_ShouldStoreFrameInOnePipelineAndChainPreviousTrades() {
+        // Given
+        TradeData second = new TradeData("AAPL", 150.75, mockTradeData.getTimestamp() + 5, 200.0);
+        TradeData other = new TradeData("MSFT", 410.0, mockTradeData.getTimestamp(), 50.0);
+        TradeData stored = new TradeData("AAPL", 149.0, mockTradeData.getTimestamp() - 1000, 10.0);
+
+        when(hashOperations.entries("trade:latest")).thenReturn(Map.of("AAPL", stored));
+        runPipelinesAgainstMocks();
+        runCallbacksAgainstConnection();
+        tradeDataService.warmLatestTrades();
+
+        // When
+        tradeDataService.processRealTimeTrades(List.of(mockTradeData, other, second));
+        tradeDataService.processRealTimeTrades(List.of(new TradeData("AAPL", 151.0, second.getTimestamp() + 5, 1.0)));
+        tradeDataService.flushLatestTrades();
+
+        // Then
+        ArgumentCaptor<Map<String, TradeData>> flushed = ArgumentCaptor.forClass(Map.class);
+        verify(hashOperations).putAll(eq("trade:latest"), flushed.capture());
+        assertEquals(2, flushed.getValue().size());
+        assertEquals(151.0, flushed.getValue().get("AAPL").getPrice());
+        assertEquals(other, flushed.getValue().get("MSFT"));
+        assertEquals(Set.of("AAPL", "MSFT"), new HashSet<>(setMembers("sAdd")));
+        assertEquals(2, setMembers("sAdd").size());
+        verify(redisTemplate, never()).keys(any());
+        verify(zSetOperations, times(2)).add(eq("trade:history:AAPL"), anySet());
+        verify(zSetOperations).removeRange("trade:history:AAPL", 0, -1001);
+        verify(zSetOperations)
+                .removeRangeByScore(eq("trade:history:AAPL"), eq(Double.NEGATIVE_INFINITY), anyDouble());
+        verify(redisTemplate, times(3)).executePipelined(any(SessionCallback.class));
+
+        ArgumentCaptor<TradeUpdatedEvent> eventCaptor = ArgumentCaptor.forClass(TradeUpdatedEvent.class);
+        verify(eventPublisher, times(4)).publishEvent(eventCaptor.capture());
+        List<TradeUpdatedEvent> events = eventCaptor.getAllValues();
+        assertEquals(stored, events.get(0).getPreviousTrade());
+        assertNull(events.get(1).getPreviousTrade());
+        assertEquals(mockTradeData, events.get(2).getPreviousTrade());
+        assertEquals(second, events.get(3).getPreviousTrade());
+
+        assertEquals(2, tradeDataService.getIngestionStats().frames());
+        assertEquals(4, tradeDataService.getIngestionStats().trades());
+        assertEquals(3, tradeDataService.getIngestionStats().redisRoundTrips());
+        assertEquals(151.0, tradeDataService.getLatestPrice("AAPL").orElseThrow());
+    }
+
     @Test
     void getLatestTrade_ShouldReturnTrade_WhenTradeExists() {
         // Given
         String symbol = "AAPL";
-        String key = "trade:latest:" + symbol;
-
-        when(valueOperations.get(key)).thenReturn(mockTradeData);
+        tradeDataService.processRealTimeTrade(mockTradeData);
 
         // When
         Optional<TradeData> result = tradeDataService.getLatestTrade(symbol);
@@ -120,33 +221,24 @@ class TradeDataServiceTest {
         // Then
         assertTrue(result.isPresent());
         assertEquals(mockTradeData, result.get());
-        verify(valueOperations).get(key);
     }
 
     @Test
     void getLatestTrade_ShouldReturnEmpty_WhenTradeDoesNotExist() {
         // Given
         String symbol = "NONEXISTENT";
-        String key = "trade:latest:" + symbol;
-
-        when(valueOperations.get(key)).thenReturn(null);
 
         // When
         Optional<TradeData> result = tradeDataService.getLatestTrade(symbol);
 
         // Then
         assertFalse(result.isPresent());
-        verify(valueOperations).get(key);
     }
 
     @Test
     void getAllLatestTrades_ShouldReturnMapOfTrades() {
         // Given
-        Set<String> keys = new HashSet<>(Arrays.asList("trade:latest:AAPL", "trade:latest:GOOGL"));
-        List<TradeData> trades = Arrays.asList(mockTradeData, null);
-
-        when(redisTemplate.keys("trade:latest:*")).thenReturn(keys);
-        when(valueOperations.multiGet(keys)).thenReturn(trades);
+        tradeDataService.processRealTimeTrade(mockTradeData);
 
         // When
         Map<String, TradeData> result = tradeDataService.getAllLatestTrades();
@@ -155,29 +247,78 @@ class TradeDataServiceTest {
         assertEquals(1, result.size());
         assertTrue(result.containsKey("AAPL"));
         assertEquals(mockTradeData, result.get("AAPL"));
-        verify(redisTemplate).keys("trade:latest:*");
-        verify(valueOperations).multiGet(keys);
+        verify(redisTemplate, never()).keys(any());
+        verify(hashOperations, never()).entries(any());
     }
 
     @Test
-    void getAllLatestTrades_ShouldReturnEmptyMap_WhenNoKeysFound() {
-        // Given
-        when(redisTemplate.keys("trade:latest:*")).thenReturn(null);
-
+    void getAllLatestTrades_ShouldReturnEmptyMap_WhenNoTradesReceived() {
         // When
         Map<String, TradeData> result = tradeDataService.getAllLatestTrades();
 
         // Then
         assertTrue(result.isEmpty());
-        verify(redisTemplate).keys("trade:latest:*");
-        verify(valueOperations, never()).multiGet(any());
+        verify(redisTemplate, never()).keys(any());
+    }
+
+    @Test
+    void warmLatestTrades_ShouldLoadAllSymbolsWithOneHashRead() {
+        // Given
+        TradeData msft = new TradeData("MSFT", 410.0, mockTradeData.getTimestamp(), 50.0);
+        when(hashOperations.entries("trade:latest")).thenReturn(Map.of("AAPL", mockTradeData, "MSFT", msft));
+
+        // When
+        tradeDataService.warmLatestTrades();
+
+        // Then
+        assertEquals(Map.of("AAPL", mockTradeData, "MSFT", msft), tradeDataService.getAllLatestTrades());
+        verify(hashOperations).entries("trade:latest");
+        verify(redisTemplate, never()).keys(any());
+    }
+
+    @Test
+    void warmLatestTrades_ShouldDeleteExpiredAndUntrackedEntries() {
+        // Given
+        TradeData stale = new TradeData("OLD", 10.0, Instant.now().minus(Duration.ofHours(25)).toEpochMilli(), 1.0);
+        when(hashOperations.entries("trade:latest")).thenReturn(Map.of("AAPL", mockTradeData, "OLD", stale));
+        runCallbacksAgainstConnection();
+        when(setCommands.sMembers(any(byte[].class))).thenReturn(Set.of(utf8("AAPL"), utf8("GONE")));
+        runPipelinesAgainstMocks();
+
+        // When
+        tradeDataService.warmLatestTrades();
+
+        // Then
+        assertEquals(Map.of("AAPL", mockTradeData), tradeDataService.getAllLatestTrades());
+        verify(hashOperations).delete(eq("trade:latest"), any(), any());
+        assertEquals(Set.of("GONE", "OLD"), new HashSet<>(setMembers("sRem")));
+    }
+
+    @Test
+    void evictExpiredTrades_ShouldDropSymbolsWithoutRecentTrades() {
+        // Given
+        TradeData stale = new TradeData("OLD", 10.0, Instant.now().minus(Duration.ofHours(25)).toEpochMilli(), 1.0);
+        tradeDataService.processRealTimeTrades(List.of(mockTradeData, stale));
+        runCallbacksAgainstConnection();
+        runPipelinesAgainstMocks();
+
+        // When
+        int evicted = tradeDataService.evictExpiredTrades();
+
+        // Then
+        assertEquals(1, evicted);
+        assertEquals(Map.of("AAPL", mockTradeData), tradeDataService.getAllLatestTrades());
+        assertTrue(tradeDataService.getTradeHistoryBetween("OLD", 0, Long.MAX_VALUE).isEmpty());
+        verify(hashOperations).delete("trade:latest", "OLD");
+        assertEquals(List.of("OLD"), setMembers("sRem"));
+        assertEquals(0, tradeDataService.evictExpiredTrades());
     }
 
     @Test
     void getLatestPrice_ShouldReturnPrice_WhenTradeExists() {
         // Given
         String symbol = "AAPL";
-        when(valueOperations.get("trade:latest:" + symbol)).thenReturn(mockTradeData);
+        tradeDataService.processRealTimeTrade(mockTradeData);
 
         // When
         Optional<Double> result = tradeDataService.getLatestPrice(symbol);
@@ -191,7 +332,6 @@ class TradeDataServiceTest {
     void getLatestPrice_ShouldReturnEmpty_WhenTradeDoesNotExist() {
         // Given
         String symbol = "NONEXISTENT";
-        when(valueOperations.get("trade:latest:" + symbol)).thenReturn(null);
 
         // When
         Optional<Double> result = tradeDataService.getLatestPrice(symbol);
@@ -201,51 +341,42 @@ class TradeDataServiceTest {
     }
 
     @Test
-    void getTradeHistory_ShouldReturnListOfTrades() {
+    void getTradeHistory_ShouldReturnTradesOfLastMinutes() {
         // Given
         String symbol = "AAPL";
-        String historyKey = "trade:history:" + symbol;
-        int limit = 10;
-        
-        Set<TradeData> trades = new HashSet<>(Arrays.asList(mockTradeData));
-        when(zSetOperations.reverseRange(historyKey, 0, limit - 1)).thenReturn(trades);
+        TradeData older = new TradeData(symbol, 149.0, Instant.now().minusSeconds(600).toEpochMilli(), 10.0);
+        TradeData recent = new TradeData(symbol, 150.0, Instant.now().minusSeconds(60).toEpochMilli(), 10.0);
+        tradeDataService.processRealTimeTrades(List.of(recent, older));
+        tradeDataService.processRealTimeTrade(mockTradeData);
 
         // When
-        List<TradeData> result = tradeDataService.getTradeHistory(symbol, limit);
+        List<TradeData> result = tradeDataService.getTradeHistory(symbol, 5);
 
         // Then
-        assertEquals(1, result.size());
-        assertEquals(mockTradeData, result.get(0));
-        verify(zSetOperations).reverseRange(historyKey, 0, limit - 1);
+        assertEquals(List.of(mockTradeData, recent), result);
+        assertEquals(List.of(mockTradeData, recent, older), tradeDataService.getTradeHistory(symbol, 60));
+        verify(zSetOperations, never()).reverseRange(anyString(), anyLong(), anyLong());
     }
 
     @Test
     void getTradeHistory_ShouldReturnEmptyList_WhenNoTradesFound() {
-        // Given
-        String symbol = "NONEXISTENT";
-        String historyKey = "trade:history:" + symbol;
-        int limit = 10;
-
-        when(zSetOperations.reverseRange(historyKey, 0, limit - 1)).thenReturn(null);
-
         // When
-        List<TradeData> result = tradeDataService.getTradeHistory(symbol, limit);
+        List<TradeData> result = tradeDataService.getTradeHistory("NONEXISTENT", 10);
 
         // Then
         assertTrue(result.isEmpty());
-        verify(zSetOperations).reverseRange(historyKey, 0, limit - 1);
+        verify(zSetOperations, never()).reverseRange(anyString(), anyLong(), anyLong());
     }
 
     @Test
     void getTradeHistoryBetween_ShouldReturnTradesInTimeRange() {
         // Given
         String symbol = "AAPL";
-        String historyKey = "trade:history:" + symbol;
         long startTimestamp = Instant.now().minusSeconds(3600).toEpochMilli();
         long endTimestamp = Instant.now().toEpochMilli();
-        
-        Set<TradeData> trades = new HashSet<>(Arrays.asList(mockTradeData));
-        when(zSetOperations.reverseRangeByScore(historyKey, startTimestamp, endTimestamp)).thenReturn(trades);
+        TradeData before = new TradeData(symbol, 149.0, startTimestamp - 1, 10.0);
+        tradeDataService.processRealTimeTrade(before);
+        tradeDataService.processRealTimeTrade(mockTradeData);
 
         // When
         List<TradeData> result = tradeDataService.getTradeHistoryBetween(symbol, startTimestamp, endTimestamp);
@@ -253,21 +384,24 @@ class TradeDataServiceTest {
         // Then
         assertEquals(1, result.size());
         assertEquals(mockTradeData, result.get(0));
-        verify(zSetOperations).reverseRangeByScore(historyKey, startTimestamp, endTimestamp);
+        verify(zSetOperations, never()).reverseRangeByScore(anyString(), anyDouble(), anyDouble());
     }
 
     @Test
+    @SuppressWarnings("unchecked")
     void clearTradeData_ShouldDeleteKeys() {
         // Given
         String symbol = "AAPL";
-        String latestKey = "trade:latest:" + symbol;
         String historyKey = "trade:history:" + symbol;
+        tradeDataService.processRealTimeTrade(mockTradeData);
 
         // When
         tradeDataService.clearTradeData(symbol);
 
         // Then
-        verify(redisTemplate).delete(latestKey);
+        verify(hashOperations).delete("trade:latest", symbol);
+        verify(redisTemplate).execute(any(RedisCallback.class));
         verify(redisTemplate).delete(historyKey);
+        assertFalse(tradeDataService.getLatestTrade(symbol).isPresent());
     }
 }
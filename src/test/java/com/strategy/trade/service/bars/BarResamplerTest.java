@@ -0,0 +1,120 @@
+package com.strategy.trade.service.bars;
+
+import com.strategy.trade.model.CandleBar;
+import com.strategy.trade.model.StockResponse;
+import com.strategy.trade.model.enums.TimeFrame;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("BarResampler Unit Tests")
+class BarResamplerTest {
+
+    @TempDir
+    Path root;
+
+    /**
+     * One-minute bars from 09:00 to 16:29 whose close is the minute index, so every aggregate is predictable.
+     */
+    private static List<StockResponse.Value> minutes() {
+        List<StockResponse.Value> values = new ArrayList<>();
+        LocalDateTime time = LocalDateTime.of(2025, 1, 2, 9, 0);
+        for (int i = 0; i < 450; i++, time = time.plusMinutes(1)) {
+            StockResponse.Value value = new StockResponse.Value();
+            value.setDatetime(time.toString().replace('T', ' ') + ":00");
+            value.setOpen(Double.toString(i));
+            value.setHigh(Double.toString(i + 0.5));
+            value.setLow(Double.toString(i - 0.5));
+            value.setClose(Double.toString(i));
+            value.setVolume("10");
+            values.add(value);
+        }
+        return values;
+    }
+
+    @Test
+    @DisplayName("Should bucket from the session open and drop bars outside the session")
+    void shouldAlignBucketsToSessionOpen() {
+        List<StockResponse.Value> hours = BarResampler.resample(minutes().reversed(), TimeFrame.ONE_HOUR,
+                TradingSession.US_EQUITIES);
+
+        assertThat(hours).extracting(StockResponse.Value::getDatetime).containsExactly(
+                "2025-01-02 09:30:00", "2025-01-02 10:30:00", "2025-01-02 11:30:00", "2025-01-02 12:30:00",
+                "2025-01-02 13:30:00", "2025-01-02 14:30:00", "2025-01-02 15:30:00");
+        StockResponse.Value first = hours.getFirst();
+        assertThat(first.getOpen()).isEqualTo("30.0");
+        assertThat(first.getHigh()).isEqualTo("89.5");
+        assertThat(first.getLow()).isEqualTo("29.5");
+        assertThat(first.getClose()).isEqualTo("89.0");
+        assertThat(first.getVolume()).isEqualTo("600");
+        // the last hour is cut at the 16:00 close
+        assertThat(hours.getLast().getClose()).isEqualTo("419.0");
+        assertThat(hours.getLast().getVolume()).isEqualTo("300");
+    }
+
+    @Test
+    @DisplayName("Should derive the daily bar from the whole session")
+    void shouldDeriveDailyBar() {
+        List<StockResponse.Value> days = BarResampler.resample(minutes(), TimeFrame.ONE_DAY, TradingSession.US_EQUITIES);
+
+        assertThat(days).hasSize(1);
+        assertThat(days.getFirst().getDatetime()).isEqualTo("2025-01-02 09:30:00");
+        assertThat(days.getFirst().getOpen()).isEqualTo("30.0");
+        assertThat(days.getFirst().getClose()).isEqualTo("419.0");
+        assertThat(days.getFirst().getVolume()).isEqualTo("3900");
+    }
+
+    @Test
+    @DisplayName("Should resample a stored one-minute day into five-minute bars")
+    void shouldResampleStoredDay() {
+        MappedBarStore store = new MappedBarStore(root.toString());
+        List<CandleBar> bars = minutes().stream().map(CandleBar::from).toList();
+        store.appendDay("AAPL", TimeFrame.ONE_MIN, "2025-01-02", bars);
+
+        List<CandleBar> fiveMinute = BarResampler.resampleDay(store.open("AAPL", TimeFrame.ONE_MIN),
+                "2025-01-02", TimeFrame.FIVE_MIN, TradingSession.US_EQUITIES);
+
+        assertThat(fiveMinute).hasSize(78);
+        assertThat(fiveMinute.get(3).dateTime()).isEqualTo(LocalDateTime.of(2025, 1, 2, 9, 45));
+        assertThat(fiveMinute.get(3).high()).isEqualTo(49.5);
+        assertThat(fiveMinute.get(3).low()).isEqualTo(44.5);
+    }
+
+    @Test
+    @DisplayName("Should derive a stored day only from the open and drop buckets with missing minutes")
+    void shouldResampleCompleteDay() {
+        MappedBarStore store = new MappedBarStore(root.toString());
+        List<CandleBar> bars = new ArrayList<>(minutes().stream().map(CandleBar::from).toList());
+        // 09:47 is missing, so the 09:45 bucket is incomplete
+        bars.removeIf(bar -> bar.dateTime().equals(LocalDateTime.of(2025, 1, 2, 9, 47)));
+        store.appendDay("AAPL", TimeFrame.ONE_MIN, "2025-01-02", bars);
+
+        List<CandleBar> fiveMinute = BarResampler.resampleCompleteDay(store.open("AAPL", TimeFrame.ONE_MIN),
+                "2025-01-02", TimeFrame.ONE_MIN, TimeFrame.FIVE_MIN, TradingSession.US_EQUITIES);
+
+        assertThat(fiveMinute).hasSize(77);
+        assertThat(fiveMinute.get(2).dateTime()).isEqualTo(LocalDateTime.of(2025, 1, 2, 9, 40));
+        assertThat(fiveMinute.get(3).dateTime()).isEqualTo(LocalDateTime.of(2025, 1, 2, 9, 50));
+    }
+
+    @Test
+    @DisplayName("Should derive nothing from a stored day that starts after the open")
+    void shouldSkipDayStartingAfterOpen() {
+        MappedBarStore store = new MappedBarStore(root.toString());
+        List<CandleBar> bars = minutes().stream()
+                .map(CandleBar::from)
+                .filter(bar -> !bar.dateTime().isBefore(LocalDateTime.of(2025, 1, 2, 9, 46)))
+                .toList();
+        store.appendDay("AAPL", TimeFrame.ONE_MIN, "2025-01-02", bars);
+
+        assertThat(BarResampler.resampleCompleteDay(store.open("AAPL", TimeFrame.ONE_MIN), "2025-01-02",
+                TimeFrame.ONE_MIN, TimeFrame.FIVE_MIN, TradingSession.US_EQUITIES)).isEmpty();
+    }
+}
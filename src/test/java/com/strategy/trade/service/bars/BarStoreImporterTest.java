@@ -0,0 +1,121 @@
+package com.strategy.trade.service.bars;
+
+import com.strategy.trade.model.CandleBar;
+import com.strategy.trade.model.enums.TimeFrame;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("BarStoreImporter Unit Tests")
+class BarStoreImporterTest {
+
+    private static final String HEADER = "Date Time,Open,High,Low,Close,Volume\n";
+
+    @TempDir
+    Path root;
+
+    private ForkJoinPool pool;
+    private MappedBarStore store;
+    private BarStoreImporter importer;
+
+    @BeforeEach
+    void setUp() {
+        pool = new ForkJoinPool(2);
+        store = new MappedBarStore(root.resolve("store").toString());
+        importer = new BarStoreImporter(store, pool, root.resolve("exports").toString(), List.of());
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    private void export(String symbol, String date, String content) throws IOException {
+        Path directory = root.resolve("exports").resolve(symbol).resolve(TimeFrame.ONE_MIN.name());
+        Files.createDirectories(directory);
+        Files.writeString(directory.resolve(date + "_data.csv"), content);
+    }
+
+    @Test
+    @DisplayName("Should append every exported day in date order with bars sorted by time")
+    void shouldImportDaysInOrder() throws IOException {
+        export("AAPL", "2025-01-03", HEADER
+                + "2025-01-03 09:31:00,101,102,100.5,101.5,2000\n"
+                + "2025-01-03 09:30:00,100,101,99.5,100.5,1500.0\n");
+        export("AAPL", "2025-01-02", HEADER + "2025-01-02 09:30:00,99,100,98,99.5,1000\n");
+
+        int days = importer.importSymbol("AAPL", TimeFrame.ONE_MIN);
+
+        assertThat(days).isEqualTo(2);
+        MappedBars bars = store.open("AAPL", TimeFrame.ONE_MIN);
+        assertThat(bars.days()).containsExactly("2025-01-02", "2025-01-03");
+        assertThat(store.readDay("AAPL", TimeFrame.ONE_MIN, "2025-01-03"))
+                .containsExactly(
+                        new CandleBar(CandleBar.epochSecond("2025-01-03 09:30:00"), 100, 101, 99.5, 100.5, 1500),
+                        new CandleBar(CandleBar.epochSecond("2025-01-03 09:31:00"), 101, 102, 100.5, 101.5, 2000));
+    }
+
+    @Test
+    @DisplayName("Should map columns by header name and read a blank open as NaN")
+    void shouldMapColumnsByHeader() throws IOException {
+        export("AAPL", "2025-01-02", "Close,Volume,Low,High,Open,Date Time\n"
+                + "99.5,,98,100,,2025-01-02 09:30:00\n");
+
+        importer.importSymbol("AAPL", TimeFrame.ONE_MIN);
+
+        CandleBar bar = store.readDay("AAPL", TimeFrame.ONE_MIN, "2025-01-02").getFirst();
+        assertThat(Double.isNaN(bar.open())).isTrue();
+        assertThat(bar.high()).isEqualTo(100);
+        assertThat(bar.low()).isEqualTo(98);
+        assertThat(bar.close()).isEqualTo(99.5);
+        assertThat(bar.volume()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should skip days already in the store when re-run")
+    void shouldSkipStoredDays() throws IOException {
+        export("AAPL", "2025-01-02", HEADER + "2025-01-02 09:30:00,99,100,98,99.5,1000\n");
+        importer.importSymbol("AAPL", TimeFrame.ONE_MIN);
+        export("AAPL", "2025-01-03", HEADER + "2025-01-03 09:30:00,100,101,99.5,100.5,1500\n");
+
+        ImportProgress rerun = importer.importSymbols(List.of("AAPL"), TimeFrame.ONE_MIN, ImportListener.NONE);
+
+        assertThat(rerun.filesParsed()).isEqualTo(1);
+        assertThat(rerun.daysImported()).isEqualTo(1);
+        assertThat(store.open("AAPL", TimeFrame.ONE_MIN).days()).containsExactly("2025-01-02", "2025-01-03");
+    }
+
+    @Test
+    @DisplayName("Should report progress per symbol and totals, tolerating symbols without exports")
+    void shouldReportProgress() throws IOException {
+        export("AAPL", "2025-01-02", HEADER
+                + "2025-01-02 09:30:00,99,100,98,99.5,1000\n"
+                + "2025-01-02 09:31:00,99.5,100,99,99.8,800\n");
+        export("MSFT", "2025-01-02", HEADER + "2025-01-02 09:30:00,400,401,399,400.5,500\n");
+        ConcurrentLinkedQueue<ImportProgress> reported = new ConcurrentLinkedQueue<>();
+
+        ImportProgress total = importer.importSymbols(List.of("AAPL", "MSFT", "NONE"), TimeFrame.ONE_MIN,
+                reported::add);
+
+        assertThat(reported).extracting(ImportProgress::symbol).containsExactlyInAnyOrder("AAPL", "MSFT", "NONE");
+        assertThat(reported).extracting(ImportProgress::symbolsDone).containsExactlyInAnyOrder(1, 2, 3);
+        assertThat(total.symbol()).isNull();
+        assertThat(total.symbolsDone()).isEqualTo(3);
+        assertThat(total.symbolsTotal()).isEqualTo(3);
+        assertThat(total.filesParsed()).isEqualTo(2);
+        assertThat(total.daysImported()).isEqualTo(2);
+        assertThat(total.barsImported()).isEqualTo(3);
+        assertThat(store.open("NONE", TimeFrame.ONE_MIN)).isNull();
+    }
+}
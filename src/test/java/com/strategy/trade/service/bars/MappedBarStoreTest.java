@@ -0,0 +1,93 @@
+package com.strategy.trade.service.bars;
+
+import com.strategy.trade.model.CandleBar;
+import com.strategy.trade.model.enums.TimeFrame;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("MappedBarStore Unit Tests")
+class MappedBarStoreTest {
+
+    @TempDir
+    Path root;
+
+    private static CandleBar bar(String datetime, double close) {
+        return new CandleBar(CandleBar.epochSecond(datetime), Double.NaN, close, close, close, 0);
+    }
+
+    @Test
+    @DisplayName("Should read appended days back through a fresh mapping")
+    void shouldReadAppendedDaysBack() {
+        MappedBarStore store = new MappedBarStore(root.toString());
+        store.appendDay("AAPL", TimeFrame.ONE_MIN, "2025-01-03",
+                List.of(bar("2025-01-03 09:30:00", 101.5), bar("2025-01-03 09:31:00", 102.0)));
+        store.appendDay("AAPL", TimeFrame.ONE_MIN, "2025-01-02", List.of(bar("2025-01-02 09:30:00", 100.0)));
+
+        MappedBars bars = new MappedBarStore(root.toString()).open("AAPL", TimeFrame.ONE_MIN);
+
+        assertThat(bars.size()).isEqualTo(3);
+        assertThat(bars.days()).containsExactly("2025-01-02", "2025-01-03");
+        assertThat(bars.close(bars.dayStart("2025-01-03") + 1)).isEqualTo(102.0);
+        assertThat(bars.readDay("2025-01-03")).extracting(bar -> CandleBar.format(bar.epochSecond()))
+                .containsExactly("2025-01-03 09:30:00", "2025-01-03 09:31:00");
+        assertThat(Double.isNaN(bars.open(0))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should skip days already stored")
+    void shouldSkipDaysAlreadyStored() {
+        MappedBarStore store = new MappedBarStore(root.toString());
+        store.appendDay("AAPL", TimeFrame.FIVE_MIN, "2025-01-02", List.of(bar("2025-01-02 09:30:00", 100.0)));
+
+        boolean appended = store.appendDay("AAPL", TimeFrame.FIVE_MIN, "2025-01-02",
+                List.of(bar("2025-01-02 09:30:00", 999.0)));
+
+        assertThat(appended).isFalse();
+        assertThat(store.readDay("AAPL", TimeFrame.FIVE_MIN, "2025-01-02")).extracting(CandleBar::close)
+                .containsExactly(100.0);
+    }
+
+    @Test
+    @DisplayName("Should serve the re-exported bars of a replaced day, also after remapping")
+    void shouldReplaceReexportedDay() {
+        MappedBarStore store = new MappedBarStore(root.toString());
+        store.appendDay("AAPL", TimeFrame.FIVE_MIN, "2025-01-02", List.of(bar("2025-01-02 09:30:00", 100.0)));
+        store.appendDay("AAPL", TimeFrame.FIVE_MIN, "2025-01-03", List.of(bar("2025-01-03 09:30:00", 101.0)));
+
+        boolean replaced = store.replaceDay("AAPL", TimeFrame.FIVE_MIN, "2025-01-02",
+                List.of(bar("2025-01-02 09:30:00", 100.5), bar("2025-01-02 09:35:00", 100.8)));
+
+        assertThat(replaced).isTrue();
+        assertThat(store.readDay("AAPL", TimeFrame.FIVE_MIN, "2025-01-02")).extracting(CandleBar::close)
+                .containsExactly(100.5, 100.8);
+        MappedBars remapped = new MappedBarStore(root.toString()).open("AAPL", TimeFrame.FIVE_MIN);
+        assertThat(remapped.days()).containsExactly("2025-01-02", "2025-01-03");
+        assertThat(remapped.readDay("2025-01-02")).extracting(CandleBar::close).containsExactly(100.5, 100.8);
+        assertThat(remapped.readDay("2025-01-03")).extracting(CandleBar::close).containsExactly(101.0);
+    }
+
+    @Test
+    @DisplayName("Should ignore and overwrite bars written without an index entry")
+    void shouldIgnoreTornAppend() throws IOException {
+        MappedBarStore store = new MappedBarStore(root.toString());
+        store.appendDay("AAPL", TimeFrame.ONE_MIN, "2025-01-02", List.of(bar("2025-01-02 09:30:00", 100.0)));
+        Files.write(root.resolve("AAPL").resolve("ONE_MIN.bars"), new byte[MappedBars.RECORD_BYTES],
+                StandardOpenOption.APPEND);
+
+        MappedBarStore reopened = new MappedBarStore(root.toString());
+        assertThat(reopened.open("AAPL", TimeFrame.ONE_MIN).size()).isEqualTo(1);
+
+        reopened.appendDay("AAPL", TimeFrame.ONE_MIN, "2025-01-03", List.of(bar("2025-01-03 09:30:00", 105.0)));
+        assertThat(reopened.readDay("AAPL", TimeFrame.ONE_MIN, "2025-01-03")).extracting(CandleBar::close)
+                .containsExactly(105.0);
+    }
+}
@@ -0,0 +1,157 @@
+package com.strategy.trade.service.cache;
+
+import com.strategy.trade.model.StockResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("TimeSeriesCache Unit Tests")
+class TimeSeriesCacheTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2025-06-01T12:00:00Z"), ZoneOffset.UTC);
+
+    @TempDir
+    Path root;
+
+    private static StockResponse.Value value(String datetime, String close) {
+        StockResponse.Value value = new StockResponse.Value();
+        value.setDatetime(datetime);
+        value.setOpen(close);
+        value.setHigh(close);
+        value.setLow(close);
+        value.setClose(close);
+        value.setVolume("100");
+        return value;
+    }
+
+    private static LocalDateTime at(String datetime) {
+        return LocalDateTime.parse(datetime.replace(' ', 'T'));
+    }
+
+    @Test
+    @DisplayName("Should fetch only the missing sub-ranges and serve repeat requests from disk")
+    void shouldFetchOnlyMissingSubRanges() {
+        List<LocalDateTime[]> fetched = new ArrayList<>();
+        TimeSeriesCache.RangeFetcher fetcher = (start, end) -> {
+            fetched.add(new LocalDateTime[]{start, end});
+            List<StockResponse.Value> values = new ArrayList<>();
+            for (LocalDate day = start.toLocalDate(); !day.isAfter(end.toLocalDate()); day = day.plusDays(1)) {
+                LocalDateTime open = day.atTime(9, 30);
+                if (!open.isBefore(start) && !open.isAfter(end)) {
+                    values.add(value(day + " 09:30:00", String.valueOf(day.getDayOfMonth())));
+                }
+            }
+            return values;
+        };
+
+        TimeSeriesCache cache = new TimeSeriesCache(root.toString(), CLOCK);
+        cache.timeSeries("AAPL", "1min", at("2025-01-06 09:30:00"), at("2025-01-08 09:30:00"), fetcher);
+        List<StockResponse.Value> values = cache.timeSeries("AAPL", "1min",
+                at("2025-01-02 09:30:00"), at("2025-01-10 09:30:00"), fetcher);
+
+        assertThat(fetched).hasSize(3);
+        assertThat(fetched.get(1)).containsExactly(at("2025-01-02 09:30:00"), at("2025-01-06 09:29:59"));
+        assertThat(fetched.get(2)).containsExactly(at("2025-01-08 09:30:01"), at("2025-01-10 09:30:00"));
+        assertThat(values).extracting(StockResponse.Value::getDatetime)
+                .startsWith("2025-01-10 09:30:00")
+                .endsWith("2025-01-02 09:30:00")
+                .hasSize(9);
+
+        TimeSeriesCache reopened = new TimeSeriesCache(root.toString(), CLOCK);
+        List<StockResponse.Value> cached = reopened.timeSeries("AAPL", "1min",
+                at("2025-01-03 00:00:00"), at("2025-01-07 23:59:59"), (start, end) -> {
+                    throw new AssertionError("Unexpected fetch " + start + " to " + end);
+                });
+
+        assertThat(cached).extracting(StockResponse.Value::getClose).containsExactly("7", "6", "5", "4", "3");
+    }
+
+    @Test
+    @DisplayName("Should not cover failed fetches or ranges reaching into today")
+    void shouldNotCoverFailedOrUnfinishedRanges() {
+        TimeSeriesCache cache = new TimeSeriesCache(root.toString(), CLOCK);
+
+        cache.timeSeries("AAPL", "1min", at("2025-05-01 09:30:00"), at("2025-05-02 11:00:00"), (start, end) -> null);
+        cache.timeSeries("AAPL", "1min", at("2025-05-30 09:30:00"), at("2025-06-01 11:00:00"),
+                (start, end) -> List.of(value("2025-06-01 09:30:00", "1")));
+
+        assertThat(cache.covers("AAPL", "1min", at("2025-05-01 09:30:00"), at("2025-05-02 11:00:00"))).isFalse();
+        assertThat(cache.covers("AAPL", "1min", at("2025-05-30 09:30:00"), at("2025-05-31 23:59:59"))).isTrue();
+        assertThat(cache.covers("AAPL", "1min", at("2025-05-30 09:30:00"), at("2025-06-01 11:00:00"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should cover a full page only from its oldest value and fetch the rest as a new gap")
+    void shouldFetchRemainderOfFullPage() {
+        List<LocalDateTime[]> fetched = new ArrayList<>();
+        TimeSeriesCache.RangeFetcher fetcher = (start, end) -> {
+            fetched.add(new LocalDateTime[]{start, end});
+            List<StockResponse.Value> values = new ArrayList<>();
+            for (LocalDate day = end.toLocalDate(); !day.isBefore(start.toLocalDate()) && values.size() < 2;
+                 day = day.minusDays(1)) {
+                LocalDateTime open = day.atTime(9, 30);
+                if (!open.isBefore(start) && !open.isAfter(end)) {
+                    values.add(value(day + " 09:30:00", String.valueOf(day.getDayOfMonth())));
+                }
+            }
+            return values;
+        };
+
+        TimeSeriesCache cache = new TimeSeriesCache(root.toString(), CLOCK);
+        List<StockResponse.Value> values = cache.timeSeries("AAPL", "1min",
+                at("2025-01-02 00:00:00"), at("2025-01-06 23:59:59"), 2, fetcher);
+
+        assertThat(fetched).hasSize(3);
+        assertThat(fetched.get(1)).containsExactly(at("2025-01-02 00:00:00"), at("2025-01-05 09:29:59"));
+        assertThat(fetched.get(2)).containsExactly(at("2025-01-02 00:00:00"), at("2025-01-03 09:29:59"));
+        assertThat(values).extracting(StockResponse.Value::getClose).containsExactly("6", "5", "4", "3", "2");
+        assertThat(cache.covers("AAPL", "1min", at("2025-01-02 00:00:00"), at("2025-01-06 23:59:59"))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should store missing fields empty and write each value once")
+    void shouldStoreMissingFieldsEmptyAndOnce() throws Exception {
+        StockResponse.Value noVolume = value("2025-01-02", "10");
+        noVolume.setVolume(null);
+
+        TimeSeriesCache cache = new TimeSeriesCache(root.toString(), CLOCK);
+        cache.store("AAPL", "1day", List.of(noVolume, value("2025-01-03", "11")));
+        cache.store("AAPL", "1day", List.of(noVolume, value("2025-01-03", "11"), value("2025-01-06", "12")));
+
+        assertThat(Files.readAllLines(root.resolve("AAPL").resolve("1day.csv"))).containsExactly(
+                "2025-01-02;10;10;10;10;",
+                "2025-01-03;11;11;11;11;100",
+                "2025-01-06;12;12;12;12;100");
+        TimeSeriesCache reopened = new TimeSeriesCache(root.toString(), CLOCK);
+        assertThat(reopened.timeSeries("AAPL", "1day", at("2025-01-02 00:00:00"), at("2025-01-06 23:59:59"),
+                (start, end) -> {
+                    throw new AssertionError("Unexpected fetch " + start + " to " + end);
+                })).extracting(StockResponse.Value::getVolume).containsExactly("100", "100", "");
+    }
+
+    @Test
+    @DisplayName("Should merge touching and overlapping ranges")
+    void shouldMergeRanges() {
+        CoveredRanges ranges = new CoveredRanges();
+        ranges.add(10, 20);
+        ranges.add(30, 40);
+        ranges.add(21, 25);
+        ranges.add(24, 31);
+
+        assertThat(ranges.ranges()).containsExactly(new long[]{10, 40});
+        assertThat(ranges.missing(0, 50)).containsExactly(new long[]{0, 9}, new long[]{41, 50});
+        assertThat(ranges.covers(12, 38)).isTrue();
+    }
+}
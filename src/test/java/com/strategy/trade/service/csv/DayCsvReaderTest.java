@@ -0,0 +1,82 @@
+package com.strategy.trade.service.csv;
+
+import com.strategy.trade.backtest.series.DoubleSeries;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("DayCsvReader Unit Tests")
+class DayCsvReaderTest {
+
+    @TempDir
+    Path directory;
+
+    private Path write(String content) throws IOException {
+        Path file = directory.resolve("day_data.csv");
+        Files.writeString(file, content);
+        return file;
+    }
+
+    private static long nanos(String date) {
+        return DoubleSeries.toEpochNanos(LocalDate.parse(date).atStartOfDay(ZoneOffset.UTC).toInstant());
+    }
+
+    @Test
+    @DisplayName("Should read newest-first file into an ascending series within range")
+    void shouldReadDescendingFileWithinRange() throws IOException {
+        Path file = write("datetime;close\n2025-01-06;104.5\n2025-01-03;103.25\n2025-01-02;102\n2024-12-31;99.90000\n");
+
+        DoubleSeries series = DayCsvReader.read(file, "AAPL", LocalDate.parse("2025-01-01"), LocalDate.parse("2025-01-05"));
+
+        assertThat(series.size()).isEqualTo(2);
+        assertThat(series.getValue(0)).isEqualTo(102.0);
+        assertThat(series.getEpochNanos(0)).isEqualTo(nanos("2025-01-02"));
+        assertThat(series.getValue(1)).isEqualTo(103.25);
+        assertThat(series.getEpochNanos(1)).isEqualTo(nanos("2025-01-03"));
+    }
+
+    @Test
+    @DisplayName("Should keep an oldest-first file ascending when it ends with blank lines")
+    void shouldIgnoreTrailingBlankLines() throws IOException {
+        Path file = write("datetime;close\n2025-01-02;102\n2025-01-03;103.25\n2025-01-06;104.5\n\r\n\n");
+
+        DoubleSeries series = DayCsvReader.read(file, "AAPL", LocalDate.parse("2025-01-03"), null);
+
+        assertThat(series.size()).isEqualTo(2);
+        assertThat(series.getValue(0)).isEqualTo(103.25);
+        assertThat(series.getEpochNanos(0)).isEqualTo(nanos("2025-01-03"));
+        assertThat(series.getValue(1)).isEqualTo(104.5);
+    }
+
+    @Test
+    @DisplayName("Should read oldest-first file with CRLF endings and open range")
+    void shouldReadAscendingFileWithCrlf() throws IOException {
+        Path file = write("datetime;close\r\n1999-12-31;-0.5\r\n2000-02-29;1.5E2\r\n2024-02-29;0.1\r\n");
+
+        DoubleSeries series = DayCsvReader.read(file, "AAPL", null, null);
+
+        assertThat(series.size()).isEqualTo(3);
+        assertThat(series.getValue(0)).isEqualTo(-0.5);
+        assertThat(series.getValue(1)).isEqualTo(150.0);
+        assertThat(series.getValue(2)).isEqualTo(0.1);
+        assertThat(series.getEpochNanos(1)).isEqualTo(nanos("2000-02-29"));
+        assertThat(series.getEpochNanos(2)).isEqualTo(nanos("2024-02-29"));
+    }
+
+    @Test
+    @DisplayName("Should match LocalDate epoch days")
+    void shouldMatchLocalDateEpochDays() {
+        for (LocalDate date = LocalDate.parse("1899-01-01"); date.isBefore(LocalDate.parse("2101-01-01")); date = date.plusDays(13)) {
+            int key = date.getYear() * 10_000 + date.getMonthValue() * 100 + date.getDayOfMonth();
+            assertThat(DayCsvReader.epochDay(key)).isEqualTo(date.toEpochDay());
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.strategy.trade.service.fetch;
+
+import com.strategy.trade.model.StockResponse;
+import com.strategy.trade.model.enums.TimeFrame;
+import com.strategy.trade.service.csv.CsvService;
+import com.strategy.trade.service.csv.HistoricalDataService;
+import com.strategy.trade.strategy.dataclient.TwelveDataClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("FetchScheduler Unit Tests")
+class FetchSchedulerTest {
+
+    // 2024 months split into 3 chunks: 31 and 29 day months get a fourth, short chunk
+    private static final int CHUNKS_2024 = 44;
+
+    @Mock
+    private TwelveDataClient twelveDataClient;
+    @Mock
+    private HistoricalDataService historicalDataService;
+    @Mock
+    private CsvService csvService;
+
+    private ForkJoinPool filterPool;
+    private FetchScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        filterPool = new ForkJoinPool(2);
+        scheduler = new FetchScheduler(twelveDataClient, historicalDataService, csvService,
+                Runnable::run, filterPool, Runnable::run);
+        when(twelveDataClient.isCached(eq("AAPL"), eq("5min"), anyString(), anyString()))
+                .thenAnswer(invocation -> invocation.<String>getArgument(2).startsWith("2024-01"));
+        when(historicalDataService.limitFirstIntervalsPerDay(anyList(), eq(TimeFrame.FIVE_MIN)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @AfterEach
+    void tearDown() {
+        filterPool.shutdownNow();
+    }
+
+    // one value per chunk, stamped with the chunk start so months can be told apart downstream
+    private static StockResponse response(String startTime) {
+        StockResponse.Value value = new StockResponse.Value();
+        value.setDatetime(startTime);
+        value.setClose("100");
+        StockResponse response = new StockResponse();
+        response.setValues(List.of(value));
+        return response;
+    }
+
+    private static boolean isMonth(List<StockResponse.Value> values, String month) {
+        return values != null && !values.isEmpty() && values.getFirst().getDatetime().startsWith(month);
+    }
+
+    @Test
+    @DisplayName("Should fetch, filter and export every month and report the counts")
+    void shouldRunPipeline() {
+        when(twelveDataClient.timeSeries(eq("AAPL"), eq("5min"), anyString(), anyString()))
+                .thenAnswer(invocation -> response(invocation.getArgument(2)));
+
+        FetchProgress queued = scheduler.submit(List.of("AAPL"), TimeFrame.FIVE_MIN, 2024);
+        FetchProgress progress = scheduler.await(queued.jobId());
+
+        assertThat(progress.done()).isTrue();
+        assertThat(progress.timeFrames()).isEqualTo("FIVE_MIN");
+        assertThat(progress.chunksTotal()).isEqualTo(CHUNKS_2024);
+        assertThat(progress.chunksCached()).isEqualTo(4);
+        assertThat(progress.chunksFetched()).isEqualTo(CHUNKS_2024 - 4);
+        assertThat(progress.chunksFailed()).isZero();
+        assertThat(progress.monthsTotal()).isEqualTo(12);
+        assertThat(progress.monthsExported()).isEqualTo(12);
+        assertThat(progress.recordsExported()).isEqualTo(CHUNKS_2024);
+        verify(csvService, times(12)).exportToCsvTwelve(eq("AAPL"), eq(TimeFrame.FIVE_MIN), anyList());
+        assertThat(scheduler.progress(queued.jobId())).contains(progress);
+        assertThat(scheduler.jobs()).containsExactly(progress);
+    }
+
+    @Test
+    @DisplayName("Should count failed chunks and still finish when a month fails to export")
+    void shouldSurviveFailures() {
+        when(twelveDataClient.timeSeries(eq("AAPL"), eq("5min"), anyString(), anyString()))
+                .thenAnswer(invocation -> {
+                    String startTime = invocation.getArgument(2);
+                    if (startTime.startsWith("2024-03")) {
+                        throw new IllegalStateException("provider unavailable");
+                    }
+                    return response(startTime);
+                });
+        doAnswer(invocation -> {
+            if (isMonth(invocation.getArgument(2), "2024-06")) {
+                throw new IllegalStateException("disk full");
+            }
+            return null;
+        }).when(csvService).exportToCsvTwelve(eq("AAPL"), eq(TimeFrame.FIVE_MIN), anyList());
+
+        FetchProgress progress = scheduler.await(scheduler.submit(List.of("AAPL"), TimeFrame.FIVE_MIN, 2024).jobId());
+
+        assertThat(progress.done()).isTrue();
+        assertThat(progress.chunksFailed()).isEqualTo(4);
+        assertThat(progress.chunksFetched() + progress.chunksCached()).isEqualTo(CHUNKS_2024 - 4);
+        // March completes with nothing to write; June's export throws
+        assertThat(progress.monthsExported()).isEqualTo(11);
+        assertThat(progress.recordsExported()).isEqualTo(CHUNKS_2024 - 4 - 3);
+        verify(csvService, times(11)).exportToCsvTwelve(eq("AAPL"), eq(TimeFrame.FIVE_MIN), anyList());
+    }
+}
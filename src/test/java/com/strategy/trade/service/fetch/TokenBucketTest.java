@@ -0,0 +1,67 @@
+package com.strategy.trade.service.fetch;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("TokenBucket Unit Tests")
+class TokenBucketTest {
+
+    private static final long INTERVAL = TimeUnit.SECONDS.toNanos(60) / 8;
+
+    @Test
+    @DisplayName("Should space requests one interval apart with a burst of one")
+    void shouldSpaceRequests() {
+        AtomicLong now = new AtomicLong(1_000);
+        TokenBucket bucket = new TokenBucket(8, 1, now::get);
+
+        assertThat(bucket.tryAcquire()).isZero();
+        now.addAndGet(INTERVAL / 4);
+        assertThat(bucket.tryAcquire()).isEqualTo(INTERVAL * 3 / 4);
+
+        now.addAndGet(INTERVAL * 3 / 4);
+        assertThat(bucket.tryAcquire()).isZero();
+        assertThat(bucket.acquired()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should not bank idle time beyond the burst")
+    void shouldNotBankIdleTime() {
+        AtomicLong now = new AtomicLong(0);
+        TokenBucket bucket = new TokenBucket(8, 2, now::get);
+
+        now.addAndGet(INTERVAL * 10);
+        assertThat(bucket.tryAcquire()).isZero();
+        now.addAndGet(INTERVAL / 2);
+        assertThat(bucket.tryAcquire()).isZero();
+        assertThat(bucket.tryAcquire()).isEqualTo(INTERVAL / 2);
+    }
+
+    @Test
+    @DisplayName("Should hand the next token to a waiting priority caller before bulk callers")
+    void shouldServePriorityFirst() throws Exception {
+        long interval = TimeUnit.MILLISECONDS.toNanos(1);
+        AtomicLong now = new AtomicLong(0);
+        TokenBucket bucket = new TokenBucket(60_000, 1, now::get);
+        assertThat(bucket.tryAcquire()).isZero();
+
+        CompletableFuture<Void> quote = CompletableFuture.runAsync(bucket::acquirePriority);
+        while (bucket.priorityWaiting() == 0) {
+            Thread.onSpinWait();
+        }
+        now.addAndGet(interval);
+        assertThat(bucket.tryAcquire()).isPositive();
+
+        quote.get(5, TimeUnit.SECONDS);
+        assertThat(bucket.priorityWaiting()).isZero();
+        assertThat(bucket.tryAcquire()).isPositive();
+        now.addAndGet(interval);
+        assertThat(bucket.tryAcquire()).isZero();
+        assertThat(bucket.acquired()).isEqualTo(3);
+    }
+}
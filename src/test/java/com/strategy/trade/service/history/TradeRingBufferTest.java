@@ -0,0 +1,86 @@
+package com.strategy.trade.service.history;
+
+import com.strategy.trade.model.TradeData;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("TradeRingBuffer Unit Tests")
+class TradeRingBufferTest {
+
+    private static TradeData trade(long timestamp) {
+        return new TradeData("AAPL", 150.0 + timestamp, timestamp, 1.0);
+    }
+
+    private static List<Long> timestamps(List<TradeData> trades) {
+        return trades.stream().map(TradeData::getTimestamp).toList();
+    }
+
+    @Test
+    @DisplayName("Should answer ranges newest first with inclusive bounds")
+    void shouldAnswerRanges() {
+        TradeRingBuffer buffer = new TradeRingBuffer(Duration.ofSeconds(10), 4, 64);
+        for (long t = 1_000; t <= 5_000; t += 1_000) {
+            buffer.add(trade(t));
+        }
+
+        assertThat(timestamps(buffer.between(2_000, 4_000))).containsExactly(4_000L, 3_000L, 2_000L);
+        assertThat(timestamps(buffer.since(4_500))).containsExactly(5_000L);
+        assertThat(buffer.between(5_001, 9_000)).isEmpty();
+        assertThat(buffer.size()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should drop trades older than the window as newer ones arrive")
+    void shouldSlideWindow() {
+        TradeRingBuffer buffer = new TradeRingBuffer(Duration.ofSeconds(3), 2, 64);
+        for (long t = 1_000; t <= 10_000; t += 1_000) {
+            buffer.add(trade(t));
+        }
+
+        assertThat(timestamps(buffer.since(0))).containsExactly(10_000L, 9_000L, 8_000L, 7_000L);
+        assertThat(buffer.windowStart()).isEqualTo(7_000L);
+        assertThat(buffer.add(trade(6_000))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should slot late trades into timestamp order across the wrap")
+    void shouldOrderLateTrades() {
+        TradeRingBuffer buffer = new TradeRingBuffer(Duration.ofSeconds(3), 4, 4);
+        buffer.add(trade(1_000));
+        buffer.add(trade(2_000));
+        buffer.add(trade(4_000));
+        buffer.add(trade(5_000));
+        buffer.add(trade(4_500));
+
+        assertThat(timestamps(buffer.since(0))).containsExactly(5_000L, 4_500L, 4_000L, 2_000L);
+    }
+
+    @Test
+    @DisplayName("Should keep only the newest trades once the cap is reached")
+    void shouldCapTrades() {
+        TradeRingBuffer buffer = new TradeRingBuffer(Duration.ofHours(1), 2, 3);
+        for (long t = 1; t <= 5; t++) {
+            buffer.add(trade(t));
+        }
+
+        assertThat(timestamps(buffer.since(0))).containsExactly(5L, 4L, 3L);
+    }
+
+    @Test
+    @DisplayName("Should reject a late trade older than every kept trade once the cap is reached")
+    void shouldRejectLateTradeWhenFull() {
+        TradeRingBuffer buffer = new TradeRingBuffer(Duration.ofHours(1), 2, 3);
+        for (long t = 3; t <= 5; t++) {
+            buffer.add(trade(t));
+        }
+
+        assertThat(buffer.add(trade(2))).isFalse();
+        assertThat(buffer.add(trade(4))).isTrue();
+        assertThat(timestamps(buffer.since(0))).containsExactly(5L, 4L, 4L);
+    }
+}
@@ -0,0 +1,122 @@
+package com.strategy.trade.strategy.indicator;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@DisplayName("Indicators Unit Tests")
+class IndicatorsTest {
+
+    private static final int BARS = 2_000;
+    private static final int PERIOD = 20;
+
+    private final double[] highs = new double[BARS];
+    private final double[] lows = new double[BARS];
+    private final double[] closes = new double[BARS];
+    private final long[] volumes = new long[BARS];
+
+    @BeforeEach
+    void setUp() {
+        Random random = new Random(7);
+        double price = 100;
+        for (int i = 0; i < BARS; i++) {
+            price += random.nextGaussian() * 0.05;
+            closes[i] = price;
+            highs[i] = price + random.nextDouble() * 0.1;
+            lows[i] = price - random.nextDouble() * 0.1;
+            volumes[i] = 100 + random.nextInt(1_000);
+        }
+    }
+
+    private void feed(Indicator indicator, int bar) {
+        indicator.accept(bar * 60L, closes[bar], highs[bar], lows[bar], closes[bar], volumes[bar]);
+    }
+
+    @Test
+    @DisplayName("Should match full-window recomputation for SMA, stdev and rolling extremes")
+    void shouldMatchNaiveWindows() {
+        Indicators indicators = new Indicators();
+        Sma sma = indicators.register("sma", new Sma(PERIOD));
+        BollingerBands bands = indicators.register("bb", new BollingerBands(PERIOD, 2));
+        RollingHigh high = indicators.register("high", new RollingHigh(PERIOD));
+        RollingLow low = indicators.register("low", new RollingLow(PERIOD));
+
+        for (int bar = 0; bar < BARS; bar++) {
+            indicators.accept(bar * 60L, closes[bar], highs[bar], lows[bar], closes[bar], volumes[bar]);
+            if (bar < PERIOD - 1) {
+                assertThat(sma.isReady()).isFalse();
+                assertThat(Double.isNaN(high.value())).isTrue();
+                continue;
+            }
+            double sum = 0;
+            double max = Double.NEGATIVE_INFINITY;
+            double min = Double.POSITIVE_INFINITY;
+            for (int i = bar - PERIOD + 1; i <= bar; i++) {
+                sum += closes[i];
+                max = Math.max(max, highs[i]);
+                min = Math.min(min, lows[i]);
+            }
+            double mean = sum / PERIOD;
+            double squares = 0;
+            for (int i = bar - PERIOD + 1; i <= bar; i++) {
+                squares += (closes[i] - mean) * (closes[i] - mean);
+            }
+            double stdDev = Math.sqrt(squares / PERIOD);
+
+            assertThat(sma.value()).isCloseTo(mean, within(1e-9));
+            assertThat(bands.value()).isCloseTo(mean, within(1e-9));
+            assertThat(bands.upper()).isCloseTo(mean + 2 * stdDev, within(1e-9));
+            assertThat(high.value()).isEqualTo(max);
+            assertThat(low.value()).isEqualTo(min);
+        }
+        assertThat(indicators.value("sma")).isEqualTo(sma.value());
+    }
+
+    @Test
+    @DisplayName("Should seed EMA and ATR with the simple average of the first period")
+    void shouldSeedEmaAndAtr() {
+        Ema ema = new Ema(PERIOD);
+        Atr atr = new Atr(PERIOD);
+        double expectedEma = 0;
+        double expectedAtr = 0;
+        for (int bar = 0; bar < BARS; bar++) {
+            feed(ema, bar);
+            feed(atr, bar);
+            double trueRange = bar == 0 ? highs[0] - lows[0]
+                    : Math.max(highs[bar] - lows[bar], Math.max(Math.abs(highs[bar] - closes[bar - 1]),
+                    Math.abs(lows[bar] - closes[bar - 1])));
+            if (bar < PERIOD) {
+                expectedEma += closes[bar] / PERIOD;
+                expectedAtr += trueRange / PERIOD;
+            } else {
+                expectedEma += 2.0 / (PERIOD + 1) * (closes[bar] - expectedEma);
+                expectedAtr = (expectedAtr * (PERIOD - 1) + trueRange) / PERIOD;
+            }
+            if (bar >= PERIOD - 1) {
+                assertThat(ema.value()).isCloseTo(expectedEma, within(1e-9));
+                assertThat(atr.value()).isCloseTo(expectedAtr, within(1e-9));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should restart VWAP on each new day")
+    void shouldRestartVwapDaily() {
+        Vwap vwap = new Vwap();
+        vwap.accept(0, 10, 12, 8, 10, 100);
+        vwap.accept(60, 20, 22, 18, 20, 300);
+        assertThat(vwap.value()).isCloseTo((10 * 100 + 20 * 300) / 400.0, within(1e-12));
+
+        vwap.accept(86_400 + 60, 30, 33, 27, 30, 50);
+        assertThat(vwap.value()).isCloseTo(30.0, within(1e-12));
+
+        Vwap closeOnly = new Vwap();
+        closeOnly.accept(0, 10, 10, 10, 10, 0);
+        assertThat(closeOnly.isReady()).isFalse();
+    }
+}
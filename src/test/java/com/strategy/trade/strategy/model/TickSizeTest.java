@@ -0,0 +1,36 @@
+package com.strategy.trade.strategy.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("TickSize Unit Tests")
+class TickSizeTest {
+
+    @Test
+    @DisplayName("Should round prices onto the grid without drifting on decimal prices")
+    void shouldRoundOntoGrid() {
+        TickSize nickel = TickSize.of(new BigDecimal("0.05"));
+
+        assertThat(TickSize.CENT.ceil(100.03)).isEqualTo(10003);
+        assertThat(TickSize.CENT.floor(100.03)).isEqualTo(10003);
+        assertThat(TickSize.CENT.ceil(100.031)).isEqualTo(10004);
+        assertThat(TickSize.CENT.floor(100.039)).isEqualTo(10003);
+        assertThat(nickel.floor(100.07)).isEqualTo(2001);
+        assertThat(nickel.toBigDecimal(2001)).isEqualByComparingTo("100.05");
+        assertThat(TickSize.CENT.toDouble(10003)).isEqualTo(100.03);
+        assertThat(TickSize.CENT.ticks(new BigDecimal("0.02"), RoundingMode.CEILING)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should pick the increment of the market rule band a price falls in")
+    void shouldPickMarketRuleBand() {
+        assertThat(MarketRule.US_EQUITIES.at(0.5)).isEqualTo(TickSize.HUNDREDTH_CENT);
+        assertThat(MarketRule.US_EQUITIES.at(1.0)).isEqualTo(TickSize.CENT);
+        assertThat(MarketRule.US_EQUITIES.at(250)).isEqualTo(TickSize.CENT);
+    }
+}
@@ -0,0 +1,91 @@
+package com.strategy.trade.strategy.model;
+
+import com.strategy.trade.backtest.Order;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@DisplayName("TradingContext Unit Tests")
+class TradingContextTest {
+
+    private TradingContext context;
+
+    @BeforeEach
+    void setUp() {
+        context = TradingContext.builder()
+                .initialFunds(10000)
+                .leverage(2)
+                .orders(new ArrayList<>())
+                .complexOrders(new ArrayList<>())
+                .closedOrders(new ArrayList<>())
+                .build();
+    }
+
+    private double streamedOpenPl() {
+        return context.getOrders().stream().mapToDouble(o -> o.calculatePl(context.getLastPrice())).sum();
+    }
+
+    @Test
+    @DisplayName("Should mark open orders to market from running aggregates")
+    void shouldMarkOpenOrdersToMarket() {
+        context.setCurrentPrice(100);
+        context.order("AAPL", true, 10);
+        context.setCurrentPrice(110);
+        context.order("AAPL", false, 4);
+        context.setCurrentPrice(105);
+
+        assertThat(context.getNetQuantity()).isEqualTo(6);
+        assertThat(context.getOpenPL()).isCloseTo(streamedOpenPl(), within(1e-9));
+        assertThat(context.getPL()).isCloseTo(50 + 20 - context.getCommissions(), within(1e-9));
+        assertThat(context.getMarginUsed()).isCloseTo((10 * 100 + 4 * 110) / 2.0, within(1e-9));
+    }
+
+    @Test
+    @DisplayName("Should release aggregates when an order is closed")
+    void shouldReleaseAggregatesOnClose() {
+        context.setCurrentPrice(100);
+        Order first = context.order("AAPL", true, 10);
+        context.order("AAPL", true, 5);
+        context.setCurrentPrice(102);
+
+        context.close(first);
+
+        assertThat(context.getNetQuantity()).isEqualTo(5);
+        assertThat(context.getClosedPl()).isCloseTo(20, within(1e-9));
+        assertThat(context.getOpenPL()).isCloseTo(streamedOpenPl(), within(1e-9));
+        assertThat(context.getMarginUsed()).isCloseTo(5 * 100 / 2.0, within(1e-9));
+        assertThat(context.getAvailableFunds())
+                .isCloseTo(10000 + context.getPL() - context.getMarginUsed(), within(1e-9));
+    }
+
+    @Test
+    @DisplayName("Should track complex orders separately from margin")
+    void shouldTrackComplexOrdersSeparately() {
+        context.setCurrentPrice(50);
+        Order order = context.complexOrder("AAPL", 100, BigDecimal.valueOf(50));
+        context.setCurrentPrice(51);
+
+        assertThat(context.getComplexPL()).isCloseTo(100 - context.getCommissions(), within(1e-9));
+        assertThat(context.getMarginUsed()).isZero();
+
+        context.close(order);
+
+        assertThat(context.getComplexOrders()).isEmpty();
+        assertThat(context.getComplexNetQuantity()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should build every context with its own indicators")
+    void shouldBuildIndicatorsEagerly() {
+        TradingContext other = TradingContext.builder().build();
+
+        assertThat(context.getIndicators()).isNotNull().isSameAs(context.getIndicators());
+        assertThat(other.getIndicators()).isNotNull().isNotSameAs(context.getIndicators());
+    }
+}